@@ -1,33 +1,26 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.proxy.ProxyEngineFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.util.BaseClient;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ProxyEngineFactory engineFactory) {
+        super(engineFactory.create(API_PREFIX));
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Long from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookings(long userId, BookingState state, Long from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -36,7 +29,7 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state, Long from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByOwner(long userId, BookingState state, Long from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
@@ -45,19 +38,48 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
+    /**
+     * @param cursor позиция продолжения (base64url) из ответа на предыдущий запрос; null - первая страница
+     */
+    public CompletableFuture<ResponseEntity<Object>> getBookingsPage(long userId, BookingState state, String cursor,
+                                                                     Integer size) {
+        return getPage("/page", userId, state, cursor, size);
+    }
+
+    /**
+     * @param cursor позиция продолжения (base64url) из ответа на предыдущий запрос; null - первая страница
+     */
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByOwnerPage(long userId, BookingState state,
+                                                                            String cursor, Integer size) {
+        return getPage("/owner/page", userId, state, cursor, size);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> bookItem(long userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approve(long userId, Long bookingId, boolean state) {
+    public CompletableFuture<ResponseEntity<Object>> approve(long userId, Long bookingId, boolean state) {
         Map<String, Object> parameters = Map.of(
                 "approved", state,
                 "id", bookingId
         );
         return patch("/{id}?approved={approved}", userId, parameters, null);
     }
+
+    private CompletableFuture<ResponseEntity<Object>> getPage(String path, long userId, BookingState state,
+                                                              String cursor, Integer size) {
+        if (cursor == null || cursor.isEmpty()) {
+            return get(path + "?state={state}&size={size}", userId, Map.of("state", state, "size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get(path + "?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
 }
\ No newline at end of file
@@ -10,8 +10,10 @@ import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.validation.OnCreate;
 
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
 
@@ -28,7 +30,7 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@GetMapping
-	public ResponseEntity<Object> getBookings(@RequestHeader(SHARER_USER_HTTP_HEADER) Long userId,
+	public CompletableFuture<ResponseEntity<Object>> getBookings(@RequestHeader(SHARER_USER_HTTP_HEADER) Long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Long from,
 			@RequestParam(name = "size", defaultValue = "10") @Positive Integer size) {
@@ -43,10 +45,10 @@ public class BookingController {
 	 * Получение списка бронирований для всех вещей текущего пользователя
 	 */
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getBookingsByOwner(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
-											@RequestParam(name = "state", defaultValue = "all") String state,
-											@RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Long from,
-											@RequestParam(name = "size", defaultValue = "20") @Positive Integer size) {
+	public CompletableFuture<ResponseEntity<Object>> getBookingsByOwner(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+																		@RequestParam(name = "state", defaultValue = "all") String state,
+																		@RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Long from,
+																		@RequestParam(name = "size", defaultValue = "20") @Positive Integer size) {
 
 		log.info("[get] Booking http-request of bookings of owner id {}", ownerId);
 		BookingState status = BookingState.from(state)
@@ -54,24 +56,54 @@ public class BookingController {
 		return bookingClient.getBookingsByOwner(ownerId, status, from, size);
 	}
 
+	/**
+	 * Получение страницы списка бронирований текущего пользователя с продолжением (keyset)
+	 */
+	@GetMapping("/page")
+	public CompletableFuture<ResponseEntity<Object>> getBookingsPage(@RequestHeader(SHARER_USER_HTTP_HEADER) Long userId,
+			@RequestParam(name = "state", defaultValue = "all") String stateParam,
+			@RequestParam(name = "cursor", required = false) @Pattern(regexp = "[A-Za-z0-9_-]*") String cursor,
+			@RequestParam(name = "size", defaultValue = "10") @Positive Integer size) {
+
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+		log.info("Get booking page with state {}, userId={}, cursor={}, size={}", stateParam, userId, cursor, size);
+		return bookingClient.getBookingsPage(userId, state, cursor, size);
+	}
+
+	/**
+	 * Получение страницы списка бронирований для всех вещей текущего пользователя с продолжением (keyset)
+	 */
+	@GetMapping("/owner/page")
+	public CompletableFuture<ResponseEntity<Object>> getBookingsByOwnerPage(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+																			@RequestParam(name = "state", defaultValue = "all") String state,
+																			@RequestParam(name = "cursor", required = false) @Pattern(regexp = "[A-Za-z0-9_-]*") String cursor,
+																			@RequestParam(name = "size", defaultValue = "20") @Positive Integer size) {
+
+		log.info("[get] Booking page http-request of bookings of owner id {}", ownerId);
+		BookingState status = BookingState.from(state)
+				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
+		return bookingClient.getBookingsByOwnerPage(ownerId, status, cursor, size);
+	}
+
 	@PostMapping
-	public ResponseEntity<Object> bookItem(@RequestHeader(SHARER_USER_HTTP_HEADER) Long userId,
-										   @RequestBody @Validated(value = OnCreate.class) BookItemRequestDto requestDto) {
+	public CompletableFuture<ResponseEntity<Object>> bookItem(@RequestHeader(SHARER_USER_HTTP_HEADER) Long userId,
+															  @RequestBody @Validated(value = OnCreate.class) BookItemRequestDto requestDto) {
 		log.info("Creating booking {}, userId={}", requestDto, userId);
 		return bookingClient.bookItem(userId, requestDto);
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(@RequestHeader(SHARER_USER_HTTP_HEADER) Long userId,
+	public CompletableFuture<ResponseEntity<Object>> getBooking(@RequestHeader(SHARER_USER_HTTP_HEADER) Long userId,
 			@PathVariable Long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> approveBooking(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
-											 @PathVariable(name = "bookingId") Long bookingId,
-											 @RequestParam(name = "approved") Boolean approved) {
+	public CompletableFuture<ResponseEntity<Object>> approveBooking(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+																	@PathVariable(name = "bookingId") Long bookingId,
+																	@RequestParam(name = "approved") Boolean approved) {
 		log.info("[patch] approve Booking http-request of bookingId {} with owner id {}", bookingId, ownerId);
 		return bookingClient.approve(ownerId, bookingId, approved);
 	}
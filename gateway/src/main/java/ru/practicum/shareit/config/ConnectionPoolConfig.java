@@ -0,0 +1,126 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.ChannelOption;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * общий пул соединений шлюза с сервером ShareIt <p>
+ * один пул используется всеми клиентами (ItemClient, BookingClient, UserClient, RequestClient):
+ * PoolingHttpClientConnectionManager для режима BLOCKING, ConnectionProvider reactor-netty для режима REACTIVE <p>
+ * параметры пула - свойства shareit-server.pool.* <p>
+ * при shareit-server.compression = true оба клиента запрашивают сжатые ответы (gzip) и распаковывают их
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ConnectionPoolConfig {
+
+    private static final String POOL_NAME = "shareit-server";
+
+    private final ShareItServerProperties properties;
+
+    @Bean
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager() {
+        ShareItServerProperties.Pool pool = properties.getPool();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(pool.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(pool.getMaxPerRoute());
+        return connectionManager;
+    }
+
+    /**
+     * HttpClient режима BLOCKING: таймауты задаются конфигурацией запроса по умолчанию,
+     * простаивающие и истекшие соединения закрываются фоновым потоком клиента
+     */
+    @Bean
+    public CloseableHttpClient shareItServerHttpClient(PoolingHttpClientConnectionManager connectionManager) {
+        ShareItServerProperties.Pool pool = properties.getPool();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) pool.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) pool.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) pool.getAcquireTimeout().toMillis())
+                .build();
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(pool.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        if (!properties.isCompression()) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
+    /**
+     * пул reactor-netty режима REACTIVE: maxConnections ограничивает соединения с каждым адресом,
+     * для единственного адреса сервера - меньшее из maxTotal и maxPerRoute <p>
+     * очередь ожидающих соединения ограничена maxPending: при заполненной очереди запрос отклоняется сразу
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider() {
+        ShareItServerProperties.Pool pool = properties.getPool();
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(Math.min(pool.getMaxTotal(), pool.getMaxPerRoute()))
+                .pendingAcquireMaxCount(pool.getMaxPending())
+                .pendingAcquireTimeout(pool.getAcquireTimeout())
+                .maxIdleTime(pool.getIdleTimeout())
+                .evictInBackground(pool.getIdleTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * HttpClient reactor-netty режима REACTIVE (метрики пула - reactor.netty.connection.provider.*) <p>
+     * при shareit-server.protocol = H2C запросы передаются по HTTP/2 без TLS (prior knowledge)
+     */
+    @Bean
+    public HttpClient shareItServerReactorHttpClient(ConnectionProvider connectionProvider) {
+        ShareItServerProperties.Pool pool = properties.getPool();
+        return HttpClient.create(connectionProvider)
+                .protocol(properties.getProtocol() == ShareItServerProperties.Protocol.H2C
+                        ? HttpProtocol.H2C
+                        : HttpProtocol.HTTP11)
+                .compress(properties.isCompression())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .responseTimeout(pool.getReadTimeout());
+    }
+
+    /**
+     * метрики пула режима BLOCKING: занятые, свободные соединения и запросы в ожидании соединения
+     */
+    @Bean
+    public MeterBinder shareItServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return registry -> {
+            registerGauge(registry, connectionManager, "leased", PoolStats::getLeased);
+            registerGauge(registry, connectionManager, "available", PoolStats::getAvailable);
+            registerGauge(registry, connectionManager, "pending", PoolStats::getPending);
+            registerGauge(registry, connectionManager, "max", PoolStats::getMax);
+        };
+    }
+
+    private static void registerGauge(MeterRegistry registry,
+                                      PoolingHttpClientConnectionManager connectionManager,
+                                      String name,
+                                      ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("shareit.gateway.pool." + name, connectionManager,
+                        manager -> value.applyAsDouble(manager.getTotalStats()))
+                .tag("pool", POOL_NAME)
+                .register(registry);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * ограничение частоты запросов к шлюзу для каждого пользователя (X-Sharer-User-Id) и группы эндпойнтов <p>
+ * префикс свойств: shareit-gateway.rate-limit
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * ограничение включено
+     */
+    private boolean enabled = true;
+
+    /**
+     * емкость корзины: количество запросов, допустимых подряд без ожидания
+     */
+    private int capacity = 100;
+
+    /**
+     * скорость пополнения корзины (запросов в секунду)
+     */
+    private double refillPerSecond = 50;
+
+    /**
+     * время неактивности пользователя, после которого его корзины удаляются
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * максимальное количество корзин в памяти; при превышении вытесняются наименее активные
+     */
+    private long maxBuckets = 100_000;
+}
@@ -0,0 +1,174 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * настройки взаимодействия шлюза с сервером ShareIt (модуль shareit-server) <p>
+ * префикс свойств: shareit-server
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server")
+public class ShareItServerProperties {
+
+    /**
+     * базовый URL сервера ShareIt
+     */
+    private String url;
+
+    /**
+     * режим проксирования запросов на сервер
+     */
+    private ClientMode clientMode = ClientMode.BLOCKING;
+
+    /**
+     * протокол взаимодействия с сервером (H2C поддерживается только в режиме REACTIVE)
+     */
+    private Protocol protocol = Protocol.HTTP_1_1;
+
+    /**
+     * передача тела ответа сервера клиенту шлюза без разбора JSON (массивом байт)
+     */
+    private boolean passthrough = false;
+
+    /**
+     * формат тел ответов сервера на участке шлюз - сервер (клиентам шлюза ответы всегда передаются в JSON)
+     */
+    private WireFormat wireFormat = WireFormat.JSON;
+
+    /**
+     * запрос сжатых ответов сервера (Accept-Encoding) и их распаковка шлюзом <p>
+     * минимальный размер и типы сжимаемых ответов задаются на сервере (server.compression.*)
+     */
+    private boolean compression = true;
+
+    /**
+     * пул соединений с сервером, общий для всех клиентов шлюза
+     */
+    private final Pool pool = new Pool();
+
+    /**
+     * максимальное количество одновременно выполняющихся запросов к серверу (0 - без ограничения) <p>
+     * при превышении запрос отклоняется с ответом 503 без обращения к серверу
+     */
+    private int maxInFlight = 200;
+
+    /**
+     * таймаут асинхронной передачи выгрузки NDJSON клиенту (StreamingProxy) вместо spring.mvc.async.request-timeout
+     */
+    private Duration exportTimeout = Duration.ofMinutes(10);
+
+    /**
+     * кэш ответов сервера на GET-запросы
+     */
+    private final Cache cache = new Cache();
+
+    public enum ClientMode {
+        /**
+         * синхронный RestTemplate: поток Tomcat ожидает ответа сервера
+         */
+        BLOCKING,
+
+        /**
+         * неблокирующий WebClient: поток Tomcat освобождается до получения ответа сервера
+         */
+        REACTIVE
+    }
+
+    public enum Protocol {
+        /**
+         * HTTP/1.1: на соединении выполняется один запрос в каждый момент времени
+         */
+        HTTP_1_1,
+
+        /**
+         * HTTP/2 без TLS (prior knowledge): параллельные запросы мультиплексируются в потоки одного соединения
+         */
+        H2C
+    }
+
+    public enum WireFormat {
+        /**
+         * JSON (Accept: application/json)
+         */
+        JSON,
+
+        /**
+         * Smile - бинарное представление модели данных JSON (Accept: application/x-jackson-smile) <p>
+         * сервер кодирует ответ быстрее, ответ занимает меньше байт; шлюз перекодирует его в JSON для клиента
+         */
+        SMILE
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        /**
+         * максимальное количество соединений в пуле; пул reactor-netty (REACTIVE) ограничивает соединения
+         * с каждым адресом, поэтому для единственного адреса сервера действует меньшее из maxTotal и maxPerRoute
+         */
+        private int maxTotal = 100;
+
+        /**
+         * максимальное количество соединений с одним адресом (маршрутом); для H2C - количество соединений HTTP/2,
+         * каждое из которых передает несколько запросов одновременно
+         */
+        private int maxPerRoute = 100;
+
+        /**
+         * максимальное количество запросов, ожидающих свободного соединения (REACTIVE); сверх него - ответ 503
+         * сразу, без ожидания acquireTimeout (в режиме BLOCKING ожидающих ограничивает пул потоков сервлета)
+         */
+        private int maxPending = 100;
+
+        /**
+         * таймаут установки TCP-соединения
+         */
+        private Duration connectTimeout = Duration.ofSeconds(1);
+
+        /**
+         * таймаут ожидания ответа сервера (чтения из сокета)
+         */
+        private Duration readTimeout = Duration.ofSeconds(10);
+
+        /**
+         * таймаут ожидания свободного соединения в пуле, по истечении - ответ 503 без обращения к серверу
+         */
+        private Duration acquireTimeout = Duration.ofMillis(500);
+
+        /**
+         * время простоя, после которого соединение закрывается фоновой очисткой пула
+         */
+        private Duration idleTimeout = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * кэширование ответов включено
+         */
+        private boolean enabled = false;
+
+        /**
+         * время, в течение которого ответ отдается из кэша без обращения к серверу
+         */
+        private Duration ttl = Duration.ofSeconds(10);
+
+        /**
+         * время хранения ответа с ETag после истечения ttl: запрос к серверу выполняется с If-None-Match
+         */
+        private Duration retention = Duration.ofMinutes(5);
+
+        /**
+         * максимальное количество ответов в кэше
+         */
+        private long maxSize = 10_000;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * формат Smile используется только на участке шлюз - сервер (shareit-server.wire-format):
+ * контроллеры шлюза не принимают тела запросов в Smile и не отдают ответы в Smile при Accept: application/x-jackson-smile <p>
+ * конвертеры RestTemplate и кодеки WebClient для запросов к серверу настраиваются отдельно и поддерживают Smile
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter);
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -81,6 +82,20 @@ public class CommonExceptionHandler {
         return new ErrorResponse(exception.getMessage(), listTrace(exception));
     }
 
+    /**
+     * обработка исключения: сервер перегружен или пул соединений с сервером исчерпан (HTTP-код 503)
+     * @param exception исключение
+     * @return сообщение об ошибке (ResponseEntity) с заголовком Retry-After
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException exception) {
+        log.warn(exception.getMessage());
+        ErrorResponse error = new ErrorResponse(exception.getMessage(), listTrace(exception));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     List<String> listTrace(Throwable throwable) {
         return Arrays.stream(throwable.getStackTrace()).map(StackTraceElement::toString).collect(Collectors.toList());
     }
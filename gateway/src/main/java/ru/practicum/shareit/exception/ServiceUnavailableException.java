@@ -0,0 +1,16 @@
+package ru.practicum.shareit.exception;
+
+/**
+ * исключение при невозможности передать запрос на сервер ShareIt
+ * выбрасывается при исчерпании пула соединений с сервером (нет свободного соединения за время ожидания)
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * @param message : передается информация об причине исключения
+     * @param cause   : исходное исключение клиента HTTP
+     */
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,45 +1,64 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.proxy.ProxyEngineFactory;
+import ru.practicum.shareit.proxy.StreamingProxy;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.util.BaseClient;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    /**
+     * кэшируется только просмотр вещи по идентификатору (getByOwnerById)
+     */
+    private static final Predicate<String> ITEM_BY_ID_PATH = Pattern.compile("/\\d+").asMatchPredicate();
+
+    private final StreamingProxy streamingProxy;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ProxyEngineFactory engineFactory, StreamingProxy streamingProxy) {
+        super(engineFactory.createCaching(API_PREFIX, ITEM_BY_ID_PATH));
+        this.streamingProxy = streamingProxy;
     }
 
-    public ResponseEntity<Object> addItem(long userId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> addItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getByOwnerById(long userId, long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getByOwnerById(long userId, long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllByUserId(long from, int size, long userId) {
+    /**
+     * несколько вещей одним запросом к серверу (идентификаторы через запятую); ответ не кэшируется
+     */
+    public CompletableFuture<ResponseEntity<Object>> getByOwnerByIds(long userId, List<Long> itemIds) {
+        String ids = itemIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return get("/batch?ids={ids}", userId, Map.of("ids", ids));
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getAllByUserId(long from, int size, long userId) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -47,11 +66,11 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> deleteById(long userId, long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteById(long userId, long itemId) {
         return delete("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> searchItems(String query, Long from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> searchItems(String query, Long from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", query,
                 "from", from,
@@ -60,7 +79,54 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
+    /**
+     * @param cursor позиция продолжения (base64url) из ответа на предыдущий запрос; null - первая страница
+     */
+    public CompletableFuture<ResponseEntity<Object>> searchItemsPage(String query, String cursor, Integer size) {
+        if (cursor == null || cursor.isEmpty()) {
+            return get("/search/page?text={text}&size={size}", null, Map.of("text", query, "size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "text", query,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/search/page?text={text}&cursor={cursor}&size={size}", null, parameters);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> autocomplete(String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", prefix,
+                "size", size
+        );
+        return get("/search/autocomplete?text={text}&size={size}", null, parameters);
+    }
+
+    /**
+     * выгрузка найденных вещей (NDJSON): ответ сервера передается клиенту потоком, без разбора и кэширования
+     */
+    public ResponseEntity<StreamingResponseBody> exportSearch(String query) {
+        return streamingProxy.get(API_PREFIX + "/search/export?text={text}", ndjsonHeaders(null),
+                Map.of("text", query));
+    }
+
+    /**
+     * выгрузка вещей владельца (NDJSON): ответ сервера передается клиенту потоком, без разбора и кэширования
+     */
+    public ResponseEntity<StreamingResponseBody> exportByOwner(long userId) {
+        return streamingProxy.get(API_PREFIX + "/export", ndjsonHeaders(userId), null);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> addComment(long userId, long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    private static HttpHeaders ndjsonHeaders(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        if (userId != null) {
+            headers.set(SHARER_USER_HTTP_HEADER, String.valueOf(userId));
+        }
+        return headers;
+    }
 }
\ No newline at end of file
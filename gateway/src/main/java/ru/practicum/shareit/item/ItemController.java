@@ -2,15 +2,22 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.validation.OnCreate;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
 
@@ -25,57 +32,98 @@ import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
 @RequestMapping(path = "/items")
 public class ItemController {
 
+    /**
+     * наибольшее количество идентификаторов в запросе GET /items/batch
+     */
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> postItem(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
-                                           @RequestBody @Validated(value = OnCreate.class) ItemDto dto) {
+    public CompletableFuture<ResponseEntity<Object>> postItem(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+                                                              @RequestBody @Validated(value = OnCreate.class) ItemDto dto) {
         log.info("[post] item http-request with owner id {}", ownerId);
         return itemClient.addItem(ownerId, dto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
-                             @PathVariable(name = "itemId") Long itemId,
-                             @RequestBody ItemDto dto) {
+    public CompletableFuture<ResponseEntity<Object>> updateItem(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+                                                                @PathVariable(name = "itemId") Long itemId,
+                                                                @RequestBody ItemDto dto) {
         log.info("[patch] item http-request with id {} with owner id {}", itemId, ownerId);
         return itemClient.updateItem(ownerId, itemId, dto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
-                                   @PathVariable(name = "itemId") Long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getItem(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+                                                             @PathVariable(name = "itemId") Long itemId) {
             log.info("[get] item http-request with id {} by user with id {}", itemId, ownerId);
             return itemClient.getByOwnerById(ownerId, itemId);
     }
 
+    @GetMapping("/batch")
+    public CompletableFuture<ResponseEntity<Object>> getItems(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+                                                              @RequestParam(name = "ids") @NotEmpty @Size(max = MAX_BATCH_SIZE) List<Long> itemIds) {
+        log.info("[get] items http-request with ids {} by user with id {}", itemIds, ownerId);
+        return itemClient.getByOwnerByIds(ownerId, itemIds);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getAllByUserId(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
-                                                @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Long from,
-                                                @RequestParam(name = "size", defaultValue = "20") @Positive Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllByUserId(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+                                                                    @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Long from,
+                                                                    @RequestParam(name = "size", defaultValue = "20") @Positive Integer size) {
         log.info("[get] all items http-request with userId {}", ownerId);
         return itemClient.getAllByUserId(from, size, ownerId);
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Object> deleteItem(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
-                             @PathVariable(name = "itemId") Long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteItem(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+                                                                @PathVariable(name = "itemId") Long itemId) {
         log.info("[delete] item http-request with id {} from user id {}", itemId, ownerId);
         return itemClient.deleteById(ownerId, itemId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam(name = "text") String query,
-                                     @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Long from,
-                                     @RequestParam(name = "size", defaultValue = "20") @Positive Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> searchItems(@RequestParam(name = "text") String query,
+                                                                 @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Long from,
+                                                                 @RequestParam(name = "size", defaultValue = "20") @Positive Integer size) {
         log.info("Search [get] items http-request of query {}", query);
         return itemClient.searchItems(query, from, size);
     }
 
+    @GetMapping("/search/page")
+    public CompletableFuture<ResponseEntity<Object>> searchItemsPage(@RequestParam(name = "text") String query,
+                                                                     @RequestParam(name = "cursor", required = false)
+                                                                     @Pattern(regexp = "[A-Za-z0-9_-]*") String cursor,
+                                                                     @RequestParam(name = "size", defaultValue = "20") @Positive Integer size) {
+        log.info("Search [get] items page http-request of query {}", query);
+        return itemClient.searchItemsPage(query, cursor, size);
+    }
+
+    @GetMapping("/search/autocomplete")
+    public CompletableFuture<ResponseEntity<Object>> autocomplete(@RequestParam(name = "text") String prefix,
+                                                                  @RequestParam(name = "size", defaultValue = "10") @Positive Integer size) {
+        log.info("Autocomplete [get] item names http-request of prefix {}", prefix);
+        return itemClient.autocomplete(prefix, size);
+    }
+
+    @GetMapping(path = "/search/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSearch(@RequestParam(name = "text") String query) {
+        log.info("Export [get] items http-request of query {}", query);
+        return itemClient.exportSearch(query);
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportByOwner(
+            @RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId) {
+        log.info("Export [get] all items http-request with userId {}", ownerId);
+        return itemClient.exportByOwner(ownerId);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long authorId,
-                                         @PathVariable(name = "itemId") Long itemId,
-                                         @RequestBody @Validated(value = OnCreate.class) CommentDto dto) {
+    public CompletableFuture<ResponseEntity<Object>> addComment(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long authorId,
+                                                                @PathVariable(name = "itemId") Long itemId,
+                                                                @RequestBody @Validated(value = OnCreate.class) CommentDto dto) {
         log.info("[post] comment http-request to item with id {} from user@id {}", itemId, authorId);
         return itemClient.addComment(authorId, itemId, dto);
     }
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.config.RateLimitProperties;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
+
+/**
+ * ограничение частоты запросов: корзина токенов на пару (пользователь, группа эндпойнтов) <p>
+ * группа - первый сегмент пути (items, bookings, requests, users), пользователь - X-Sharer-User-Id
+ * (при отсутствии заголовка или значении, не являющемся положительным числом, - IP-адрес клиента) <p>
+ * количество корзин ограничено (shareit-gateway.rate-limit.max-buckets) <p>
+ * при исчерпании корзины запрос не передается на сервер: ответ 429 с заголовком Retry-After
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> GROUPS = Set.of("items", "bookings", "requests", "users");
+
+    private final RateLimitProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final LongSupplier clock;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+
+    private final MeterRegistry registry;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry registry,
+                           LongSupplier clock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getIdleTimeout())
+                .maximumSize(properties.getMaxBuckets())
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String group = groupOf(request.getRequestURI().substring(request.getContextPath().length()));
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String key = group + ":" + clientOf(request);
+        long waitNanos = buckets.get(key, k -> new TokenBucket(properties.getCapacity(),
+                properties.getRefillPerSecond(), clock)).tryAcquire();
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        log.debug("rate limit exceeded for {}, retry after {}s", key, retryAfterSeconds);
+        rejected.computeIfAbsent(group, g -> Counter.builder("shareit.gateway.rate-limit.rejected")
+                .tag("group", g)
+                .register(registry)).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse("Too many requests for " + group + ", retry after " + retryAfterSeconds + "s",
+                        List.of()));
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        String user = request.getHeader(SHARER_USER_HTTP_HEADER);
+        if (user != null) {
+            try {
+                long userId = Long.parseLong(user.trim());
+                if (userId > 0) {
+                    return String.valueOf(userId);
+                }
+            } catch (NumberFormatException ignored) {
+                // невалидный заголовок не должен порождать отдельную корзину
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String groupOf(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        String group = end < 0 ? path.substring(start) : path.substring(start, end);
+        return GROUPS.contains(group) ? group : null;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * корзина токенов без блокировок <p>
+ * состояние корзины - одно значение AtomicLong: расчетное время (в наносекундах), к которому корзина была бы пуста
+ * при пополнении с постоянной скоростью (алгоритм GCRA, эквивалентный корзине токенов);
+ * запрос допускается, если это время отстоит от текущего не более чем на capacity интервалов пополнения
+ */
+public class TokenBucket {
+
+    private final long refillIntervalNanos;
+
+    private final long burstNanos;
+
+    private final LongSupplier clock;
+
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param capacity        емкость корзины
+     * @param refillPerSecond скорость пополнения (токенов в секунду)
+     * @param clock           источник времени в наносекундах (System::nanoTime)
+     */
+    public TokenBucket(int capacity, double refillPerSecond, LongSupplier clock) {
+        this.refillIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = refillIntervalNanos * capacity;
+        this.clock = clock;
+        this.theoreticalArrival = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * @return 0, если токен получен; иначе время до появления токена (в наносекундах)
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = clock.getAsLong();
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + refillIntervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
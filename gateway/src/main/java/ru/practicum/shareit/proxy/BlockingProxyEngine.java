@@ -0,0 +1,75 @@
+package ru.practicum.shareit.proxy;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.config.ShareItServerProperties.WireFormat;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * синхронная отправка запросов через RestTemplate <p>
+ * запрос выполняется в вызывающем потоке, результат возвращается уже завершенным <p>
+ * в режиме passthrough тело ответа не разбирается и передается массивом байт вместе с заголовками ProxyHeaders <p>
+ * в формате SMILE ответ сервера запрашивается в Smile: успешный ответ разбирается конвертером Smile,
+ * массив байт перекодируется в JSON (SmileTranscoder) <p>
+ * при исчерпании пула соединений выбрасывается ServiceUnavailableException
+ */
+@RequiredArgsConstructor
+public class BlockingProxyEngine implements ProxyEngine {
+
+    private final RestTemplate rest;
+
+    private final boolean passthrough;
+
+    private final WireFormat wireFormat;
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                              String path,
+                                                              HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        HttpHeaders requestHeaders = wireFormat == WireFormat.SMILE ? SmileTranscoder.acceptSmile(headers) : headers;
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, requestHeaders);
+        Class<?> responseType = passthrough ? byte[].class : Object.class;
+
+        ResponseEntity<?> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType);
+            }
+        } catch (HttpStatusCodeException e) {
+            ResponseEntity.BodyBuilder errorResponse = ResponseEntity.status(e.getStatusCode());
+            if (passthrough && e.getResponseHeaders() != null) {
+                errorResponse.headers(SmileTranscoder.toJson(ProxyHeaders.passthrough(e.getResponseHeaders())));
+            }
+            return CompletableFuture.completedFuture(errorResponse.body(
+                    SmileTranscoder.toJson(e.getResponseHeaders(), e.getResponseBodyAsByteArray())));
+        } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof ConnectionPoolTimeoutException) {
+                throw new ServiceUnavailableException("ShareIt server connection pool exhausted", e);
+            }
+            throw e;
+        }
+        if (!passthrough) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>(shareitServerResponse.getBody(),
+                    SmileTranscoder.toJson(shareitServerResponse.getHeaders()), shareitServerResponse.getStatusCode()));
+        }
+        return CompletableFuture.completedFuture(new ResponseEntity<>(
+                SmileTranscoder.toJson(shareitServerResponse.getHeaders(), (byte[]) shareitServerResponse.getBody()),
+                SmileTranscoder.toJson(ProxyHeaders.passthrough(shareitServerResponse.getHeaders())),
+                shareitServerResponse.getStatusCode()));
+    }
+}
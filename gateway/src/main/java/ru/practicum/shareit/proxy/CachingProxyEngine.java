@@ -0,0 +1,91 @@
+package ru.practicum.shareit.proxy;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
+
+/**
+ * кэширование ответов сервера поверх механизма проксирования (ResponseCache) <p>
+ * ключ кэша - путь с параметрами запроса и X-Sharer-User-Id; кэшируются ответы 200 на GET-запросы по путям,
+ * удовлетворяющим cacheablePath <p>
+ * свежий ответ отдается без обращения к серверу, устаревший ответ с ETag перепроверяется запросом с If-None-Match <p>
+ * успешный запрос на изменение (POST, PATCH, PUT, DELETE) удаляет из кэша ответы на связанные ресурсы
+ * этого же клиента; изменения через другие клиенты (например, бронирование вещи) видны после истечения ttl
+ */
+@RequiredArgsConstructor
+public class CachingProxyEngine implements ProxyEngine {
+
+    private static final UriBuilderFactory URI_BUILDER_FACTORY = new DefaultUriBuilderFactory();
+
+    private final ProxyEngine delegate;
+
+    private final ResponseCache cache;
+
+    private final String apiPrefix;
+
+    /**
+     * проверка пути запроса (относительно apiPrefix, до подстановки параметров)
+     */
+    private final Predicate<String> cacheablePath;
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                              String path,
+                                                              HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        String uri = apiPrefix + URI_BUILDER_FACTORY.expand(path, parameters != null ? parameters : Map.of());
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, headers, parameters, body)
+                    .thenApply(response -> {
+                        if (response.getStatusCode().is2xxSuccessful()) {
+                            cache.invalidate(ResponseCache.pathOf(uri));
+                        }
+                        return response;
+                    });
+        }
+        if (!cacheablePath.test(path)) {
+            return delegate.exchange(method, path, headers, parameters, body);
+        }
+
+        String key = uri + "#" + headers.getFirst(SHARER_USER_HTTP_HEADER);
+        ResponseCache.CachedResponse cached = cache.get(key);
+        if (cached != null && cache.isFresh(cached)) {
+            cache.recordHit();
+            return CompletableFuture.completedFuture(cached.getResponse());
+        }
+
+        long generation = cache.generation();
+        HttpHeaders requestHeaders = headers;
+        boolean revalidate = cached != null && cached.getEtag() != null;
+        if (revalidate) {
+            requestHeaders = new HttpHeaders();
+            requestHeaders.putAll(headers);
+            requestHeaders.setIfNoneMatch(cached.getEtag());
+        }
+        return delegate.exchange(method, path, requestHeaders, parameters, body)
+                .thenApply(response -> {
+                    if (revalidate && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                        cache.recordRevalidation();
+                        cache.put(key, cached.getResponse(), cached.getEtag(), generation);
+                        return cached.getResponse();
+                    }
+                    cache.recordMiss();
+                    if (response.getStatusCode() == HttpStatus.OK) {
+                        cache.put(key, response, response.getHeaders().getETag(), generation);
+                    }
+                    return response;
+                });
+    }
+}
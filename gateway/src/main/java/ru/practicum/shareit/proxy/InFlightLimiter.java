@@ -0,0 +1,59 @@
+package ru.practicum.shareit.proxy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.ShareItServerProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * счетчик запросов к серверу, выполняющихся одновременно во всех клиентах шлюза <p>
+ * метрики: shareit.gateway.in-flight (текущее количество), shareit.gateway.in-flight.rejected (отклоненные)
+ */
+@Component
+public class InFlightLimiter {
+
+    private final int maxInFlight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter rejected;
+
+    @Autowired
+    public InFlightLimiter(ShareItServerProperties properties, MeterRegistry registry) {
+        this(properties.getMaxInFlight(), registry);
+    }
+
+    InFlightLimiter(int maxInFlight, MeterRegistry registry) {
+        this.maxInFlight = maxInFlight;
+        Gauge.builder("shareit.gateway.in-flight", inFlight, AtomicInteger::get).register(registry);
+        this.rejected = Counter.builder("shareit.gateway.in-flight.rejected").register(registry);
+    }
+
+    public boolean isEnabled() {
+        return maxInFlight > 0;
+    }
+
+    /**
+     * @return true, если запрос допущен (после завершения запроса вызывается release())
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.proxy;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * сброс нагрузки: при превышении общего числа одновременных запросов к серверу (InFlightLimiter)
+ * запрос отклоняется ServiceUnavailableException (ответ 503) без обращения к серверу
+ */
+@RequiredArgsConstructor
+public class LoadSheddingProxyEngine implements ProxyEngine {
+
+    private final ProxyEngine delegate;
+
+    private final InFlightLimiter limiter;
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                              String path,
+                                                              HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        if (!limiter.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many in-flight requests to ShareIt server", null);
+        }
+        try {
+            return delegate.exchange(method, path, headers, parameters, body)
+                    .whenComplete((response, exception) -> limiter.release());
+        } catch (RuntimeException e) {
+            limiter.release();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.proxy;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * механизм отправки HTTP-запроса шлюза на сервер ShareIt <p>
+ * ответ сервера с кодом ошибки (4xx, 5xx) не является исключением и возвращается как ResponseEntity
+ */
+public interface ProxyEngine {
+
+    /**
+     * отправка запроса на сервер
+     * @param method HTTP-метод
+     * @param path путь относительно префикса API клиента (может содержать шаблоны {param})
+     * @param headers заголовки запроса
+     * @param parameters значения для шаблонов пути
+     * @param body тело запроса
+     * @return ответ сервера (завершается по получении ответа)
+     */
+    CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                       String path,
+                                                       HttpHeaders headers,
+                                                       @Nullable Map<String, Object> parameters,
+                                                       @Nullable Object body);
+}
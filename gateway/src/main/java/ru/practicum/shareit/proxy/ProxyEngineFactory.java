@@ -0,0 +1,132 @@
+package ru.practicum.shareit.proxy;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import ru.practicum.shareit.config.ShareItServerProperties;
+
+import java.util.function.Predicate;
+
+/**
+ * создание механизма проксирования (ProxyEngine) для клиента шлюза <p>
+ * реализация выбирается свойством shareit-server.client-mode,
+ * разбор тела ответа сервера отключается свойством shareit-server.passthrough,
+ * формат ответов сервера (JSON или Smile) задается свойством shareit-server.wire-format <p>
+ * все механизмы используют общий пул соединений с сервером (ConnectionPoolConfig)
+ * и общее ограничение одновременных запросов к серверу (InFlightLimiter) <p>
+ * каждый клиент изолирован собственными Bulkhead и CircuitBreaker с именем ресурса (items, bookings, users, requests),
+ * настройки - свойства resilience4j.*
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProxyEngineFactory {
+
+    private final ShareItServerProperties properties;
+
+    private final RestTemplateBuilder restTemplateBuilder;
+
+    private final WebClient.Builder webClientBuilder;
+
+    private final CloseableHttpClient httpClient;
+
+    private final HttpClient reactorHttpClient;
+
+    private final ResponseCache responseCache;
+
+    private final InFlightLimiter inFlightLimiter;
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * механизм проксирования с кэшированием ответов на все GET-запросы клиента
+     * (при shareit-server.cache.enabled = true)
+     * @param apiPrefix префикс эндпойнтов сервера, обслуживаемых клиентом
+     */
+    public ProxyEngine createCaching(String apiPrefix) {
+        return createCaching(apiPrefix, path -> true);
+    }
+
+    /**
+     * @param apiPrefix     префикс эндпойнтов сервера, обслуживаемых клиентом
+     * @param cacheablePath пути GET-запросов (относительно apiPrefix), ответы на которые кэшируются
+     * @return механизм проксирования с кэшированием ответов (без кэширования при shareit-server.cache.enabled = false)
+     */
+    public ProxyEngine createCaching(String apiPrefix, Predicate<String> cacheablePath) {
+        ProxyEngine engine = create(apiPrefix);
+        if (!properties.getCache().isEnabled()) {
+            return engine;
+        }
+        log.info("response cache for {} (ttl: {})", apiPrefix, properties.getCache().getTtl());
+        return new CachingProxyEngine(engine, responseCache, apiPrefix, cacheablePath);
+    }
+
+    /**
+     * @param apiPrefix префикс эндпойнтов сервера, обслуживаемых клиентом (например, "/items")
+     * @return механизм проксирования запросов
+     */
+    public ProxyEngine create(String apiPrefix) {
+        ProxyEngine engine = createTransport(apiPrefix);
+        if (inFlightLimiter.isEnabled()) {
+            log.info("in-flight limit for {}: {}", apiPrefix, properties.getMaxInFlight());
+            engine = new LoadSheddingProxyEngine(engine, inFlightLimiter);
+        }
+        String resource = apiPrefix.substring(1);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(resource);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(resource);
+        Counter bulkheadRejected = Counter.builder("shareit.gateway.bulkhead.rejected")
+                .tag("name", resource)
+                .register(meterRegistry);
+        bulkhead.getEventPublisher().onCallRejected(event -> bulkheadRejected.increment());
+        log.info("circuit breaker and bulkhead for {} (max concurrent calls: {})", apiPrefix,
+                bulkhead.getBulkheadConfig().getMaxConcurrentCalls());
+        return new ResilientProxyEngine(engine, circuitBreaker, bulkhead);
+    }
+
+    private ProxyEngine createTransport(String apiPrefix) {
+        DefaultUriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory(properties.getUrl() + apiPrefix);
+        log.info("{} proxy engine for {} (passthrough: {}, protocol: {}, wire format: {})", properties.getClientMode(),
+                apiPrefix, properties.isPassthrough(), properties.getProtocol(), properties.getWireFormat());
+        switch (properties.getClientMode()) {
+            case REACTIVE:
+                return new ReactiveProxyEngine(
+                        webClientBuilder.clone()
+                                .uriBuilderFactory(uriBuilderFactory)
+                                .clientConnector(new ReactorClientHttpConnector(reactorHttpClient))
+                                .build(),
+                        properties.isPassthrough(),
+                        properties.getWireFormat()
+                );
+            case BLOCKING:
+            default:
+                if (properties.getProtocol() == ShareItServerProperties.Protocol.H2C) {
+                    log.warn("H2C is not supported by blocking proxy engine for {}, HTTP/1.1 is used", apiPrefix);
+                }
+                return new BlockingProxyEngine(
+                        restTemplateBuilder
+                                .uriTemplateHandler(uriBuilderFactory)
+                                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                                .build(),
+                        properties.isPassthrough(),
+                        properties.getWireFormat()
+                );
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.proxy;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+/**
+ * отбор заголовков ответа сервера, передаваемых клиенту шлюза без изменений <p>
+ * заголовки соединения (Transfer-Encoding, Connection, Keep-Alive) и Content-Length
+ * выставляются самим шлюзом и не копируются
+ */
+public final class ProxyHeaders {
+
+    private static final List<String> PASSTHROUGH_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.EXPIRES,
+            HttpHeaders.LOCATION
+    );
+
+    private ProxyHeaders() {
+    }
+
+    /**
+     * @param serverHeaders заголовки ответа сервера
+     * @return заголовки для ответа шлюза
+     */
+    public static HttpHeaders passthrough(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : PASSTHROUGH_HEADERS) {
+            List<String> values = serverHeaders.get(name);
+            if (values != null) {
+                headers.addAll(name, values);
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.proxy;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import ru.practicum.shareit.config.ShareItServerProperties.WireFormat;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * неблокирующая отправка запросов через WebClient <p>
+ * вызывающий поток не ожидает ответа сервера: результат завершается в потоке ввода-вывода WebClient <p>
+ * в режиме passthrough тело ответа не разбирается и передается массивом байт вместе с заголовками ProxyHeaders <p>
+ * в формате SMILE ответ сервера запрашивается в Smile: успешный ответ разбирается декодером Smile,
+ * массив байт перекодируется в JSON (SmileTranscoder) <p>
+ * при исчерпании пула соединений (таймаут ожидания или заполненная очередь ожидающих) результат завершается
+ * с ServiceUnavailableException
+ */
+@RequiredArgsConstructor
+public class ReactiveProxyEngine implements ProxyEngine {
+
+    private final WebClient webClient;
+
+    private final boolean passthrough;
+
+    private final WireFormat wireFormat;
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                              String path,
+                                                              HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        HttpHeaders requestHeaders = wireFormat == WireFormat.SMILE ? SmileTranscoder.acceptSmile(headers) : headers;
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(h -> h.addAll(requestHeaders));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return spec.exchangeToMono(this::toEntity)
+                .onErrorMap(ReactiveProxyEngine::isPoolExhausted,
+                        e -> new ServiceUnavailableException("ShareIt server connection pool exhausted", e))
+                .toFuture();
+    }
+
+    /**
+     * таймаут ожидания соединения пула reactor-netty (PoolAcquireTimeoutException) наследует TimeoutException,
+     * таймауты подключения и чтения - IOException; PoolAcquirePendingLimitException - очередь ожидающих
+     * соединения заполнена (shareit-server.pool.max-pending)
+     */
+    private static boolean isPoolExhausted(Throwable e) {
+        return e instanceof WebClientRequestException
+                && (e.getCause() instanceof TimeoutException
+                || e.getCause() instanceof PoolAcquirePendingLimitException);
+    }
+
+    /**
+     * тело успешного ответа разбирается в Object, тело ответа с ошибкой передается массивом байт <p>
+     * (аналогично HttpStatusCodeException#getResponseBodyAsByteArray в BlockingProxyEngine)
+     */
+    private Mono<ResponseEntity<Object>> toEntity(ClientResponse response) {
+        if (passthrough) {
+            return response.toEntity(byte[].class)
+                    .map(entity -> new ResponseEntity<>(SmileTranscoder.toJson(entity.getHeaders(), entity.getBody()),
+                            SmileTranscoder.toJson(ProxyHeaders.passthrough(entity.getHeaders())),
+                            entity.getStatusCode()));
+        }
+        if (response.statusCode().is2xxSuccessful()) {
+            return response.toEntity(Object.class)
+                    .map(entity -> new ResponseEntity<>(entity.getBody(), SmileTranscoder.toJson(entity.getHeaders()),
+                            entity.getStatusCode()));
+        }
+        return response.toEntity(byte[].class)
+                .map(entity -> ResponseEntity.status(entity.getStatusCode())
+                        .body(SmileTranscoder.toJson(entity.getHeaders(), entity.getBody())));
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.proxy;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpServerErrorException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * изоляция клиента шлюза (resilience4j): отдельное ограничение одновременных запросов (Bulkhead)
+ * и автоматический выключатель (CircuitBreaker) для каждого клиента <p>
+ * Bulkhead не ожидает освобождения места: при заполнении запрос сразу отклоняется,
+ * поэтому медленный ресурс не занимает потоки Tomcat, обслуживающие остальные клиенты <p>
+ * ошибками выключателя считаются исключения и ответы сервера 5xx, медленными - запросы дольше
+ * slow-call-duration-threshold; ответы 4xx - успешные вызовы <p>
+ * отклоненный запрос завершается ServiceUnavailableException (ответ 503) без обращения к серверу
+ */
+@RequiredArgsConstructor
+public class ResilientProxyEngine implements ProxyEngine {
+
+    private final ProxyEngine delegate;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Bulkhead bulkhead;
+
+    @Override
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method,
+                                                              String path,
+                                                              HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters,
+                                                              @Nullable Object body) {
+        if (!bulkhead.tryAcquirePermission()) {
+            throw new ServiceUnavailableException("Bulkhead '" + bulkhead.getName() + "' is full", null);
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.onComplete();
+            throw new ServiceUnavailableException("CircuitBreaker '" + circuitBreaker.getName() + "' is "
+                    + circuitBreaker.getState(), null);
+        }
+        long start = circuitBreaker.getCurrentTimestamp();
+        try {
+            return delegate.exchange(method, path, headers, parameters, body)
+                    .whenComplete((response, exception) -> {
+                        bulkhead.onComplete();
+                        long duration = circuitBreaker.getCurrentTimestamp() - start;
+                        if (exception != null) {
+                            circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(), unwrap(exception));
+                        } else if (response.getStatusCode().is5xxServerError()) {
+                            circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(),
+                                    HttpServerErrorException.create(response.getStatusCode(),
+                                            response.getStatusCode().getReasonPhrase(), response.getHeaders(),
+                                            null, null));
+                        } else {
+                            circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+                        }
+                    });
+        } catch (RuntimeException e) {
+            bulkhead.onComplete();
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            throw e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable exception) {
+        return exception instanceof CompletionException && exception.getCause() != null
+                ? exception.getCause()
+                : exception;
+    }
+}
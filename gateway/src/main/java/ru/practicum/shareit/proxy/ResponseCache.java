@@ -0,0 +1,138 @@
+package ru.practicum.shareit.proxy;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.ShareItServerProperties;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ограниченный по размеру кэш ответов сервера на GET-запросы, общий для всех клиентов шлюза <p>
+ * ответ считается свежим в течение shareit-server.cache.ttl, после чего хранится еще shareit-server.cache.retention
+ * для перепроверки на сервере по ETag <p>
+ * метрики: shareit.gateway.cache.requests (result = hit / miss / revalidated), shareit.gateway.cache.size,
+ * shareit.gateway.cache.evictions
+ */
+@Component
+public class ResponseCache {
+
+    private static final String REQUESTS_METER = "shareit.gateway.cache.requests";
+
+    private final Cache<String, CachedResponse> cache;
+
+    private final Ticker ticker;
+
+    private final long ttlNanos;
+
+    /**
+     * номер поколения кэша, увеличивается при каждой инвалидации: ответ GET-запроса, начатого до инвалидации,
+     * в кэш не помещается
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter revalidations;
+
+    @Autowired
+    public ResponseCache(ShareItServerProperties properties, MeterRegistry registry) {
+        this(properties.getCache(), registry, Ticker.systemTicker());
+    }
+
+    ResponseCache(ShareItServerProperties.Cache properties, MeterRegistry registry, Ticker ticker) {
+        this.ticker = ticker;
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl().plus(properties.getRetention()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        this.hits = Counter.builder(REQUESTS_METER).tag("result", "hit").register(registry);
+        this.misses = Counter.builder(REQUESTS_METER).tag("result", "miss").register(registry);
+        this.revalidations = Counter.builder(REQUESTS_METER).tag("result", "revalidated").register(registry);
+        Gauge.builder("shareit.gateway.cache.size", cache, Cache::estimatedSize).register(registry);
+        FunctionCounter.builder("shareit.gateway.cache.evictions", cache, c -> c.stats().evictionCount())
+                .register(registry);
+    }
+
+    @Nullable
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public boolean isFresh(CachedResponse cached) {
+        return ticker.read() - cached.getStoredAt() < ttlNanos;
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * @param generation поколение кэша на момент отправки запроса (generation())
+     */
+    public synchronized void put(String key, ResponseEntity<Object> response, @Nullable String etag, long generation) {
+        if (this.generation.get() == generation) {
+            cache.put(key, new CachedResponse(response, etag, ticker.read()));
+        }
+    }
+
+    /**
+     * удаление ответов на ресурс path, вложенные в него и объемлющие его ресурсы (для всех пользователей) <p>
+     * например, для /items/1 удаляются /items/1, /items/1/comment и /items?from=0&size=10,
+     * но не /items/10
+     * @param path путь ресурса без параметров запроса
+     */
+    public synchronized void invalidate(String path) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> isRelated(pathOf(key), path));
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    static String pathOf(String uri) {
+        int end = uri.length();
+        for (char delimiter : new char[]{'?', '#'}) {
+            int index = uri.indexOf(delimiter);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        return uri.substring(0, end);
+    }
+
+    private static boolean isRelated(String cachedPath, String path) {
+        return cachedPath.equals(path) || cachedPath.startsWith(path + "/") || path.startsWith(cachedPath + "/");
+    }
+
+    @Value
+    public static class CachedResponse {
+        ResponseEntity<Object> response;
+        @Nullable
+        String etag;
+        long storedAt;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.proxy;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * формат Smile на участке шлюз - сервер (shareit-server.wire-format = smile) <p>
+ * шлюз запрашивает у сервера ответ в Smile (при отсутствии поддержки - в JSON),
+ * тело ответа в Smile перекодируется в JSON до передачи клиенту шлюза <p>
+ * перекодирование потоковое (JsonParser - JsonGenerator), дерево объектов не строится
+ */
+public final class SmileTranscoder {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    /**
+     * Accept запроса к серверу: Smile предпочтительнее JSON
+     */
+    public static final List<MediaType> ACCEPT = List.of(APPLICATION_SMILE,
+            new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.9")));
+
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private SmileTranscoder() {
+    }
+
+    /**
+     * @param headers заголовки запроса, сформированные клиентом шлюза
+     * @return копия заголовков с Accept в пользу Smile
+     */
+    public static HttpHeaders acceptSmile(HttpHeaders headers) {
+        HttpHeaders smileHeaders = new HttpHeaders();
+        smileHeaders.putAll(headers);
+        smileHeaders.setAccept(ACCEPT);
+        return smileHeaders;
+    }
+
+    /**
+     * @param serverHeaders заголовки ответа сервера
+     * @return тело ответа передано в Smile
+     */
+    public static boolean isSmile(@Nullable HttpHeaders serverHeaders) {
+        MediaType contentType = serverHeaders != null ? serverHeaders.getContentType() : null;
+        return contentType != null && APPLICATION_SMILE.isCompatibleWith(contentType);
+    }
+
+    /**
+     * @param serverHeaders заголовки ответа сервера
+     * @param body          тело ответа сервера
+     * @return тело ответа в JSON (тело в другом формате возвращается без изменений)
+     */
+    @Nullable
+    public static byte[] toJson(@Nullable HttpHeaders serverHeaders, @Nullable byte[] body) {
+        if (body == null || body.length == 0 || !isSmile(serverHeaders)) {
+            return body;
+        }
+        ByteArrayOutputStream json = new ByteArrayOutputStream(body.length * 2);
+        try (JsonParser parser = SMILE_FACTORY.createParser(body);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed Smile response of ShareIt server", e);
+        }
+        return json.toByteArray();
+    }
+
+    /**
+     * @param serverHeaders заголовки ответа сервера
+     * @return заголовки ответа в Smile заменяются отобранными ProxyHeaders с Content-Type: application/json
+     * (Content-Length ответа в Smile не соответствует телу в JSON), остальные возвращаются без изменений
+     */
+    public static HttpHeaders toJson(HttpHeaders serverHeaders) {
+        if (!isSmile(serverHeaders)) {
+            return serverHeaders;
+        }
+        HttpHeaders headers = ProxyHeaders.passthrough(serverHeaders);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+}
@@ -0,0 +1,230 @@
+package ru.practicum.shareit.proxy;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilderFactory;
+import ru.practicum.shareit.config.ShareItServerProperties;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * передача потокового ответа сервера (выгрузки NDJSON) клиенту шлюза без накопления в памяти <p>
+ * запрос отправляется HttpClient режима BLOCKING (общий пул соединений ConnectionPoolConfig) независимо от
+ * shareit-server.client-mode: статус и заголовки ответа сервера известны до возврата ResponseEntity,
+ * тело копируется в ответ шлюза порциями по мере получения (StreamingResponseBody) <p>
+ * ответ сервера с кодом ошибки читается целиком и передается клиенту, как в режиме passthrough <p>
+ * выгрузка занимает соединение пула и место в общем ограничении одновременных запросов (InFlightLimiter)
+ * до конца передачи или завершения запроса шлюза; при исчерпании пула соединений или ограничения
+ * выбрасывается ServiceUnavailableException
+ */
+@Slf4j
+@Component
+public class StreamingProxy {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final CloseableHttpClient httpClient;
+
+    private final UriBuilderFactory uriBuilderFactory;
+
+    private final InFlightLimiter inFlightLimiter;
+
+    private final Duration exportTimeout;
+
+    @Autowired
+    public StreamingProxy(ShareItServerProperties properties, CloseableHttpClient httpClient,
+                          InFlightLimiter inFlightLimiter) {
+        this(httpClient, new DefaultUriBuilderFactory(properties.getUrl()), inFlightLimiter,
+                properties.getExportTimeout());
+    }
+
+    StreamingProxy(CloseableHttpClient httpClient, UriBuilderFactory uriBuilderFactory,
+                   InFlightLimiter inFlightLimiter, Duration exportTimeout) {
+        this.httpClient = httpClient;
+        this.uriBuilderFactory = uriBuilderFactory;
+        this.inFlightLimiter = inFlightLimiter;
+        this.exportTimeout = exportTimeout;
+    }
+
+    /**
+     * отправка GET-запроса на сервер
+     * @param path путь на сервере (может содержать шаблоны {param})
+     * @param headers заголовки запроса
+     * @param parameters значения для шаблонов пути
+     * @return ответ шлюза со статусом и заголовками ProxyHeaders ответа сервера;
+     * тело передается при записи ответа клиенту
+     */
+    public ResponseEntity<StreamingResponseBody> get(String path, HttpHeaders headers,
+                                                     @Nullable Map<String, ?> parameters) {
+        URI uri = uriBuilderFactory.expand(path, parameters != null ? parameters : Map.of());
+        if (inFlightLimiter.isEnabled() && !inFlightLimiter.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many in-flight requests to ShareIt server", null);
+        }
+        HttpGet request = new HttpGet(uri);
+        headers.forEach((name, values) -> values.forEach(value -> request.addHeader(name, value)));
+        ServerResponse response;
+        try {
+            response = new ServerResponse(httpClient.execute(request));
+        } catch (IOException e) {
+            release();
+            if (e instanceof ConnectionPoolTimeoutException) {
+                throw new ServiceUnavailableException("ShareIt server connection pool exhausted", e);
+            }
+            throw new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+        try {
+            int statusCode = response.http.getStatusLine().getStatusCode();
+            HttpStatus status = HttpStatus.resolve(statusCode);
+            if (status == null) {
+                throw new ResourceAccessException("Unknown status code " + statusCode
+                        + " on GET request for \"" + uri + "\"");
+            }
+            HttpHeaders responseHeaders = ProxyHeaders.passthrough(headersOf(response.http));
+            HttpEntity entity = response.http.getEntity();
+            if (!status.is2xxSuccessful() || entity == null) {
+                byte[] body = readAndClose(response, entity);
+                return ResponseEntity.status(status).headers(responseHeaders).body(out -> out.write(body));
+            }
+            closeOnCompletion(response);
+            return ResponseEntity.status(status).headers(responseHeaders)
+                    .body(out -> transfer(response, entity, out));
+        } catch (RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    /**
+     * копирование тела ответа с отправкой клиенту каждой прочитанной порции <p>
+     * при ошибке записи (клиент отключился) соединение с сервером закрывается без дочитывания тела
+     */
+    private void transfer(ServerResponse response, HttpEntity entity, OutputStream out) throws IOException {
+        try (response) {
+            InputStream in = entity.getContent();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        }
+    }
+
+    private byte[] readAndClose(ServerResponse response, @Nullable HttpEntity entity) {
+        try (response) {
+            return entity != null ? EntityUtils.toByteArray(entity) : new byte[0];
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error reading ShareIt server response: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * закрытие ответа сервера независимо от того, выполнялось ли тело ответа шлюза: по завершении асинхронной
+     * обработки запроса (в том числе по таймауту, ошибке и отключению клиента) или по окончании запроса,
+     * если асинхронная обработка не началась (ошибка записи заголовков, отказ исполнителя) <p>
+     * таймаут асинхронной обработки выгрузки - shareit-server.export-timeout <p>
+     * вне запроса Spring MVC ответ закрывается только телом
+     */
+    private void closeOnCompletion(ServerResponse response) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return;
+        }
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(
+                ((ServletRequestAttributes) attributes).getRequest());
+        asyncManager.registerCallableInterceptor(ServerResponse.class.getName(), new CallableProcessingInterceptor() {
+
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                if (request instanceof AsyncWebRequest) {
+                    ((AsyncWebRequest) request).setTimeout(exportTimeout.toMillis());
+                }
+            }
+
+            @Override
+            public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                response.close();
+            }
+        });
+        attributes.registerDestructionCallback(ServerResponse.class.getName(), () -> {
+            if (!asyncManager.isConcurrentHandlingStarted()) {
+                response.close();
+            }
+        }, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private void release() {
+        if (inFlightLimiter.isEnabled()) {
+            inFlightLimiter.release();
+        }
+    }
+
+    private static HttpHeaders headersOf(CloseableHttpResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (Header header : response.getAllHeaders()) {
+            headers.add(header.getName(), header.getValue());
+        }
+        return headers;
+    }
+
+    /**
+     * ответ сервера, занимающий соединение пула и место в InFlightLimiter: освобождаются один раз -
+     * тем, кто закрывает ответ первым (тело ответа шлюза, завершение запроса, ошибка до передачи тела)
+     */
+    private final class ServerResponse implements Closeable {
+
+        private final CloseableHttpResponse http;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private ServerResponse(CloseableHttpResponse http) {
+            this.http = http;
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                http.close();
+            } catch (IOException e) {
+                log.debug("Error closing ShareIt server response: {}", e.getMessage());
+            } finally {
+                release();
+            }
+        }
+    }
+}
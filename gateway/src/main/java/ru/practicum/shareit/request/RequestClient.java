@@ -1,40 +1,33 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.proxy.ProxyEngineFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.util.BaseClient;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public RequestClient(ProxyEngineFactory engineFactory) {
+        super(engineFactory.createCaching(API_PREFIX));
     }
 
-    public ResponseEntity<Object> addRequest(long userId, ItemRequestDto requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> addRequest(long userId, ItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getRequestsByUserId(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequestsByUserId(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequestsByAnotherUsers(long from, int size, long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getAllRequestsByAnotherUsers(long from, int size, long userId) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +35,7 @@ public class RequestClient extends BaseClient {
         return get("/all", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestById(long requestId, long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequestById(long requestId, long userId) {
         return get("/" + requestId, userId);
     }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import ru.practicum.shareit.validation.OnCreate;
 
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
 
@@ -27,29 +28,29 @@ public class RequestController {
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> addNewItemRequest(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long userId,
-                                                 @RequestBody @Validated(value = OnCreate.class) ItemRequestDto dto) {
+    public CompletableFuture<ResponseEntity<Object>> addNewItemRequest(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long userId,
+                                                                       @RequestBody @Validated(value = OnCreate.class) ItemRequestDto dto) {
         log.info("[post] item-request http-request");
         return requestClient.addRequest(userId, dto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getRequestsByUserId(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequestsByUserId(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long userId) {
         log.info("[get] item-request of user with id {} http-request", userId);
         return requestClient.getRequestsByUserId(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequestsByAnotherUsers(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long userId,
-                                                                  @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Long from,
-                                                                  @RequestParam(name = "size", defaultValue = "20") @Positive Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getAllRequestsByAnotherUsers(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long userId,
+                                                                                  @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Long from,
+                                                                                  @RequestParam(name = "size", defaultValue = "20") @Positive Integer size) {
         log.info("[get] all item-requests");
         return requestClient.getAllRequestsByAnotherUsers(from, size, userId);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestById(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long userId,
-                                              @PathVariable Long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> getRequestById(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long userId,
+                                                                    @PathVariable Long requestId) {
         log.info("[get] item-request by id {}", requestId);
         return requestClient.getRequestById(requestId, userId);
     }
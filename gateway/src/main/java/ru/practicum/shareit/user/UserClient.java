@@ -1,15 +1,14 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.proxy.ProxyEngineFactory;
 import ru.practicum.shareit.util.BaseClient;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  *  механизм взаимодействия через REST для шлюза <p>
  *  расширение BasicClient для эндпойнта запросов относительной пользователей (сущность User)
@@ -19,32 +18,27 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ProxyEngineFactory engineFactory) {
+        super(engineFactory.createCaching(API_PREFIX));
     }
 
-    public ResponseEntity<Object> addUser(UserDto dto) {
+    public CompletableFuture<ResponseEntity<Object>> addUser(UserDto dto) {
         return post("", dto);
     }
 
-    public ResponseEntity<Object> patchUser(long userId, UserDto dto) {
+    public CompletableFuture<ResponseEntity<Object>> patchUser(long userId, UserDto dto) {
         return patch("/" + userId, dto);
     }
 
-    public ResponseEntity<Object> getUserById(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUserById(long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public CompletableFuture<ResponseEntity<Object>> getAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> deleteUserById(long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUserById(long userId) {
         return delete("/" + userId);
     }
 }
@@ -10,6 +10,7 @@ import ru.practicum.shareit.validation.OnUpdate;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.constraints.Positive;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST-Контроллер данных о пользователе (User)
@@ -25,32 +26,32 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> postUser(@RequestBody @Validated(value = OnCreate.class) UserDto dto) {
+    public CompletableFuture<ResponseEntity<Object>> postUser(@RequestBody @Validated(value = OnCreate.class) UserDto dto) {
         log.info("Creating new user");
         return userClient.addUser(dto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> patchUser(@Positive @PathVariable(name = "userId") long userId,
-                             @Validated(value = OnUpdate.class) @RequestBody UserDto dto) {
+    public CompletableFuture<ResponseEntity<Object>> patchUser(@Positive @PathVariable(name = "userId") long userId,
+                                                               @Validated(value = OnUpdate.class) @RequestBody UserDto dto) {
         log.info("Patching user with id {}", userId);
         return userClient.patchUser(userId, dto);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@Positive @PathVariable(name = "userId") long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getUser(@Positive @PathVariable(name = "userId") long userId) {
         log.info("Getting user by id = {}", userId);
         return userClient.getUserById(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public CompletableFuture<ResponseEntity<Object>> getAll() {
         log.info("Getting all users");
         return userClient.getAllUsers();
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@Positive @PathVariable(name = "userId") long userId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteUser(@Positive @PathVariable(name = "userId") long userId) {
         log.info("Deleting user by id = {}", userId);
         return userClient.deleteUserById(userId);
     }
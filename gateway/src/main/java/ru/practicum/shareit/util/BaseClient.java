@@ -2,98 +2,142 @@ package ru.practicum.shareit.util;
 
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
-
+import ru.practicum.shareit.proxy.ProxyEngine;
+
+/**
+ * базовый клиент шлюза для проксирования запросов на сервер ShareIt <p>
+ * результат возвращается в виде CompletableFuture: контроллеры шлюза отдают его Spring MVC как асинхронный ответ <p>
+ * способ отправки запросов (блокирующий / неблокирующий) определяется ProxyEngine <p>
+ * одинаковые одновременные GET-запросы (путь, параметры, X-Sharer-User-Id) объединяются:
+ * на сервер отправляется один запрос, его результат получают все вызывающие
+ */
 public abstract class BaseClient {
-    protected final RestTemplate rest;
+    protected final ProxyEngine engine;
+
+    /**
+     * выполняющиеся GET-запросы по ключу readKey
+     */
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Object>>> inFlightReads =
+            new ConcurrentHashMap<>();
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(ProxyEngine engine) {
+        this.engine = engine;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (method == HttpMethod.GET) {
+            return sendSingleFlight(path, userId, parameters);
+        }
+        return send(method, path, userId, parameters, body);
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> send(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return engine.exchange(method, path, defaultHeaders(userId), parameters, body)
+                .thenApply(BaseClient::prepareGatewayResponse);
+    }
+
+    /**
+     * GET-запрос с объединением одинаковых одновременных запросов <p>
+     * результат регистрируется до отправки запроса, поэтому объединение работает и с блокирующим ProxyEngine,
+     * завершающим запрос в вызывающем потоке; после завершения запрос удаляется из выполняющихся <p>
+     * каждый вызывающий получает копию общего результата (отмена копии не затрагивает остальных)
+     */
+    private CompletableFuture<ResponseEntity<Object>> sendSingleFlight(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String key = readKey(path, userId, parameters);
+        CompletableFuture<ResponseEntity<Object>> result = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> inFlight = inFlightReads.putIfAbsent(key, result);
+        if (inFlight != null) {
+            return inFlight.copy();
+        }
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            send(HttpMethod.GET, path, userId, parameters, null).whenComplete((response, exception) -> {
+                inFlightReads.remove(key, result);
+                if (exception != null) {
+                    result.completeExceptionally(exception);
+                } else {
+                    result.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlightReads.remove(key, result);
+            result.completeExceptionally(e);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return result.copy();
+    }
+
+    private static String readKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return path + " " + (parameters != null ? new TreeMap<>(parameters) : Map.of()) + " " + userId;
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -111,7 +155,8 @@ public abstract class BaseClient {
             return response;
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders());
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
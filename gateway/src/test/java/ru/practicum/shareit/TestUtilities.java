@@ -2,10 +2,29 @@ package ru.practicum.shareit;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 public abstract class TestUtilities {
 
-    public static <T> ResponseEntity<Object> getOkResponse(T obj) {
-        return new ResponseEntity<>(obj, HttpStatus.OK);
+    public static <T> CompletableFuture<ResponseEntity<Object>> getOkResponse(T obj) {
+        return CompletableFuture.completedFuture(new ResponseEntity<>(obj, HttpStatus.OK));
+    }
+
+    /**
+     * выполнение запроса к эндпойнту шлюза, возвращающему асинхронный результат (CompletableFuture)
+     */
+    public static ResultActions performAsync(MockMvc mvc, RequestBuilder requestBuilder) throws Exception {
+        MvcResult started = mvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started));
     }
-}
\ No newline at end of file
+}
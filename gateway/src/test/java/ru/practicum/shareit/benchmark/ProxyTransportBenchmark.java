@@ -0,0 +1,122 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.config.ConnectionPoolConfig;
+import ru.practicum.shareit.config.ShareItServerProperties;
+import ru.practicum.shareit.config.ShareItServerProperties.WireFormat;
+import ru.practicum.shareit.proxy.ReactiveProxyEngine;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * сравнение транспорта шлюз - сервер: HTTP/1.1 и HTTP/2 без TLS (H2C) <p>
+ * ReactiveProxyEngine с HttpClient из ConnectionPoolConfig отправляет concurrency одновременных GET-запросов
+ * на встроенный сервер reactor-netty (ответ - JSON ~1 КБ с задержкой latencyMs, имитирующей обработку на сервере);
+ * пул ограничен maxConnections соединениями <p>
+ * запуск: mvn -pl gateway test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main ProxyTransportBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxyTransportBenchmark {
+
+    private static final String BODY = "[" + "{\"id\":1,\"name\":\"Drill\",\"description\":\"power drill\",\"available\":true},"
+            .repeat(14) + "{\"id\":1}]";
+
+    @Param({"HTTP_1_1", "H2C"})
+    public ShareItServerProperties.Protocol protocol;
+
+    @Param({"8"})
+    public int maxConnections;
+
+    @Param({"64"})
+    public int concurrency;
+
+    @Param({"2", "20"})
+    public int latencyMs;
+
+    private DisposableServer server;
+
+    private ConnectionProvider connectionProvider;
+
+    private ReactiveProxyEngine engine;
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // без контекста Spring уровень логирования по умолчанию - DEBUG: журнал reactor-netty искажает замеры
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN);
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create()
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .port(0)
+                .route(routes -> routes.get("/items", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                        .sendByteArray(Mono.just(body).delayElement(Duration.ofMillis(latencyMs)))))
+                .bindNow();
+
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setProtocol(protocol);
+        properties.getPool().setMaxPerRoute(maxConnections);
+        properties.getPool().setAcquireTimeout(Duration.ofSeconds(10));
+        ConnectionPoolConfig config = new ConnectionPoolConfig(properties);
+        connectionProvider = config.shareItServerConnectionProvider();
+        WebClient webClient = WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory("http://localhost:" + server.port() + "/items"))
+                .clientConnector(new ReactorClientHttpConnector(config.shareItServerReactorHttpClient(connectionProvider)))
+                .build();
+        engine = new ReactiveProxyEngine(webClient, true, WireFormat.JSON);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionProvider.dispose();
+        server.disposeNow();
+    }
+
+    /**
+     * одна операция - пакет из concurrency одновременных запросов
+     */
+    @Benchmark
+    public int concurrentGets() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            responses[i] = engine.exchange(HttpMethod.GET, "", headers, null, null);
+        }
+        CompletableFuture.allOf(responses).join();
+        return ((byte[]) ((ResponseEntity<?>) responses[0].join()).getBody()).length;
+    }
+}
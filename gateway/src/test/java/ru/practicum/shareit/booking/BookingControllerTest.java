@@ -20,6 +20,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -40,6 +41,7 @@ import ru.practicum.shareit.validation.EndDateAfterStartDate;
 import static ru.practicum.shareit.util.Constants.DATE_TIME_PATTERN;
 import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
 import static ru.practicum.shareit.TestUtilities.getOkResponse;
+import static ru.practicum.shareit.TestUtilities.performAsync;
 
 @ContextConfiguration(classes = ShareItGateway.class)
 @WebMvcTest(controllers = BookingController.class)
@@ -136,7 +138,7 @@ class BookingControllerTest {
         setupEntityDtos(startBooking, endBooking);
         Mockito.when(bookingClient.bookItem(bookerId, bookingDto)).thenReturn(getOkResponse(responseDto));
         //when
-        mvc.perform(post("/bookings")
+        performAsync(mvc, post("/bookings")
                         .header(SHARER_USER_HTTP_HEADER, bookerId)
                         .content(objectMapper.writeValueAsString(bookingDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -237,7 +239,7 @@ class BookingControllerTest {
         setupEntityDtos(startBooking, endBooking);
         Mockito.when(bookingClient.approve(anyLong(), anyLong(), anyBoolean())).thenReturn(getOkResponse(responseDto));
         //when
-        mvc.perform(patch(PATH + "/{bookingId}", bookingId)
+        performAsync(mvc, patch(PATH + "/{bookingId}", bookingId)
                         .param("approved", "true")
                         .header(SHARER_USER_HTTP_HEADER, ownerId)
                         .characterEncoding(StandardCharsets.UTF_8))
@@ -292,7 +294,7 @@ class BookingControllerTest {
         setupEntityDtos(startBooking, endBooking);
         Mockito.when(bookingClient.getBooking(anyLong(), anyLong())).thenReturn(getOkResponse(responseDto));
         //when
-        mvc.perform(get(PATH + "/{bookingId}", bookingId)
+        performAsync(mvc, get(PATH + "/{bookingId}", bookingId)
                         .param("approved", "true")
                         .header(SHARER_USER_HTTP_HEADER, bookerId)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -329,7 +331,7 @@ class BookingControllerTest {
         Mockito.when(bookingClient.getBookings(anyLong(), any(), anyLong(), anyInt()))
                 .thenReturn(getOkResponse(List.of(responseDto)));
         //when
-        mvc.perform(get(PATH)
+        performAsync(mvc, get(PATH)
                         .header(SHARER_USER_HTTP_HEADER, bookerId)
                         .characterEncoding(StandardCharsets.UTF_8))
                 //then
@@ -353,7 +355,7 @@ class BookingControllerTest {
         Mockito.when(bookingClient.getBookings(anyLong(), any(), anyLong(), anyInt()))
                 .thenReturn(getOkResponse(List.of(responseDto)));
         //when
-        mvc.perform(get(PATH)
+        performAsync(mvc, get(PATH)
                         .header(SHARER_USER_HTTP_HEADER, bookerId)
                         .param("state", "current")
                         .param("from", "1")
@@ -382,6 +384,54 @@ class BookingControllerTest {
         Mockito.verify(bookingClient, never()).getBookings(anyLong(), any(), anyLong(), anyInt());
     }
 
+    @Test
+    void getBookingsPage_whenRequestParamsNotProvided_thenOKAndFirstPage() throws Exception {
+        //given
+        setupEntityDtos(startBooking, endBooking);
+        Mockito.when(bookingClient.getBookingsPage(anyLong(), any(), any(), anyInt()))
+                .thenReturn(getOkResponse(Map.of("bookings", List.of(responseDto), "nextCursor", "AAAAAAAAAAAAAAAB")));
+        //when
+        performAsync(mvc, get(PATH + "/page")
+                        .header(SHARER_USER_HTTP_HEADER, bookerId)
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", hasSize(1)))
+                .andExpect(jsonPath("$.bookings[0].start", is(responseDto.getStart().format(dtf))))
+                .andExpect(jsonPath("$.nextCursor", is("AAAAAAAAAAAAAAAB")));
+        verify(bookingClient).getBookingsPage(bookerId, BookingState.ALL, null, 10);
+    }
+
+    @Test
+    void getBookingsByOwnerPage_whenCursorProvided_thenOKAndParamsValues() throws Exception {
+        //given
+        Mockito.when(bookingClient.getBookingsByOwnerPage(anyLong(), any(), any(), anyInt()))
+                .thenReturn(getOkResponse(Map.of("bookings", List.of())));
+        //when
+        performAsync(mvc, get(PATH + "/owner/page")
+                        .header(SHARER_USER_HTTP_HEADER, 2L) //any id for owner
+                        .param("state", "past")
+                        .param("cursor", "AAAAAAAAAAAAAAAA")
+                        .param("size", "2")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", hasSize(0)));
+        verify(bookingClient).getBookingsByOwnerPage(2L, BookingState.PAST, "AAAAAAAAAAAAAAAA", 2);
+    }
+
+    @Test
+    void getBookingsByOwnerPage_whenMalformedCursor_thenInternalServerError() throws Exception {
+        //when
+        mvc.perform(get(PATH + "/owner/page")
+                        .header(SHARER_USER_HTTP_HEADER, 2L)
+                        .param("cursor", "not a cursor")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isInternalServerError());
+        verify(bookingClient, never()).getBookingsByOwnerPage(anyLong(), any(), any(), anyInt());
+    }
+
     @Test
     void getBookingsByOwner_whenRequestParamsNotProvided_thenOKAndDefaultValues() throws Exception {
         //given
@@ -389,7 +439,7 @@ class BookingControllerTest {
         Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(), anyLong(), anyInt()))
                 .thenReturn(getOkResponse(List.of(responseDto)));
         //when
-        mvc.perform(get(PATH + "/owner")
+        performAsync(mvc, get(PATH + "/owner")
                         .header(SHARER_USER_HTTP_HEADER, 2L) //any id for owner
                         .characterEncoding(StandardCharsets.UTF_8))
                 //then
@@ -413,7 +463,7 @@ class BookingControllerTest {
         Mockito.when(bookingClient.getBookingsByOwner(anyLong(), any(), anyLong(), anyInt()))
                 .thenReturn(getOkResponse(List.of(responseDto)));
         //when
-        mvc.perform(get(PATH + "/owner")
+        performAsync(mvc, get(PATH + "/owner")
                         .header(SHARER_USER_HTTP_HEADER, 2L) //any id for owner
                         .param("state", "current")
                         .param("from", "1")
@@ -0,0 +1,229 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolConfigTest {
+
+    private static final HttpHost SERVER = new HttpHost("localhost", 9090);
+
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    private CloseableHttpClient httpClient;
+
+    private ConnectionPoolConfig config;
+
+    @BeforeEach
+    void setUp() {
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.getPool().setMaxTotal(1);
+        properties.getPool().setMaxPerRoute(1);
+        properties.getPool().setAcquireTimeout(Duration.ofMillis(100));
+        config = new ConnectionPoolConfig(properties);
+        connectionManager = config.shareItServerConnectionManager();
+        httpClient = config.shareItServerHttpClient(connectionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+    }
+
+    @Test
+    void execute_whenPoolExhausted_thenFailFastWithoutNewConnection() throws Exception {
+        //given
+        HttpClientConnection leased = connectionManager.requestConnection(new HttpRoute(SERVER), null)
+                .get(1, TimeUnit.SECONDS);
+        //when
+        long start = System.nanoTime();
+        assertThrows(ConnectionPoolTimeoutException.class,
+                () -> httpClient.execute(new HttpGet(SERVER.toURI() + "/items")));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        //then
+        assertEquals(1, connectionManager.getTotalStats().getLeased());
+        assertTrue(elapsedMillis < 1000);
+        connectionManager.releaseConnection(leased, null, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void poolMetrics_whenConnectionLeased_thenLeasedAndMaxReported() throws Exception {
+        //given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        config.shareItServerConnectionPoolMetrics(connectionManager).bindTo(registry);
+        HttpClientConnection leased = connectionManager.requestConnection(new HttpRoute(SERVER), null)
+                .get(1, TimeUnit.SECONDS);
+        //when
+        double leasedGauge = registry.get("shareit.gateway.pool.leased").gauge().value();
+        double maxGauge = registry.get("shareit.gateway.pool.max").gauge().value();
+        double pendingGauge = registry.get("shareit.gateway.pool.pending").gauge().value();
+        //then
+        assertEquals(1, leasedGauge);
+        assertEquals(1, maxGauge);
+        assertEquals(0, pendingGauge);
+        connectionManager.releaseConnection(leased, null, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void reactorHttpClient_whenPendingLimitReached_thenRejectedWithoutWaitingForConnection() throws Exception {
+        //given
+        CountDownLatch firstReceived = new CountDownLatch(1);
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> {
+                    firstReceived.countDown();
+                    return response.sendString(Mono.delay(Duration.ofSeconds(1)).thenReturn("ok"));
+                })
+                .bindNow();
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.getPool().setMaxTotal(1);
+        properties.getPool().setMaxPerRoute(10);
+        properties.getPool().setMaxPending(1);
+        properties.getPool().setAcquireTimeout(Duration.ofSeconds(5));
+        ConnectionPoolConfig pendingConfig = new ConnectionPoolConfig(properties);
+        ConnectionProvider connectionProvider = pendingConfig.shareItServerConnectionProvider();
+        HttpClient client = pendingConfig.shareItServerReactorHttpClient(connectionProvider);
+        String uri = "http://localhost:" + server.port() + "/items";
+        try {
+            Mono<String> request = client.get().uri(uri).responseContent().aggregate().asString();
+            Disposable leased = request.subscribe();
+            assertTrue(firstReceived.await(5, TimeUnit.SECONDS));
+            Disposable pending = request.subscribe();
+            //when
+            long start = System.nanoTime();
+            assertThrows(PoolAcquirePendingLimitException.class, () -> request.block(Duration.ofSeconds(5)));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            //then
+            assertTrue(elapsedMillis < 1000);
+            leased.dispose();
+            pending.dispose();
+        } finally {
+            connectionProvider.dispose();
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void reactorHttpClient_whenH2c_thenRequestsSentOverHttp2() {
+        //given
+        DisposableServer server = HttpServer.create()
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .port(0)
+                .handle((request, response) -> {
+                    AtomicBoolean http2Stream = new AtomicBoolean();
+                    request.withConnection(connection ->
+                            http2Stream.set(connection.channel() instanceof Http2StreamChannel));
+                    return response.sendString(Mono.just(http2Stream.get() ? "h2" : "http/1.1"));
+                })
+                .bindNow();
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setProtocol(ShareItServerProperties.Protocol.H2C);
+        ConnectionPoolConfig h2cConfig = new ConnectionPoolConfig(properties);
+        ConnectionProvider connectionProvider = h2cConfig.shareItServerConnectionProvider();
+        try {
+            //when
+            String protocol = h2cConfig.shareItServerReactorHttpClient(connectionProvider)
+                    .get()
+                    .uri("http://localhost:" + server.port() + "/items")
+                    .responseContent()
+                    .aggregate()
+                    .asString()
+                    .block(Duration.ofSeconds(5));
+            //then
+            assertEquals("h2", protocol);
+        } finally {
+            connectionProvider.dispose();
+            server.disposeNow();
+        }
+    }
+
+    @Test
+    void httpClients_whenCompression_thenGzipRequestedAndBodyDecompressed() throws Exception {
+        //given
+        ShareItServerProperties properties = new ShareItServerProperties();
+        //when
+        List<String> acceptEncodings = exchangeWithCompressingServer(properties);
+        //then
+        assertThat(acceptEncodings).hasSize(2).allMatch(acceptEncoding -> acceptEncoding.contains("gzip"));
+    }
+
+    @Test
+    void httpClients_whenCompressionDisabled_thenUncompressedRequested() throws Exception {
+        //given
+        ShareItServerProperties properties = new ShareItServerProperties();
+        properties.setCompression(false);
+        //when
+        List<String> acceptEncodings = exchangeWithCompressingServer(properties);
+        //then
+        assertThat(acceptEncodings).hasSize(2).allMatch(acceptEncoding -> !acceptEncoding.contains("gzip"));
+    }
+
+    /**
+     * запросы клиентами обоих режимов к серверу, сжимающему ответы при Accept-Encoding: gzip
+     * @return Accept-Encoding запросов, полученных сервером
+     */
+    private static List<String> exchangeWithCompressingServer(ShareItServerProperties properties) throws Exception {
+        String body = "{\"id\":1,\"name\":\"Drill\"}".repeat(100);
+        List<String> acceptEncodings = new CopyOnWriteArrayList<>();
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .compress(true)
+                .handle((request, response) -> {
+                    acceptEncodings.add(String.valueOf(request.requestHeaders().get(HttpHeaders.ACCEPT_ENCODING)));
+                    return response.sendString(Mono.just(body));
+                })
+                .bindNow();
+        ConnectionPoolConfig compressionConfig = new ConnectionPoolConfig(properties);
+        ConnectionProvider connectionProvider = compressionConfig.shareItServerConnectionProvider();
+        String uri = "http://localhost:" + server.port() + "/items";
+        try (CloseableHttpClient blockingClient = compressionConfig.shareItServerHttpClient(
+                compressionConfig.shareItServerConnectionManager())) {
+            String reactiveBody = compressionConfig.shareItServerReactorHttpClient(connectionProvider)
+                    .get()
+                    .uri(uri)
+                    .responseContent()
+                    .aggregate()
+                    .asString()
+                    .block(Duration.ofSeconds(5));
+            String blockingBody = blockingClient.execute(new HttpGet(uri),
+                    response -> EntityUtils.toString(response.getEntity()));
+            assertEquals(body, reactiveBody);
+            assertEquals(body, blockingBody);
+            return acceptEncodings;
+        } finally {
+            connectionProvider.dispose();
+            server.disposeNow();
+        }
+    }
+}
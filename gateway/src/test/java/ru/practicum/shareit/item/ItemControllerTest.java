@@ -13,7 +13,9 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -25,6 +27,9 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -33,6 +38,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -41,6 +47,7 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import static ru.practicum.shareit.TestUtilities.getOkResponse;
+import static ru.practicum.shareit.TestUtilities.performAsync;
 import static ru.practicum.shareit.util.Constants.DATE_TIME_PATTERN;
 import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
 
@@ -133,7 +140,7 @@ class ItemControllerTest {
                 .build();
         Mockito.when(itemClient.addItem(userId, itemDto)).thenReturn(getOkResponse(response));
         //when
-        mvc.perform(post(PATH)
+        performAsync(mvc, post(PATH)
                         .header(SHARER_USER_HTTP_HEADER, 1L)
                         .content(objectMapper.writeValueAsString(itemDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -224,7 +231,7 @@ class ItemControllerTest {
         ItemDto onlyNameDto = ItemDto.builder().name("updated").build();
         Mockito.when(itemClient.updateItem(1L, 1L, onlyNameDto)).thenReturn(getOkResponse(itemDto));
         //when
-        mvc.perform(patch(PATH + "/{itemId}", "1")
+        performAsync(mvc, patch(PATH + "/{itemId}", "1")
                         .header(SHARER_USER_HTTP_HEADER, userId)
                         .content(objectMapper.writeValueAsString(onlyNameDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -240,7 +247,7 @@ class ItemControllerTest {
         ItemDto onlyNameDto = ItemDto.builder().description("updated").build();
         Mockito.when(itemClient.updateItem(1L, 1L, onlyNameDto)).thenReturn(getOkResponse(itemDto));
         //when
-        mvc.perform(patch(PATH + "/{itemId}", "1")
+        performAsync(mvc, patch(PATH + "/{itemId}", "1")
                         .header(SHARER_USER_HTTP_HEADER, userId)
                         .content(objectMapper.writeValueAsString(onlyNameDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -285,7 +292,7 @@ class ItemControllerTest {
         //given
         Mockito.when(itemClient.getByOwnerById(anyLong(), anyLong())).thenReturn(getOkResponse(responseDto));
         //when
-        mvc.perform(get(PATH + "/{itemId}", "1")
+        performAsync(mvc, get(PATH + "/{itemId}", "1")
                         .header(SHARER_USER_HTTP_HEADER, 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -294,13 +301,43 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getItems_whenIdsProvided_thenOkAndSingleUpstreamCall() throws Exception {
+        //given
+        Mockito.when(itemClient.getByOwnerByIds(anyLong(), anyList())).thenReturn(getOkResponse(List.of(responseDto)));
+        //when
+        performAsync(mvc, get(PATH + "/batch")
+                        .header(SHARER_USER_HTTP_HEADER, 1L)
+                        .param("ids", "3,1,2")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        verify(itemClient).getByOwnerByIds(1L, List.of(3L, 1L, 2L));
+    }
+
+    @Test
+    void getItems_whenTooManyIds_thenInternalServerError() throws Exception {
+        //given
+        String ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        //when
+        mvc.perform(get(PATH + "/batch")
+                        .header(SHARER_USER_HTTP_HEADER, 1L)
+                        .param("ids", ids)
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isInternalServerError());
+        verify(itemClient, never()).getByOwnerByIds(anyLong(), anyList());
+    }
+
     @Test
     void getAllByUserId_whenRequestParamsNotProvided_thenOKAndDefaultValues() throws Exception {
         //given
         Mockito.when(itemClient.getAllByUserId(anyLong(), anyInt(), anyLong()))
                 .thenReturn(getOkResponse(List.of(responseDto)));
         //when
-        mvc.perform(get(PATH)
+        performAsync(mvc, get(PATH)
                         .header(SHARER_USER_HTTP_HEADER, userId)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -322,7 +359,7 @@ class ItemControllerTest {
         Mockito.when(itemClient.getAllByUserId(anyLong(), anyInt(), anyLong()))
                 .thenReturn(getOkResponse(List.of(responseDto)));
         //when
-        mvc.perform(get(PATH)
+        performAsync(mvc, get(PATH)
                         .header(SHARER_USER_HTTP_HEADER, userId)
                         .param("from", "1")
                         .param("size", "2")
@@ -378,7 +415,7 @@ class ItemControllerTest {
         Mockito.when(itemClient.searchItems(anyString(), anyLong(), anyInt()))
                 .thenReturn(getOkResponse(List.of(itemDto)));
         //when
-        mvc.perform(get(PATH + "/search")
+        performAsync(mvc, get(PATH + "/search")
                         .header(SHARER_USER_HTTP_HEADER, userId)
                         .param("text", "query")
                         .param("from", "1")
@@ -396,6 +433,98 @@ class ItemControllerTest {
         verify(itemClient).searchItems("query", 1L, 2);
     }
 
+    @Test
+    void searchItemsPage_whenCursorProvided_thenOkAndParamsValues() throws Exception {
+        //given
+        Mockito.when(itemClient.searchItemsPage(anyString(), any(), anyInt()))
+                .thenReturn(getOkResponse(Map.of("items", List.of(itemDto), "nextCursor", "AAAAAAAAAAAAAAAB")));
+        //when
+        performAsync(mvc, get(PATH + "/search/page")
+                        .param("text", "query")
+                        .param("cursor", "AAAAAAAAAAAAAAAA")
+                        .param("size", "2")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", is("AAAAAAAAAAAAAAAB")));
+        verify(itemClient).searchItemsPage("query", "AAAAAAAAAAAAAAAA", 2);
+    }
+
+    @Test
+    void autocomplete_whenSizeNotProvided_thenOkAndDefaultSize() throws Exception {
+        //given
+        Mockito.when(itemClient.autocomplete(anyString(), anyInt()))
+                .thenReturn(getOkResponse(List.of("Дрель", "Дрель ударная")));
+        //when
+        performAsync(mvc, get(PATH + "/search/autocomplete")
+                        .param("text", "дре")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]", is("Дрель")));
+        verify(itemClient).autocomplete("дре", 10);
+    }
+
+    @Test
+    void autocomplete_whenBadRequestParamSize_thenInternalServerError() throws Exception {
+        //when
+        mvc.perform(get(PATH + "/search/autocomplete")
+                        .param("text", "дре")
+                        .param("size", "0")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isInternalServerError());
+        verify(itemClient, never()).autocomplete(anyString(), anyInt());
+    }
+
+    @Test
+    void exportSearch_whenServerStreams_thenBodyForwarded() throws Exception {
+        //given
+        String ndjson = objectMapper.writeValueAsString(itemDto) + "\n";
+        Mockito.when(itemClient.exportSearch(anyString()))
+                .thenReturn(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(out -> out.write(ndjson.getBytes(StandardCharsets.UTF_8))));
+        //when
+        performAsync(mvc, get(PATH + "/search/export")
+                        .param("text", "query")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(ndjson));
+        verify(itemClient).exportSearch("query");
+    }
+
+    @Test
+    void exportByOwner_whenServerNotFound_thenStatusForwarded() throws Exception {
+        //given
+        Mockito.when(itemClient.exportByOwner(anyLong()))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(out -> out.write("{}".getBytes(StandardCharsets.UTF_8))));
+        //when
+        performAsync(mvc, get(PATH + "/export")
+                        .header(SHARER_USER_HTTP_HEADER, userId))
+                //then
+                .andExpect(status().isNotFound());
+        verify(itemClient).exportByOwner(userId);
+    }
+
+    @Test
+    void searchItemsPage_whenMalformedCursor_thenInternalServerError() throws Exception {
+        //when
+        mvc.perform(get(PATH + "/search/page")
+                        .param("text", "query")
+                        .param("cursor", "not a cursor")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isInternalServerError());
+        verify(itemClient, never()).searchItemsPage(anyString(), any(), anyInt());
+    }
+
     @Test
     void searchItems_whenBadRequestParamFrom_thenInternalServerError() throws Exception {
         //when
@@ -484,7 +613,7 @@ class ItemControllerTest {
                 .build();
         Mockito.when(itemClient.addComment(1L, 1L, commentDto)).thenReturn(getOkResponse(commentResponseDto));
         //when
-        mvc.perform(post(PATH + "/{itemId}/comment", itemId)
+        performAsync(mvc, post(PATH + "/{itemId}/comment", itemId)
                         .header(SHARER_USER_HTTP_HEADER, userId)
                         .content(objectMapper.writeValueAsString(commentDto))
                         .characterEncoding(StandardCharsets.UTF_8)
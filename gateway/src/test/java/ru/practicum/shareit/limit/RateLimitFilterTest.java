@@ -0,0 +1,113 @@
+package ru.practicum.shareit.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.config.RateLimitProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setCapacity(2);
+        properties.setRefillPerSecond(0.5);
+        filter = new RateLimitFilter(properties, new ObjectMapper(), registry, nanos::get);
+    }
+
+    @Test
+    void doFilter_whenBucketEmpty_thenTooManyRequestsWithRetryAfter() throws Exception {
+        //given
+        perform("/items/1", "1");
+        perform("/items", "1");
+        //when
+        MockHttpServletResponse response = perform("/items/search", "1");
+        //then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertThat(response.getContentAsString()).contains("Too many requests for items");
+        assertEquals(1, registry.get("shareit.gateway.rate-limit.rejected").tag("group", "items").counter().count());
+    }
+
+    @Test
+    void doFilter_whenAnotherUserOrGroup_thenSeparateBucket() throws Exception {
+        //given
+        perform("/items/1", "1");
+        perform("/items/1", "1");
+        //when
+        MockHttpServletResponse anotherUser = perform("/items/1", "2");
+        MockHttpServletResponse anotherGroup = perform("/bookings/1", "1");
+        //then
+        assertEquals(HttpStatus.OK.value(), anotherUser.getStatus());
+        assertEquals(HttpStatus.OK.value(), anotherGroup.getStatus());
+    }
+
+    @Test
+    void doFilter_whenTokenRefilled_thenRequestPassed() throws Exception {
+        //given
+        perform("/users", null);
+        perform("/users", null);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), perform("/users", null).getStatus());
+        //when
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        MockHttpServletResponse response = perform("/users", null);
+        //then
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+    }
+
+    @Test
+    void doFilter_whenUserHeaderNotPositiveNumber_thenLimitedByRemoteAddress() throws Exception {
+        //given
+        perform("/items", "abc");
+        perform("/items", "-1");
+        //when
+        MockHttpServletResponse response = perform("/items", "0");
+        //then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals(HttpStatus.OK.value(), perform("/items", "1").getStatus());
+    }
+
+    @Test
+    void doFilter_whenPathOutsideGroups_thenNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(HttpStatus.OK.value(), perform("/actuator/health", "1").getStatus());
+        }
+    }
+
+    private MockHttpServletResponse perform(String uri, String userId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (userId != null) {
+            request.addHeader(SHARER_USER_HTTP_HEADER, userId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (response.getStatus() == HttpStatus.OK.value()) {
+            assertNotNull(chain.getRequest());
+        } else {
+            assertNull(chain.getRequest());
+        }
+        return response;
+    }
+}
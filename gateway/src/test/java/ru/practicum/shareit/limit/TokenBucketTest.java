@@ -0,0 +1,46 @@
+package ru.practicum.shareit.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private final AtomicLong nanos = new AtomicLong(-TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    void tryAcquire_whenCapacityUsed_thenRejectedWithWaitTime() {
+        //given
+        TokenBucket bucket = new TokenBucket(3, 10, nanos::get);
+        //when
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire());
+        }
+        long wait = bucket.tryAcquire();
+        //then
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+    }
+
+    @Test
+    void tryAcquire_whenTimePassed_thenRefilledUpToCapacity() {
+        //given
+        TokenBucket bucket = new TokenBucket(2, 10, nanos::get);
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+        //when
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        long first = bucket.tryAcquire();
+        long second = bucket.tryAcquire();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        //then
+        assertEquals(0, first);
+        assertTrue(second > 0);
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+}
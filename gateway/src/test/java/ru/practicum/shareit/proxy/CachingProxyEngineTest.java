@@ -0,0 +1,171 @@
+package ru.practicum.shareit.proxy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.config.ShareItServerProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
+
+class CachingProxyEngineTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ProxyEngine delegate = mock(ProxyEngine.class);
+
+    private CachingProxyEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        ShareItServerProperties.Cache properties = new ShareItServerProperties.Cache();
+        properties.setEnabled(true);
+        properties.setTtl(Duration.ofSeconds(10));
+        properties.setRetention(Duration.ofMinutes(1));
+        ResponseCache cache = new ResponseCache(properties, registry, nanos::get);
+        engine = new CachingProxyEngine(delegate, cache, "/items", Pattern.compile("/\\d+").asMatchPredicate());
+    }
+
+    @Test
+    void exchange_whenFreshResponseCached_thenServerNotCalled() {
+        //given
+        ResponseEntity<Object> ok = ok("item-1", "\"v1\"");
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), any(), isNull(), isNull())).thenReturn(completed(ok));
+        //when
+        engine.exchange(HttpMethod.GET, "/1", userHeaders(1), null, null).join();
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        ResponseEntity<Object> second = engine.exchange(HttpMethod.GET, "/1", userHeaders(1), null, null).join();
+        //then
+        assertSame(ok, second);
+        verify(delegate, times(1)).exchange(eq(HttpMethod.GET), eq("/1"), any(), isNull(), isNull());
+        assertEquals(1, registry.get("shareit.gateway.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1, registry.get("shareit.gateway.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void exchange_whenAnotherUser_thenSeparateEntry() {
+        //given
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), any(), isNull(), isNull()))
+                .thenReturn(completed(ok("item-1", null)));
+        //when
+        engine.exchange(HttpMethod.GET, "/1", userHeaders(1), null, null).join();
+        engine.exchange(HttpMethod.GET, "/1", userHeaders(2), null, null).join();
+        //then
+        verify(delegate, times(2)).exchange(eq(HttpMethod.GET), eq("/1"), any(), isNull(), isNull());
+    }
+
+    @Test
+    void exchange_whenStaleAndNotModified_thenRevalidatedWithIfNoneMatch() {
+        //given
+        ResponseEntity<Object> ok = ok("item-1", "\"v1\"");
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), any(), isNull(), isNull()))
+                .thenReturn(completed(ok))
+                .thenReturn(completed(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
+        engine.exchange(HttpMethod.GET, "/1", userHeaders(1), null, null).join();
+        nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+        //when
+        ResponseEntity<Object> revalidated = engine.exchange(HttpMethod.GET, "/1", userHeaders(1), null, null).join();
+        ResponseEntity<Object> fresh = engine.exchange(HttpMethod.GET, "/1", userHeaders(1), null, null).join();
+        //then
+        ArgumentCaptor<HttpHeaders> headers = ArgumentCaptor.forClass(HttpHeaders.class);
+        verify(delegate, times(2)).exchange(eq(HttpMethod.GET), eq("/1"), headers.capture(), isNull(), isNull());
+        assertEquals(List.of(), headers.getAllValues().get(0).getIfNoneMatch());
+        assertEquals(List.of("\"v1\""), headers.getAllValues().get(1).getIfNoneMatch());
+        assertSame(ok, revalidated);
+        assertSame(ok, fresh);
+        assertEquals(1, registry.get("shareit.gateway.cache.requests").tag("result", "revalidated").counter().count());
+    }
+
+    @Test
+    void exchange_whenWriteSucceeded_thenRelatedEntriesInvalidated() {
+        //given
+        when(delegate.exchange(eq(HttpMethod.GET), any(), any(), isNull(), isNull()))
+                .thenReturn(completed(ok("item", null)));
+        when(delegate.exchange(eq(HttpMethod.PATCH), eq("/1"), any(), isNull(), any()))
+                .thenReturn(completed(ok("patched", null)));
+        engine.exchange(HttpMethod.GET, "/1", userHeaders(1), null, null).join();
+        engine.exchange(HttpMethod.GET, "/10", userHeaders(1), null, null).join();
+        //when
+        engine.exchange(HttpMethod.PATCH, "/1", userHeaders(1), null, Map.of("name", "new")).join();
+        engine.exchange(HttpMethod.GET, "/1", userHeaders(2), null, null).join();
+        engine.exchange(HttpMethod.GET, "/1", userHeaders(1), null, null).join();
+        engine.exchange(HttpMethod.GET, "/10", userHeaders(1), null, null).join();
+        //then
+        verify(delegate, times(3)).exchange(eq(HttpMethod.GET), eq("/1"), any(), isNull(), isNull());
+        verify(delegate, times(1)).exchange(eq(HttpMethod.GET), eq("/10"), any(), isNull(), isNull());
+    }
+
+    @Test
+    void exchange_whenWriteFailed_thenEntriesKept() {
+        //given
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), any(), isNull(), isNull()))
+                .thenReturn(completed(ok("item", null)));
+        when(delegate.exchange(eq(HttpMethod.DELETE), eq("/1"), any(), isNull(), isNull()))
+                .thenReturn(completed(ResponseEntity.status(HttpStatus.FORBIDDEN).build()));
+        engine.exchange(HttpMethod.GET, "/1", userHeaders(1), null, null).join();
+        //when
+        engine.exchange(HttpMethod.DELETE, "/1", userHeaders(2), null, null).join();
+        engine.exchange(HttpMethod.GET, "/1", userHeaders(1), null, null).join();
+        //then
+        verify(delegate, times(1)).exchange(eq(HttpMethod.GET), eq("/1"), any(), isNull(), isNull());
+    }
+
+    @Test
+    void exchange_whenPathNotCacheable_thenAlwaysForwarded() {
+        //given
+        Map<String, Object> parameters = Map.of("from", 0, "size", 10);
+        when(delegate.exchange(eq(HttpMethod.GET), any(), any(), eq(parameters), isNull()))
+                .thenReturn(completed(ok("items", null)));
+        //when
+        engine.exchange(HttpMethod.GET, "?from={from}&size={size}", userHeaders(1), parameters, null).join();
+        engine.exchange(HttpMethod.GET, "?from={from}&size={size}", userHeaders(1), parameters, null).join();
+        //then
+        verify(delegate, times(2)).exchange(eq(HttpMethod.GET), any(), any(), eq(parameters), isNull());
+    }
+
+    @Test
+    void pathOf_whenQuery_thenQueryStripped() {
+        assertEquals("/items", ResponseCache.pathOf("/items?from=0&size=10#1"));
+        assertEquals("/items/1", ResponseCache.pathOf("/items/1#null"));
+    }
+
+    private static HttpHeaders userHeaders(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(SHARER_USER_HTTP_HEADER, String.valueOf(userId));
+        return headers;
+    }
+
+    private static ResponseEntity<Object> ok(Object body, String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(body);
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> completed(ResponseEntity<Object> response) {
+        return CompletableFuture.completedFuture(response);
+    }
+}
@@ -0,0 +1,369 @@
+package ru.practicum.shareit.proxy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import ru.practicum.shareit.config.ShareItServerProperties.WireFormat;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.net.URI;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
+
+class ProxyEngineTest {
+
+    private static final String BASE_URL = "http://server/items";
+
+    private static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory());
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    @BeforeEach
+    void setUpHeaders() {
+        headers.set(SHARER_USER_HTTP_HEADER, "1");
+    }
+
+    @Test
+    void blockingExchange_whenServerOk_thenParsedBodyAndCompletedFuture() {
+        //given
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(BASE_URL));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(BASE_URL + "/search?text=q"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(SHARER_USER_HTTP_HEADER, "1"))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON));
+        //when
+        ResponseEntity<Object> response = new BlockingProxyEngine(rest, false, WireFormat.JSON)
+                .exchange(HttpMethod.GET, "/search?text={text}", headers, Map.of("text", "q"), null)
+                .getNow(null);
+        //then
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(Map.of("id", 1)), response.getBody());
+    }
+
+    @Test
+    void blockingExchange_whenServerError_thenStatusAndRawBody() {
+        //given
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(BASE_URL));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(BASE_URL + "/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).body("{\"error\":\"not found\"}"));
+        //when
+        ResponseEntity<Object> response = new BlockingProxyEngine(rest, false, WireFormat.JSON)
+                .exchange(HttpMethod.GET, "/1", headers, null, null)
+                .getNow(null);
+        //then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals("{\"error\":\"not found\"}".getBytes(), (byte[]) response.getBody());
+    }
+
+    @Test
+    void reactiveExchange_whenServerOk_thenParsedBody() {
+        //given
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        WebClient webClient = WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(BASE_URL))
+                .exchangeFunction(request -> {
+                    sent.set(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("[{\"id\":1}]")
+                            .build());
+                })
+                .build();
+        //when
+        ResponseEntity<Object> response = new ReactiveProxyEngine(webClient, false, WireFormat.JSON)
+                .exchange(HttpMethod.GET, "/search?text={text}", headers, Map.of("text", "q"), null)
+                .join();
+        //then
+        assertEquals(BASE_URL + "/search?text=q", sent.get().url().toString());
+        assertEquals("1", sent.get().headers().getFirst(SHARER_USER_HTTP_HEADER));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(Map.of("id", 1)), response.getBody());
+    }
+
+    @Test
+    void reactiveExchange_whenServerError_thenStatusAndRawBody() {
+        //given
+        WebClient webClient = WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(BASE_URL))
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.FORBIDDEN)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("{\"error\":\"forbidden\"}")
+                        .build()))
+                .build();
+        //when
+        ResponseEntity<Object> response = new ReactiveProxyEngine(webClient, false, WireFormat.JSON)
+                .exchange(HttpMethod.DELETE, "/1", headers, null, null)
+                .join();
+        //then
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        assertThat(response.getBody()).isInstanceOf(byte[].class);
+        assertArrayEquals("{\"error\":\"forbidden\"}".getBytes(), (byte[]) response.getBody());
+    }
+
+    @Test
+    void blockingExchange_whenPassthrough_thenRawBytesAndContentHeaders() {
+        //given
+        String json = "[{\"id\":1,\"name\":\"item\"}]";
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.set(HttpHeaders.ETAG, "\"v1\"");
+        serverHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(BASE_URL));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(BASE_URL))
+                .andRespond(withSuccess(json, MediaType.APPLICATION_JSON).headers(serverHeaders));
+        //when
+        ResponseEntity<Object> response = new BlockingProxyEngine(rest, true, WireFormat.JSON)
+                .exchange(HttpMethod.GET, "", headers, null, null)
+                .getNow(null);
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(json.getBytes(), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertThat(response.getHeaders()).doesNotContainKey(HttpHeaders.CONNECTION);
+    }
+
+    @Test
+    void blockingExchange_whenPassthroughAndServerError_thenContentTypeKept() {
+        //given
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(BASE_URL));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(BASE_URL + "/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"not found\"}"));
+        //when
+        ResponseEntity<Object> response = new BlockingProxyEngine(rest, true, WireFormat.JSON)
+                .exchange(HttpMethod.GET, "/1", headers, null, null)
+                .getNow(null);
+        //then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals("{\"error\":\"not found\"}".getBytes(), (byte[]) response.getBody());
+    }
+
+    @Test
+    void reactiveExchange_whenPassthrough_thenRawBytesAndContentHeaders() {
+        //given
+        String json = "[{\"id\":1,\"name\":\"item\"}]";
+        WebClient webClient = WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(BASE_URL))
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                        .body(json)
+                        .build()))
+                .build();
+        //when
+        ResponseEntity<Object> response = new ReactiveProxyEngine(webClient, true, WireFormat.JSON)
+                .exchange(HttpMethod.GET, "", headers, null, null)
+                .join();
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(json.getBytes(), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertThat(response.getHeaders()).doesNotContainKey(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    @Test
+    void blockingExchange_whenSmile_thenSmileRequestedAndParsedBodyWithJsonContentType() throws Exception {
+        //given
+        byte[] smile = SMILE_MAPPER.writeValueAsBytes(List.of(Map.of("id", 1)));
+        HttpHeaders serverHeaders = new HttpHeaders();
+        serverHeaders.setContentLength(smile.length);
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(BASE_URL));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(BASE_URL))
+                .andExpect(header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json;q=0.9"))
+                .andRespond(withSuccess(smile, SmileTranscoder.APPLICATION_SMILE).headers(serverHeaders));
+        //when
+        ResponseEntity<Object> response = new BlockingProxyEngine(rest, false, WireFormat.SMILE)
+                .exchange(HttpMethod.GET, "", headers, null, null)
+                .getNow(null);
+        //then
+        server.verify();
+        assertEquals(List.of(Map.of("id", 1)), response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertThat(response.getHeaders()).doesNotContainKey(HttpHeaders.CONTENT_LENGTH);
+    }
+
+    @Test
+    void blockingExchange_whenSmilePassthroughAndServerError_thenTranscodedToJson() throws Exception {
+        //given
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(BASE_URL));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(BASE_URL + "/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(SmileTranscoder.APPLICATION_SMILE)
+                        .body(SMILE_MAPPER.writeValueAsBytes(Map.of("error", "not found"))));
+        //when
+        ResponseEntity<Object> response = new BlockingProxyEngine(rest, true, WireFormat.SMILE)
+                .exchange(HttpMethod.GET, "/1", headers, null, null)
+                .getNow(null);
+        //then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals("{\"error\":\"not found\"}".getBytes(), (byte[]) response.getBody());
+    }
+
+    @Test
+    void reactiveExchange_whenSmilePassthrough_thenTranscodedToJson() throws Exception {
+        //given
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        byte[] smile = SMILE_MAPPER.writeValueAsBytes(List.of(Map.of("id", 1, "name", "item")));
+        WebClient webClient = WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(BASE_URL))
+                .exchangeFunction(request -> {
+                    sent.set(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, SmileTranscoder.APPLICATION_SMILE.toString())
+                            .header(HttpHeaders.ETAG, "\"v1\"")
+                            .body(Flux.just(new DefaultDataBufferFactory().wrap(smile)))
+                            .build());
+                })
+                .build();
+        //when
+        ResponseEntity<Object> response = new ReactiveProxyEngine(webClient, true, WireFormat.SMILE)
+                .exchange(HttpMethod.GET, "", headers, null, null)
+                .join();
+        //then
+        assertEquals(SmileTranscoder.ACCEPT, sent.get().headers().getAccept());
+        assertEquals(List.of(Map.of("id", 1, "name", "item")),
+                new ObjectMapper().readValue((byte[]) response.getBody(), List.class));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void reactiveExchange_whenSmileNotSupportedByServer_thenJsonAccepted() {
+        //given
+        WebClient webClient = WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(BASE_URL))
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("[{\"id\":1}]")
+                        .build()))
+                .build();
+        //when
+        ResponseEntity<Object> response = new ReactiveProxyEngine(webClient, false, WireFormat.SMILE)
+                .exchange(HttpMethod.GET, "", headers, null, null)
+                .join();
+        //then
+        assertEquals(List.of(Map.of("id", 1)), response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void blockingExchange_whenPoolExhausted_thenServiceUnavailable() {
+        //given
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(BASE_URL));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(BASE_URL + "/1"))
+                .andRespond(request -> {
+                    throw new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+                });
+        BlockingProxyEngine engine = new BlockingProxyEngine(rest, true, WireFormat.JSON);
+        //when
+        //then
+        assertThrows(ServiceUnavailableException.class,
+                () -> engine.exchange(HttpMethod.GET, "/1", headers, null, null));
+    }
+
+    @Test
+    void reactiveExchange_whenPoolExhausted_thenServiceUnavailable() {
+        //given
+        WebClient webClient = WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(BASE_URL))
+                .exchangeFunction(request -> Mono.error(new WebClientRequestException(
+                        new TimeoutException("Pool#acquire has been pending for more than the configured timeout"),
+                        request.method(), URI.create(BASE_URL), request.headers())))
+                .build();
+        //when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> new ReactiveProxyEngine(webClient, true, WireFormat.JSON)
+                        .exchange(HttpMethod.GET, "/1", headers, null, null)
+                        .join());
+        //then
+        assertInstanceOf(ServiceUnavailableException.class, exception.getCause());
+    }
+
+    @Test
+    void reactiveExchange_whenPoolPendingLimitReached_thenServiceUnavailable() {
+        //given
+        WebClient webClient = WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(BASE_URL))
+                .exchangeFunction(request -> Mono.error(new WebClientRequestException(
+                        new PoolAcquirePendingLimitException(1),
+                        request.method(), URI.create(BASE_URL), request.headers())))
+                .build();
+        //when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> new ReactiveProxyEngine(webClient, true, WireFormat.JSON)
+                        .exchange(HttpMethod.GET, "/1", headers, null, null)
+                        .join());
+        //then
+        assertInstanceOf(ServiceUnavailableException.class, exception.getCause());
+    }
+
+    @Test
+    void loadShedding_whenInFlightLimitReached_thenServiceUnavailableUntilCompleted() {
+        //given
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+        InFlightLimiter limiter = new InFlightLimiter(1, new SimpleMeterRegistry());
+        ProxyEngine engine = new LoadSheddingProxyEngine(
+                (method, path, requestHeaders, parameters, body) -> upstream, limiter);
+        engine.exchange(HttpMethod.GET, "/1", headers, null, null);
+        //when
+        assertThrows(ServiceUnavailableException.class,
+                () -> engine.exchange(HttpMethod.GET, "/2", headers, null, null));
+        upstream.complete(ResponseEntity.ok().build());
+        //then
+        assertEquals(HttpStatus.OK, engine.exchange(HttpMethod.GET, "/3", headers, null, null).join().getStatusCode());
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.proxy;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResilientProxyEngineTest {
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    private final ProxyEngine delegate = mock(ProxyEngine.class);
+
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.of("items", CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .ignoreExceptions(ServiceUnavailableException.class)
+            .build());
+
+    private final Bulkhead bulkhead = Bulkhead.of("items", BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    private final ResilientProxyEngine engine = new ResilientProxyEngine(delegate, circuitBreaker, bulkhead);
+
+    @Test
+    void exchange_whenServerErrorsReachThreshold_thenOpenAndFailFast() {
+        //given
+        when(delegate.exchange(any(), any(), any(), any(), any()))
+                .thenReturn(completed(HttpStatus.INTERNAL_SERVER_ERROR))
+                .thenReturn(CompletableFuture.failedFuture(new ResourceAccessException("Read timed out")))
+                .thenReturn(completed(HttpStatus.OK))
+                .thenReturn(completed(HttpStatus.SERVICE_UNAVAILABLE));
+        for (int i = 0; i < 4; i++) {
+            engine.exchange(HttpMethod.GET, "/1", headers, null, null).exceptionally(e -> null).join();
+        }
+        //when
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> engine.exchange(HttpMethod.GET, "/1", headers, null, null));
+        //then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThat(exception.getMessage()).contains("CircuitBreaker 'items' is OPEN");
+        verify(delegate, times(4)).exchange(any(), any(), any(), any(), any());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfNotPermittedCalls());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void exchange_whenClientErrors_thenClosed() {
+        //given
+        when(delegate.exchange(any(), any(), any(), any(), any())).thenReturn(completed(HttpStatus.NOT_FOUND));
+        //when
+        for (int i = 0; i < 6; i++) {
+            engine.exchange(HttpMethod.GET, "/1", headers, null, null).join();
+        }
+        //then
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void exchange_whenGatewayRejectsDownstream_thenNotCountedAsFailure() {
+        //given
+        when(delegate.exchange(any(), any(), any(), any(), any()))
+                .thenThrow(new ServiceUnavailableException("Too many in-flight requests", null));
+        //when
+        for (int i = 0; i < 6; i++) {
+            assertThrows(ServiceUnavailableException.class,
+                    () -> engine.exchange(HttpMethod.GET, "/1", headers, null, null));
+        }
+        //then
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void exchange_whenBulkheadFull_thenRejectedUntilCallCompleted() {
+        //given
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+        when(delegate.exchange(any(), any(), any(), any(), any())).thenReturn(upstream);
+        CompletableFuture<ResponseEntity<Object>> inFlight = engine.exchange(HttpMethod.GET, "/1", headers, null, null);
+        //when
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> engine.exchange(HttpMethod.GET, "/2", headers, null, null));
+        upstream.complete(ResponseEntity.ok().build());
+        //then
+        assertThat(exception.getMessage()).contains("Bulkhead 'items' is full");
+        assertEquals(HttpStatus.OK, inFlight.join().getStatusCode());
+        assertEquals(HttpStatus.OK, engine.exchange(HttpMethod.GET, "/2", headers, null, null).join().getStatusCode());
+    }
+
+    @Test
+    void exchange_whenUpstreamFailed_thenCauseUnwrappedAndPropagated() {
+        //given
+        when(delegate.exchange(any(), any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new ResourceAccessException("Connection refused")));
+        //when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> engine.exchange(HttpMethod.GET, "/1", headers, null, null).join());
+        //then
+        assertThat(exception.getCause()).isInstanceOf(ResourceAccessException.class);
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    private static CompletableFuture<ResponseEntity<Object>> completed(HttpStatus status) {
+        return CompletableFuture.completedFuture(ResponseEntity.status(status).build());
+    }
+}
@@ -0,0 +1,215 @@
+package ru.practicum.shareit.proxy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import ru.practicum.shareit.config.ConnectionPoolConfig;
+import ru.practicum.shareit.config.ShareItServerProperties;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
+
+class StreamingProxyTest {
+
+    private static final String FIRST_LINE = "{\"id\":1}\n";
+
+    private static final String SECOND_LINE = "{\"id\":2}\n";
+
+    private static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(10);
+
+    private final CompletableFuture<Void> secondLineAllowed = new CompletableFuture<>();
+
+    private final AtomicReference<String> receivedUri = new AtomicReference<>();
+
+    private final AtomicReference<String> receivedUserId = new AtomicReference<>();
+
+    private final InFlightLimiter inFlightLimiter = new InFlightLimiter(1, new SimpleMeterRegistry());
+
+    private DisposableServer server;
+
+    private CloseableHttpClient httpClient;
+
+    private StreamingProxy proxy;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/items/export", (request, response) -> {
+                            receivedUri.set(request.uri());
+                            receivedUserId.set(request.requestHeaders().get(SHARER_USER_HTTP_HEADER));
+                            return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                                    .sendString(Flux.concat(Mono.just(FIRST_LINE),
+                                            Mono.fromFuture(secondLineAllowed).thenReturn(SECOND_LINE)));
+                        })
+                        .get("/items/missing", (request, response) -> response.status(404)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just("{\"error\":\"not found\"}")))
+                        .get("/items/unknown", (request, response) -> response.status(599)
+                                .sendString(Mono.just("{}"))))
+                .bindNow();
+        ShareItServerProperties properties = new ShareItServerProperties();
+        ConnectionPoolConfig config = new ConnectionPoolConfig(properties);
+        httpClient = config.shareItServerHttpClient(config.shareItServerConnectionManager());
+        proxy = new StreamingProxy(httpClient,
+                new DefaultUriBuilderFactory("http://localhost:" + server.port()), inFlightLimiter, EXPORT_TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        RequestContextHolder.resetRequestAttributes();
+        httpClient.close();
+        server.disposeNow();
+    }
+
+    @Test
+    void get_whenServerStreams_thenEachPortionForwardedBeforeServerCompletes() throws Exception {
+        //given
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(SHARER_USER_HTTP_HEADER, "1");
+        ForwardedBody forwarded = new ForwardedBody();
+        //when
+        ResponseEntity<StreamingResponseBody> response = proxy.get("/items/export?text={text}", headers,
+                Map.of("text", "дрель"));
+        StreamingResponseBody body = response.getBody();
+        assertNotNull(body);
+        CompletableFuture<Void> transfer = CompletableFuture.runAsync(() -> {
+            try {
+                body.writeTo(forwarded);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        forwarded.firstFlush.get(5, TimeUnit.SECONDS);
+        String beforeServerCompleted = forwarded.toString(StandardCharsets.UTF_8);
+        secondLineAllowed.complete(null);
+        transfer.get(5, TimeUnit.SECONDS);
+        //then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(FIRST_LINE, beforeServerCompleted);
+        assertEquals(FIRST_LINE + SECOND_LINE, forwarded.toString(StandardCharsets.UTF_8));
+        assertEquals("/items/export?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C", receivedUri.get());
+        assertEquals("1", receivedUserId.get());
+        assertTrue(inFlightLimiter.tryAcquire());
+    }
+
+    @Test
+    void get_whenServerError_thenStatusAndBodyForwarded() throws Exception {
+        //when
+        ResponseEntity<StreamingResponseBody> response = proxy.get("/items/missing", new HttpHeaders(), null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        //then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("{\"error\":\"not found\"}", out.toString(StandardCharsets.UTF_8));
+        assertTrue(inFlightLimiter.tryAcquire());
+    }
+
+    @Test
+    void get_whenInFlightLimitReached_thenServiceUnavailableWithoutRequest() {
+        //given
+        inFlightLimiter.tryAcquire();
+        //when
+        assertThrows(ServiceUnavailableException.class,
+                () -> proxy.get("/items/export", new HttpHeaders(), null));
+        //then
+        assertEquals(null, receivedUri.get());
+    }
+
+    @Test
+    void get_whenUnknownStatus_thenResourceAccessExceptionAndResponseReleased() {
+        //when
+        assertThrows(ResourceAccessException.class, () -> proxy.get("/items/unknown", new HttpHeaders(), null));
+        //then
+        assertTrue(inFlightLimiter.tryAcquire());
+    }
+
+    @Test
+    void get_whenAsyncProcessingNotStarted_thenResponseReleasedOnRequestCompletion() {
+        //given
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest(),
+                new MockHttpServletResponse());
+        RequestContextHolder.setRequestAttributes(attributes);
+        //when
+        proxy.get("/items/export", new HttpHeaders(), null);
+        assertFalse(inFlightLimiter.tryAcquire());
+        attributes.requestCompleted();
+        //then
+        assertTrue(inFlightLimiter.tryAcquire());
+    }
+
+    @Test
+    void get_whenAsyncRequestCompletedWithoutBody_thenExportTimeoutAppliedAndResponseReleased() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request, servletResponse);
+        RequestContextHolder.setRequestAttributes(attributes);
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, servletResponse));
+        asyncManager.setTaskExecutor(new SimpleAsyncTaskExecutor());
+        proxy.get("/items/export", new HttpHeaders(), null);
+        //when
+        asyncManager.startCallableProcessing(() -> null);
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        assertNotNull(asyncContext);
+        attributes.requestCompleted();
+        assertFalse(inFlightLimiter.tryAcquire());
+        asyncContext.complete();
+        //then
+        assertEquals(EXPORT_TIMEOUT.toMillis(), asyncContext.getTimeout());
+        assertTrue(inFlightLimiter.tryAcquire());
+    }
+
+    /**
+     * тело ответа шлюза: отмечает первую отправку клиенту (flush)
+     */
+    private static class ForwardedBody extends ByteArrayOutputStream {
+
+        private final CompletableFuture<Void> firstFlush = new CompletableFuture<>();
+
+        @Override
+        public void flush() {
+            firstFlush.complete(null);
+        }
+    }
+}
@@ -35,6 +35,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.TestUtilities.getOkResponse;
+import static ru.practicum.shareit.TestUtilities.performAsync;
 import static ru.practicum.shareit.util.Constants.DATE_TIME_PATTERN;
 import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
 
@@ -108,7 +109,7 @@ class RequestControllerTest {
         Mockito.when(requestClient.addRequest(user2Id, requestDto)).thenReturn(getOkResponse(itemRequestReplyDto));
         DateTimeFormatter dtf = DateTimeFormatter.ofPattern(DATE_TIME_PATTERN);
         //when
-        mvc.perform(post(PATH)
+        performAsync(mvc, post(PATH)
                         .header(SHARER_USER_HTTP_HEADER, user2Id)
                         .content(objectMapper.writeValueAsString(requestDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -176,7 +177,7 @@ class RequestControllerTest {
                 .thenReturn(getOkResponse(List.of(itemRequestReplyDto)));
         DateTimeFormatter dtf = DateTimeFormatter.ofPattern(DATE_TIME_PATTERN);
         //when
-        mvc.perform(get(PATH + "/all")
+        performAsync(mvc, get(PATH + "/all")
                         .header(SHARER_USER_HTTP_HEADER, 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -198,7 +199,7 @@ class RequestControllerTest {
         Mockito.when(requestClient.getAllRequestsByAnotherUsers(anyLong(), anyInt(), anyLong()))
                 .thenReturn(getOkResponse(List.of(itemRequestReplyDto)));
         //when
-        mvc.perform(get(PATH + "/all")
+        performAsync(mvc, get(PATH + "/all")
                         .header(SHARER_USER_HTTP_HEADER, 1L)
                         .param("from", "1")
                         .param("size", "2")
@@ -241,7 +242,7 @@ class RequestControllerTest {
         Mockito.when(requestClient.getRequestsByUserId(anyLong()))
                 .thenReturn(getOkResponse(List.of(itemRequestReplyDto)));
         //when
-        mvc.perform(get(PATH)
+        performAsync(mvc, get(PATH)
                         .header(SHARER_USER_HTTP_HEADER, user2Id)
                         .characterEncoding(StandardCharsets.UTF_8))
 
@@ -267,7 +268,7 @@ class RequestControllerTest {
         //given
         Mockito.when(requestClient.getRequestById(anyLong(), anyLong())).thenReturn(getOkResponse(itemRequestReplyDto));
         //when
-        mvc.perform(get(PATH + "/{itemId}", "1")
+        performAsync(mvc, get(PATH + "/{itemId}", "1")
                         .header(SHARER_USER_HTTP_HEADER, user2Id)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -32,6 +32,7 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import static ru.practicum.shareit.util.Constants.SUCCESS_DELETE_MESSAGE;
 import static ru.practicum.shareit.TestUtilities.getOkResponse;
+import static ru.practicum.shareit.TestUtilities.performAsync;
 
 @ContextConfiguration(classes = ShareItGateway.class)
 @WebMvcTest(controllers = UserController.class)
@@ -67,7 +68,7 @@ class UserControllerTest {
                 }
         );
         //when
-        mvc.perform(post(PATH)
+        performAsync(mvc, post(PATH)
                         .content(objectMapper.writeValueAsString(userDto))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -137,7 +138,7 @@ class UserControllerTest {
         userDto = UserDto.builder().id(userId).name(updatedName).email(email).build();
         Mockito.when(userClient.patchUser(userId, dto)).thenReturn(getOkResponse(userDto));
         //when
-        mvc.perform(patch(PATH + "/{userId}", userId)
+        performAsync(mvc, patch(PATH + "/{userId}", userId)
                         .content(objectMapper.writeValueAsString(dto))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -158,7 +159,7 @@ class UserControllerTest {
         userDto = UserDto.builder().id(userId).email(updatedMail).name(name).build();
         Mockito.when(userClient.patchUser(userId, dto)).thenReturn(getOkResponse(userDto));
         //when
-        mvc.perform(patch(PATH + "/{userId}", userId)
+        performAsync(mvc, patch(PATH + "/{userId}", userId)
                         .content(objectMapper.writeValueAsString(dto))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -209,7 +210,7 @@ class UserControllerTest {
         userDto = UserDto.builder().id(userId).name(name).email(email).build();
         Mockito.when(userClient.getUserById(anyLong())).thenReturn(getOkResponse(userDto));
         //when
-        mvc.perform(get(PATH + "/{userId}", userId)
+        performAsync(mvc, get(PATH + "/{userId}", userId)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
                 //then
@@ -264,7 +265,7 @@ class UserControllerTest {
         //given
         Mockito.when(userClient.deleteUserById(anyLong())).thenReturn(getOkResponse(SUCCESS_DELETE_MESSAGE));
         //when
-        mvc.perform(delete(PATH + "/{userId}", 1L)
+        performAsync(mvc, delete(PATH + "/{userId}", 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
                 //then
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import ru.practicum.shareit.proxy.ProxyEngine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BaseClientTest {
+
+    private static final Map<String, Object> SEARCH_PARAMETERS = Map.of("text", "drill", "from", 0L, "size", 10);
+
+    private final ProxyEngine engine = mock(ProxyEngine.class);
+
+    private final TestClient client = new TestClient(engine);
+
+    @Test
+    void get_whenIdenticalRequestInFlight_thenOneUpstreamCall() {
+        //given
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+        when(engine.exchange(eq(HttpMethod.GET), eq("/search"), any(), any(), isNull())).thenReturn(upstream);
+        //when
+        CompletableFuture<ResponseEntity<Object>> first = client.search(1L, Map.of("text", "drill", "from", 0L, "size", 10));
+        CompletableFuture<ResponseEntity<Object>> second = client.search(1L, Map.of("size", 10, "from", 0L, "text", "drill"));
+        upstream.complete(ResponseEntity.ok(List.of("drill")));
+        //then
+        verify(engine, times(1)).exchange(eq(HttpMethod.GET), eq("/search"), any(), any(), isNull());
+        assertEquals(List.of("drill"), first.join().getBody());
+        assertEquals(List.of("drill"), second.join().getBody());
+    }
+
+    @Test
+    void get_whenPreviousRequestCompleted_thenNewUpstreamCall() {
+        //given
+        when(engine.exchange(eq(HttpMethod.GET), eq("/search"), any(), any(), isNull()))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(List.of())));
+        //when
+        client.search(1L, SEARCH_PARAMETERS).join();
+        client.search(1L, SEARCH_PARAMETERS).join();
+        //then
+        verify(engine, times(2)).exchange(eq(HttpMethod.GET), eq("/search"), any(), any(), isNull());
+    }
+
+    @Test
+    void get_whenDifferentUserOrParameters_thenSeparateUpstreamCalls() {
+        //given
+        when(engine.exchange(eq(HttpMethod.GET), eq("/search"), any(), any(), isNull()))
+                .thenReturn(new CompletableFuture<>());
+        //when
+        client.search(1L, SEARCH_PARAMETERS);
+        client.search(2L, SEARCH_PARAMETERS);
+        client.search(1L, Map.of("text", "saw", "from", 0L, "size", 10));
+        //then
+        verify(engine, times(3)).exchange(eq(HttpMethod.GET), eq("/search"), any(), any(), isNull());
+    }
+
+    @Test
+    void get_whenBlockingEngine_thenConcurrentCallersShareResult() throws Exception {
+        //given
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch releaseUpstream = new CountDownLatch(1);
+        when(engine.exchange(eq(HttpMethod.GET), eq("/search"), any(), any(), isNull())).thenAnswer(invocation -> {
+            upstreamStarted.countDown();
+            releaseUpstream.await(5, TimeUnit.SECONDS);
+            return CompletableFuture.completedFuture(ResponseEntity.ok(List.of("drill")));
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<CompletableFuture<ResponseEntity<Object>>> leader =
+                    executor.submit(() -> client.search(1L, SEARCH_PARAMETERS));
+            assertTrue(upstreamStarted.await(5, TimeUnit.SECONDS));
+            //when
+            CompletableFuture<ResponseEntity<Object>> follower = client.search(1L, SEARCH_PARAMETERS);
+            releaseUpstream.countDown();
+            //then
+            assertEquals(List.of("drill"), follower.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(List.of("drill"), leader.get(5, TimeUnit.SECONDS).join().getBody());
+            verify(engine, times(1)).exchange(eq(HttpMethod.GET), eq("/search"), any(), any(), isNull());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_whenEngineThrows_thenFailedResultAndNextCallForwarded() {
+        //given
+        when(engine.exchange(eq(HttpMethod.GET), eq("/search"), any(), any(), isNull()))
+                .thenThrow(new ServiceUnavailableException("pool exhausted", null))
+                .thenReturn(CompletableFuture.completedFuture(ResponseEntity.ok(List.of())));
+        //when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> client.search(1L, SEARCH_PARAMETERS).join());
+        ResponseEntity<Object> next = client.search(1L, SEARCH_PARAMETERS).join();
+        //then
+        assertInstanceOf(ServiceUnavailableException.class, exception.getCause());
+        assertEquals(List.of(), next.getBody());
+    }
+
+    @Test
+    void post_whenIdenticalRequests_thenNotCoalesced() {
+        //given
+        when(engine.exchange(eq(HttpMethod.POST), eq(""), any(), isNull(), any()))
+                .thenReturn(new CompletableFuture<>());
+        //when
+        client.add(1L, Map.of("name", "drill"));
+        client.add(1L, Map.of("name", "drill"));
+        //then
+        verify(engine, times(2)).exchange(eq(HttpMethod.POST), eq(""), any(), isNull(), any());
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(ProxyEngine engine) {
+            super(engine);
+        }
+
+        CompletableFuture<ResponseEntity<Object>> search(Long userId, Map<String, Object> parameters) {
+            return get("/search", userId, parameters);
+        }
+
+        CompletableFuture<ResponseEntity<Object>> add(long userId, Object body) {
+            return post("", userId, body);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
@@ -93,4 +94,36 @@ public class BookingController {
         BookingStatus status = BookingStatus.fromString(state);
         return bookingService.getListByOwner(ownerId, status, from, size);
     }
+
+    /**
+     * Получение страницы списка бронирований текущего пользователя с продолжением (keyset) <p>
+     * порядок и фильтр - как в GET /bookings, но страница следует за позицией cursor, а не за индексом from
+     * @param bookerId идентификатор пользователя - заказчика вещи
+     * @param state строковое представление статуса бронирований
+     * @param cursor nextCursor из ответа на предыдущий запрос; не задан - первая страница
+     * @param size количество элементов на странице
+     * @return страница данных о бронировании и позиция продолжения (null - страница последняя)
+     */
+    @GetMapping("/page")
+    public BookingPageDto getBookingsPageByBooker(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long bookerId,
+                                                  @RequestParam(name = "state", defaultValue = "all") String state,
+                                                  @RequestParam(name = "cursor", required = false) String cursor,
+                                                  @RequestParam(name = "size", defaultValue = "20") Integer size) {
+        log.info("[get] Booking page http-request of bookings of booker id {}", bookerId);
+        BookingStatus status = BookingStatus.fromString(state);
+        return bookingService.getPageByBooker(bookerId, status, cursor, size);
+    }
+
+    /**
+     * Получение страницы списка бронирований для всех вещей текущего пользователя с продолжением (keyset)
+     */
+    @GetMapping("/owner/page")
+    public BookingPageDto getBookingsPageByOwner(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+                                                 @RequestParam(name = "state", defaultValue = "all") String state,
+                                                 @RequestParam(name = "cursor", required = false) String cursor,
+                                                 @RequestParam(name = "size", defaultValue = "20") Integer size) {
+        log.info("[get] Booking page http-request of bookings of owner id {}", ownerId);
+        BookingStatus status = BookingStatus.fromString(state);
+        return bookingService.getPageByOwner(ownerId, status, cursor, size);
+    }
 }
\ No newline at end of file
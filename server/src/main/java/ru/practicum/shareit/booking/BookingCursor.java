@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * позиция продолжения списка бронирований (keyset): время и идентификатор последнего бронирования страницы <p>
+ * время - начало бронирования или окончание (PAST, CURRENT) в зависимости от порядка списка; следующая страница -
+ * бронирования с меньшей парой (время, идентификатор), отбираются условием на ключ вместо OFFSET <p>
+ * клиенту передается непрозрачной строкой (Base64 URL без выравнивания)
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor
+public class BookingCursor {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    /**
+     * позиция перед первой страницей: больше любой пары (время, идентификатор) из БД
+     */
+    public static final BookingCursor FIRST = new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+    /**
+     * время последнего бронирования страницы
+     */
+    private final LocalDateTime time;
+
+    /**
+     * идентификатор последнего бронирования страницы
+     */
+    private final long bookingId;
+
+    public String encode() {
+        byte[] bytes = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(time.toEpochSecond(ZoneOffset.UTC))
+                .putInt(time.getNano())
+                .putLong(bookingId)
+                .array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @param cursor строка, полученная в ответе на предыдущий запрос списка
+     * @throws BadRequestException строка не является позицией списка бронирований
+     */
+    public static BookingCursor decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Malformed booking cursor");
+        }
+        if (bytes.length != ENCODED_BYTES) {
+            throw new BadRequestException("Malformed booking cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        long bookingId = buffer.getLong();
+        if (bookingId < 0 || nano < 0) {
+            throw new BadRequestException("Malformed booking cursor");
+        }
+        try {
+            return new BookingCursor(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC), bookingId);
+        } catch (DateTimeException e) {
+            throw new BadRequestException("Malformed booking cursor");
+        }
+    }
+}
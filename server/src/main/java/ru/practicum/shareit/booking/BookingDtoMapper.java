@@ -17,11 +17,15 @@ import ru.practicum.shareit.user.model.User;
 public interface BookingDtoMapper {
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "item", source = "item")
+    @Mapping(target = "ownerId", source = "item.ownerId")
     Booking fromDto(BookingDto dto, User booker, Item item);
 
     BookingResponseDto toDto(Booking booking);
 
     @InheritConfiguration
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "item", ignore = true)
+    @Mapping(target = "ownerId", ignore = true)
     void update(BookingDto dto, @MappingTarget Booking booking);
 }
\ No newline at end of file
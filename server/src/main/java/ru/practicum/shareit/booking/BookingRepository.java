@@ -1,11 +1,15 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,23 +18,71 @@ import java.util.Optional;
  */
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    /**
+     * столбцы бронирования для проекции ItemBookingRow (псевдонимы в кавычках сохраняют регистр)
+     */
+    String ITEM_BOOKING_COLUMNS = "b.item_id AS \"itemId\", b.id AS \"id\", b.start_date AS \"start\", "
+            + "b.end_date AS \"end\", b.booker_id AS \"bookerId\"";
+
+    /**
+     * столбцы строки списка BookingRow: бронирование, вещь и автор бронирования (соединения BOOKING_ROW_TABLES)
+     */
+    String BOOKING_ROW_COLUMNS = "b.id AS \"id\", b.start_date AS \"start\", b.end_date AS \"end\", "
+            + "b.status AS \"status\", i.id AS \"itemId\", i.name AS \"itemName\", u.id AS \"bookerId\", "
+            + "u.name AS \"bookerName\"";
+
+    /**
+     * таблицы строки списка BookingRow
+     */
+    String BOOKING_ROW_TABLES = " FROM bookings b JOIN items i ON i.id = b.item_id JOIN users u ON u.id = b.booker_id";
+
+    /**
+     * начало запросов списков бронирований: строки BookingRow одним запросом
+     */
+    String SELECT_BOOKING_ROWS = "SELECT " + BOOKING_ROW_COLUMNS + BOOKING_ROW_TABLES;
+
+    /**
+     * продолжение списка после позиции BookingCursor (:time, :id) по времени начала бронирования
+     */
+    String SEEK_BY_START = " AND (b.start_date, b.id) < (:time, :id) ORDER BY b.start_date DESC, b.id DESC";
+
+    /**
+     * продолжение списка после позиции BookingCursor (:time, :id) по времени окончания бронирования
+     */
+    String SEEK_BY_END = " AND (b.end_date, b.id) < (:time, :id) ORDER BY b.end_date DESC, b.id DESC";
+
+    /**
+     * бронирование по идентификатору: вещь и автор бронирования (BookingDtoMapper) загружаются тем же запросом
+     * @param id идентификатор бронирования
+     * @return бронирование (если найдено)
+     */
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
+
     /**
      * получение списка бронирований пользователя-заказчика <p>
      * фильтр по статусу <p>
      * сортировка по убыванию времени начала бронирования
      * @param bookerId идентификатор пользователя-заказчика
-     * @param status статус для выборки
-     * @return список (List)
+     * @param status название статуса для выборки
+     * @return список (List) строк BookingRow
      */
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status, Pageable pageable);
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.booker_id = :bookerId AND b.status = :status "
+            + "ORDER BY b.start_date DESC", nativeQuery = true)
+    List<BookingRow> findByBookerIdAndStatusOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                             @Param("status") String status,
+                                                             Pageable pageable);
 
     /**
      * получение списка бронирований пользователя-заказчика <p>
      * сортировка по убыванию времени начала бронирования
      * @param bookerId идентификатор пользователя-заказчика
-     * @return список (List)
+     * @return список (List) строк BookingRow
      */
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.booker_id = :bookerId ORDER BY b.start_date DESC",
+            nativeQuery = true)
+    List<BookingRow> findByBookerIdOrderByStartDesc(@Param("bookerId") Long bookerId, Pageable pageable);
 
     /**
      * получение списка бронирований пользователя-заказчика <p>
@@ -39,9 +91,13 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param bookerId идентификатор пользователя-заказчика
      * @param moment текущий момент
      * @param pageable параметр постраничного вывода
-     * @return список (List)
+     * @return список (List) строк BookingRow
      */
-    List<Booking> findByBookerIdAndStartIsAfterOrderByStartDesc(Long bookerId, LocalDateTime moment, Pageable pageable);
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.booker_id = :bookerId AND b.start_date > :moment "
+            + "ORDER BY b.start_date DESC", nativeQuery = true)
+    List<BookingRow> findByBookerIdAndStartIsAfterOrderByStartDesc(@Param("bookerId") Long bookerId,
+                                                                   @Param("moment") LocalDateTime moment,
+                                                                   Pageable pageable);
 
     /**
      * получение списка бронирований пользователя-заказчика <p>
@@ -50,46 +106,51 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param bookerId идентификатор пользователя-заказчика
      * @param moment текущий момент
      * @param pageable параметр постраничного вывода
-     * @return список (List)
+     * @return список (List) строк BookingRow
      */
-    List<Booking> findByBookerIdAndEndIsBeforeOrderByEndDesc(Long bookerId, LocalDateTime moment, Pageable pageable);
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.booker_id = :bookerId AND b.end_date < :moment "
+            + "ORDER BY b.end_date DESC", nativeQuery = true)
+    List<BookingRow> findByBookerIdAndEndIsBeforeOrderByEndDesc(@Param("bookerId") Long bookerId,
+                                                                @Param("moment") LocalDateTime moment,
+                                                                Pageable pageable);
 
     /**
      * получение списка всех бронирований пользователя-владельца <p>
+     * запросы владельца фильтруют по bookings.owner_id (копия items.owner_id); items присоединяется
+     * по первичному ключу только для названия вещи <p>
      * сортировка по убыванию времени начала бронирования
      * @param ownerId идентификатор пользователя-владельца
      * @param pageable параметр постраничного вывода
-     * @return список (List)
-     */
-    List<Booking> findByItem_OwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
-
-    /**
-     * получение <b>ПОСЛЕДНЕГО бронирования</b><p>
-     * выборка по времени начала бронирования до текущего момента <p>
-     * сортировка по убыванию времени окончания бронирования
-     * @param itemId идентификатор вещи
-     * @param moment текущий момент
-     * @param status статус бронирования - APPROVED
-     * @return информация о бронировании, соответствующего условиям поиска
+     * @return список (List) строк BookingRow
      */
-    Optional<Booking> findFirst1ByItemIdAndStartLessThanEqualAndStatusOrderByStartDesc(
-            Long itemId,
-            LocalDateTime moment,
-            BookingStatus status);
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.owner_id = :ownerId ORDER BY b.start_date DESC",
+            nativeQuery = true)
+    List<BookingRow> findByOwnerIdOrderByStartDesc(@Param("ownerId") Long ownerId, Pageable pageable);
 
     /**
-     * получение <b>СЛЕДУЮЩЕГО бронирования</b><p>
-     * выборка по времени начала бронирования после текущего момента <p>
-     * сортировка по возрастанию времени окончания бронирования
-     * @param itemId идентификатор вещи
+     * получение <b>ПОСЛЕДНЕГО и СЛЕДУЮЩЕГО подтвержденных (APPROVED) бронирований</b> каждой вещи из списка
+     * одним запросом <p>
+     * последнее - с наибольшим временем начала не позже moment, следующее - с наименьшим не раньше moment;
+     * при равном времени начала - с меньшим идентификатором <p>
+     * оконная функция ROW_NUMBER по вещи: не более двух строк на вещь независимо от количества бронирований
+     * @param itemIds идентификаторы вещей (не пустой список)
      * @param moment текущий момент
-     * @param status статус бронирования APPROVED
-     * @return список (List)
+     * @return список (List) строк ItemBookingRow, порядок не определен
      */
-    Optional<Booking> findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-            Long itemId,
-            LocalDateTime moment,
-            BookingStatus status);
+    @Query(value = "SELECT r.\"itemId\", r.\"last\", r.\"id\", r.\"start\", r.\"end\", r.\"bookerId\" FROM ("
+            + "SELECT " + ITEM_BOOKING_COLUMNS + ", TRUE AS \"last\", "
+            + "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC, b.id) AS \"rn\" "
+            + "FROM bookings b "
+            + "WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_date <= :moment "
+            + "UNION ALL "
+            + "SELECT " + ITEM_BOOKING_COLUMNS + ", FALSE AS \"last\", "
+            + "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date, b.id) AS \"rn\" "
+            + "FROM bookings b "
+            + "WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_date >= :moment"
+            + ") r WHERE r.\"rn\" = 1",
+            nativeQuery = true)
+    List<ItemBookingRow> findLastAndNextByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                                   @Param("moment") LocalDateTime moment);
 
     /**
      * получение списка бронирований пользователя-владельца <p>
@@ -98,9 +159,13 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * сортировка по убыванию времени окончания бронирования
      * @param moment текущий момент
      * @param pageable параметр постраничного вывода
-     * @return список (List)
+     * @return список (List) строк BookingRow
      */
-    List<Booking> findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(Long ownerId, LocalDateTime moment, Pageable pageable);
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.owner_id = :ownerId AND b.start_date > :moment "
+            + "ORDER BY b.start_date DESC", nativeQuery = true)
+    List<BookingRow> findByOwnerIdAndStartIsAfterOrderByStartDesc(@Param("ownerId") Long ownerId,
+                                                                  @Param("moment") LocalDateTime moment,
+                                                                  Pageable pageable);
 
     /**
      * получение списка бронирований пользователя-владельца <p>
@@ -109,9 +174,13 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * сортировка по убыванию времени окончания бронирования
      * @param moment текущий момент
      * @param pageable параметр постраничного вывода
-     * @return список (List)
+     * @return список (List) строк BookingRow
      */
-    List<Booking> findByItem_OwnerIdAndEndIsBeforeOrderByEndDesc(Long ownerId, LocalDateTime moment, Pageable pageable);
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.owner_id = :ownerId AND b.end_date < :moment "
+            + "ORDER BY b.end_date DESC", nativeQuery = true)
+    List<BookingRow> findByOwnerIdAndEndIsBeforeOrderByEndDesc(@Param("ownerId") Long ownerId,
+                                                               @Param("moment") LocalDateTime moment,
+                                                               Pageable pageable);
 
     /**
      * получение списка бронирований пользователя-заказчика <p>
@@ -122,23 +191,29 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param forStart текущий момент
      * @param forEnd текущий момент
      * @param pageable параметр постраничного вывода
-     * @return список (List)
+     * @return список (List) строк BookingRow
      */
-    List<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(Long ownerId,
-                                                                            LocalDateTime forStart,
-                                                                            LocalDateTime forEnd,
-                                                                            Pageable pageable);
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.booker_id = :bookerId "
+            + "AND b.start_date < :forStart AND b.end_date > :forEnd ORDER BY b.end_date DESC", nativeQuery = true)
+    List<BookingRow> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(@Param("bookerId") Long ownerId,
+                                                                               @Param("forStart") LocalDateTime forStart,
+                                                                               @Param("forEnd") LocalDateTime forEnd,
+                                                                               Pageable pageable);
 
     /**
      * получение списка бронирований пользователя-владельца <p>
      * выборка по Статусу <p>
      * сортировка по убыванию времени начала бронирования
      * @param ownerId идентификатор пользователя-заказчика
-     * @param status статус для выборки
+     * @param status название статуса для выборки
      * @param pageable параметр постраничного вывода
-     * @return список (List)
+     * @return список (List) строк BookingRow
      */
-    List<Booking> findByItem_OwnerIdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status, Pageable pageable);
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.owner_id = :ownerId AND b.status = :status "
+            + "ORDER BY b.start_date DESC", nativeQuery = true)
+    List<BookingRow> findByOwnerIdAndStatusOrderByStartDesc(@Param("ownerId") Long ownerId,
+                                                            @Param("status") String status,
+                                                            Pageable pageable);
 
     /**
      * получение любого бронирования пользователя-заказчика <p>
@@ -147,8 +222,9 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param itemId идентификатор вещи
      * @param localDateTime текущий момент времени
      * @param bookingStatus подтвержденный статус бронирования (передается BookingStatus.APPROVED);
-     * @return бронирование (если найдено)
+     * @return бронирование (если найдено) с автором бронирования, загруженным тем же запросом
      */
+    @EntityGraph(attributePaths = "booker")
     Optional<Booking> findFirst1ByBookerIdAndItem_IdAndEndIsBeforeAndStatus(Long bookerId,
                                                                             Long itemId,
                                                                             LocalDateTime localDateTime,
@@ -163,10 +239,186 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param forStart текущий момент
      * @param forEnd текущий момент
      * @param pageable параметр постраничного вывода
-     * @return список (List)
+     * @return список (List) строк BookingRow
+     */
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.owner_id = :ownerId "
+            + "AND b.start_date < :forStart AND b.end_date > :forEnd ORDER BY b.end_date DESC", nativeQuery = true)
+    List<BookingRow> findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(@Param("ownerId") Long ownerId,
+                                                                              @Param("forStart") LocalDateTime forStart,
+                                                                              @Param("forEnd") LocalDateTime forEnd,
+                                                                              Pageable pageable);
+
+    /**
+     * страница списка всех бронирований пользователя-заказчика после позиции (keyset) <p>
+     * сортировка по убыванию времени начала бронирования, затем идентификатора
+     * @param bookerId идентификатор пользователя-заказчика
+     * @param time время начала последнего бронирования предыдущей страницы
+     * @param id идентификатор последнего бронирования предыдущей страницы
+     * @param pageable размер страницы (номер страницы всегда 0)
+     * @return список (List) строк BookingRow
+     */
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.booker_id = :userId" + SEEK_BY_START, nativeQuery = true)
+    List<BookingRow> findPageByBookerId(@Param("userId") Long bookerId,
+                                     @Param("time") LocalDateTime time,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    /**
+     * страница списка БУДУЩИХ бронирований пользователя-заказчика после позиции (keyset) <p>
+     * сортировка по убыванию времени начала бронирования, затем идентификатора
+     * @param bookerId идентификатор пользователя-заказчика
+     * @param moment текущий момент
+     * @param time время начала последнего бронирования предыдущей страницы
+     * @param id идентификатор последнего бронирования предыдущей страницы
+     * @param pageable размер страницы (номер страницы всегда 0)
+     * @return список (List) строк BookingRow
+     */
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.booker_id = :userId AND b.start_date > :moment"
+            + SEEK_BY_START, nativeQuery = true)
+    List<BookingRow> findFuturePageByBookerId(@Param("userId") Long bookerId,
+                                           @Param("moment") LocalDateTime moment,
+                                           @Param("time") LocalDateTime time,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    /**
+     * страница списка ПРОШЛЫХ бронирований пользователя-заказчика после позиции (keyset) <p>
+     * сортировка по убыванию времени окончания бронирования, затем идентификатора
+     * @param bookerId идентификатор пользователя-заказчика
+     * @param moment текущий момент
+     * @param time время окончания последнего бронирования предыдущей страницы
+     * @param id идентификатор последнего бронирования предыдущей страницы
+     * @param pageable размер страницы (номер страницы всегда 0)
+     * @return список (List) строк BookingRow
+     */
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.booker_id = :userId AND b.end_date < :moment"
+            + SEEK_BY_END, nativeQuery = true)
+    List<BookingRow> findPastPageByBookerId(@Param("userId") Long bookerId,
+                                         @Param("moment") LocalDateTime moment,
+                                         @Param("time") LocalDateTime time,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    /**
+     * страница списка ТЕКУЩИХ бронирований пользователя-заказчика после позиции (keyset) <p>
+     * сортировка по убыванию времени окончания бронирования, затем идентификатора
+     * @param bookerId идентификатор пользователя-заказчика
+     * @param moment текущий момент
+     * @param time время окончания последнего бронирования предыдущей страницы
+     * @param id идентификатор последнего бронирования предыдущей страницы
+     * @param pageable размер страницы (номер страницы всегда 0)
+     * @return список (List) строк BookingRow
+     */
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.booker_id = :userId "
+            + "AND b.start_date < :moment AND b.end_date > :moment" + SEEK_BY_END, nativeQuery = true)
+    List<BookingRow> findCurrentPageByBookerId(@Param("userId") Long bookerId,
+                                            @Param("moment") LocalDateTime moment,
+                                            @Param("time") LocalDateTime time,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    /**
+     * страница списка бронирований пользователя-заказчика с заданным статусом после позиции (keyset) <p>
+     * сортировка по убыванию времени начала бронирования, затем идентификатора
+     * @param bookerId идентификатор пользователя-заказчика
+     * @param status название статуса для выборки (WAITING, APPROVED, REJECTED)
+     * @param time время начала последнего бронирования предыдущей страницы
+     * @param id идентификатор последнего бронирования предыдущей страницы
+     * @param pageable размер страницы (номер страницы всегда 0)
+     * @return список (List) строк BookingRow
+     */
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.booker_id = :userId AND b.status = :status"
+            + SEEK_BY_START, nativeQuery = true)
+    List<BookingRow> findPageByBookerIdAndStatus(@Param("userId") Long bookerId,
+                                              @Param("status") String status,
+                                              @Param("time") LocalDateTime time,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    /**
+     * страница списка всех бронирований пользователя-владельца после позиции (keyset) <p>
+     * сортировка по убыванию времени начала бронирования, затем идентификатора
+     * @param ownerId идентификатор пользователя-владельца
+     * @param time время начала последнего бронирования предыдущей страницы
+     * @param id идентификатор последнего бронирования предыдущей страницы
+     * @param pageable размер страницы (номер страницы всегда 0)
+     * @return список (List) строк BookingRow
+     */
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.owner_id = :userId" + SEEK_BY_START, nativeQuery = true)
+    List<BookingRow> findPageByOwnerId(@Param("userId") Long ownerId,
+                                    @Param("time") LocalDateTime time,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+
+    /**
+     * страница списка БУДУЩИХ бронирований пользователя-владельца после позиции (keyset) <p>
+     * сортировка по убыванию времени начала бронирования, затем идентификатора
+     * @param ownerId идентификатор пользователя-владельца
+     * @param moment текущий момент
+     * @param time время начала последнего бронирования предыдущей страницы
+     * @param id идентификатор последнего бронирования предыдущей страницы
+     * @param pageable размер страницы (номер страницы всегда 0)
+     * @return список (List) строк BookingRow
+     */
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.owner_id = :userId AND b.start_date > :moment"
+            + SEEK_BY_START, nativeQuery = true)
+    List<BookingRow> findFuturePageByOwnerId(@Param("userId") Long ownerId,
+                                          @Param("moment") LocalDateTime moment,
+                                          @Param("time") LocalDateTime time,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    /**
+     * страница списка ПРОШЛЫХ бронирований пользователя-владельца после позиции (keyset) <p>
+     * сортировка по убыванию времени окончания бронирования, затем идентификатора
+     * @param ownerId идентификатор пользователя-владельца
+     * @param moment текущий момент
+     * @param time время окончания последнего бронирования предыдущей страницы
+     * @param id идентификатор последнего бронирования предыдущей страницы
+     * @param pageable размер страницы (номер страницы всегда 0)
+     * @return список (List) строк BookingRow
+     */
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.owner_id = :userId AND b.end_date < :moment"
+            + SEEK_BY_END, nativeQuery = true)
+    List<BookingRow> findPastPageByOwnerId(@Param("userId") Long ownerId,
+                                        @Param("moment") LocalDateTime moment,
+                                        @Param("time") LocalDateTime time,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    /**
+     * страница списка ТЕКУЩИХ бронирований пользователя-владельца после позиции (keyset) <p>
+     * сортировка по убыванию времени окончания бронирования, затем идентификатора
+     * @param ownerId идентификатор пользователя-владельца
+     * @param moment текущий момент
+     * @param time время окончания последнего бронирования предыдущей страницы
+     * @param id идентификатор последнего бронирования предыдущей страницы
+     * @param pageable размер страницы (номер страницы всегда 0)
+     * @return список (List) строк BookingRow
+     */
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.owner_id = :userId "
+            + "AND b.start_date < :moment AND b.end_date > :moment" + SEEK_BY_END, nativeQuery = true)
+    List<BookingRow> findCurrentPageByOwnerId(@Param("userId") Long ownerId,
+                                           @Param("moment") LocalDateTime moment,
+                                           @Param("time") LocalDateTime time,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    /**
+     * страница списка бронирований пользователя-владельца с заданным статусом после позиции (keyset) <p>
+     * сортировка по убыванию времени начала бронирования, затем идентификатора
+     * @param ownerId идентификатор пользователя-владельца
+     * @param status название статуса для выборки (WAITING, APPROVED, REJECTED)
+     * @param time время начала последнего бронирования предыдущей страницы
+     * @param id идентификатор последнего бронирования предыдущей страницы
+     * @param pageable размер страницы (номер страницы всегда 0)
+     * @return список (List) строк BookingRow
      */
-    List<Booking> findByItem_OwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(Long ownerId,
-                                                                                LocalDateTime forStart,
-                                                                                LocalDateTime forEnd,
-                                                                                Pageable pageable);
+    @Query(value = SELECT_BOOKING_ROWS + " WHERE b.owner_id = :userId AND b.status = :status"
+            + SEEK_BY_START, nativeQuery = true)
+    List<BookingRow> findPageByOwnerIdAndStatus(@Param("userId") Long ownerId,
+                                             @Param("status") String status,
+                                             @Param("time") LocalDateTime time,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * строка списка бронирований (проекция запросов списков BookingRepository): поля BookingResponseDto,
+ * вещи и автора бронирования одним запросом с соединениями, без загрузки сущностей Booking, Item, ItemRequest
+ * и User в контекст персистентности
+ */
+public interface BookingRow {
+
+    Long getId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    BookingStatus getStatus();
+
+    Long getItemId();
+
+    String getItemName();
+
+    Long getBookerId();
+
+    String getBookerName();
+
+    default BookingResponseDto toDto() {
+        return BookingResponseDto.builder()
+                .id(getId())
+                .start(getStart())
+                .end(getEnd())
+                .status(getStatus())
+                .item(BookingResponseDto.ItemDto.builder().id(getItemId()).name(getItemName()).build())
+                .booker(BookingResponseDto.BookerDto.builder().id(getBookerId()).name(getBookerName()).build())
+                .build();
+    }
+}
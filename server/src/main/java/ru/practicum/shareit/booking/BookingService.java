@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
@@ -62,6 +63,28 @@ public interface BookingService {
      */
     List<BookingResponseDto> getListByOwner(Long ownerId, BookingStatus status, Long from, Integer size);
 
+    /**
+     * получение страницы списка бронирований пользователя-заказчика с продолжением (keyset) <p>
+     * порядок и фильтр по статусу - как в getListByBooker
+     * @param bookerId идентификатор <b>АВТОРА бронирования</b>
+     * @param status необязательный (по умолчанию равен ALL)
+     * @param cursor позиция продолжения из ответа на предыдущий запрос; null или пустая строка - первая страница
+     * @param size количество элементов для отображения
+     * @return DTO страницы бронирований с позицией продолжения
+     */
+    BookingPageDto getPageByBooker(Long bookerId, BookingStatus status, String cursor, Integer size);
+
+    /**
+     * получение страницы списка бронирований для всех вещей пользователя с продолжением (keyset) <p>
+     * порядок и фильтр по статусу - как в getListByOwner
+     * @param ownerId идентификатор <b>ВЛАДЕЛЬЦА вещи</b>
+     * @param status необязательный (по умолчанию равен ALL)
+     * @param cursor позиция продолжения из ответа на предыдущий запрос; null или пустая строка - первая страница
+     * @param size количество элементов для отображения
+     * @return DTO страницы бронирований с позицией продолжения
+     */
+    BookingPageDto getPageByOwner(Long ownerId, BookingStatus status, String cursor, Integer size);
+
 
     /**
      * удаление бронирования <p>
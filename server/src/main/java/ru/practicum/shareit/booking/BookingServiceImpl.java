@@ -3,9 +3,11 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -160,7 +162,7 @@ public class BookingServiceImpl implements BookingService {
             default:
                 return listBookingResponseDTOs(
                         bookingStorage.findByBookerIdAndStatusOrderByStartDesc(
-                                bookerId, status, PageRequest.of((int) (from / size), size)));
+                                bookerId, status.name(), PageRequest.of((int) (from / size), size)));
         }
     }
 
@@ -179,25 +181,95 @@ public class BookingServiceImpl implements BookingService {
         switch (status) {
             case ALL:
                 return listBookingResponseDTOs(
-                        bookingStorage.findByItem_OwnerIdOrderByStartDesc(
+                        bookingStorage.findByOwnerIdOrderByStartDesc(
                                 ownerId, PageRequest.of((int) (from / size), size)));
             case FUTURE:
                 return listBookingResponseDTOs(
-                        bookingStorage.findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(
+                        bookingStorage.findByOwnerIdAndStartIsAfterOrderByStartDesc(
                                 ownerId, moment, PageRequest.of((int) (from / size), size)));
             case PAST:
                 return listBookingResponseDTOs(
-                        bookingStorage.findByItem_OwnerIdAndEndIsBeforeOrderByEndDesc(
+                        bookingStorage.findByOwnerIdAndEndIsBeforeOrderByEndDesc(
                                 ownerId, moment, PageRequest.of((int) (from / size), size)));
             case CURRENT:
                 return listBookingResponseDTOs(
-                        bookingStorage.findByItem_OwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
+                        bookingStorage.findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
                                 ownerId, moment, moment, PageRequest.of((int) (from / size), size)));
             //WAITING, REJECTED, CANCELLED
             default:
                 return listBookingResponseDTOs(
-                        bookingStorage.findByItem_OwnerIdAndStatusOrderByStartDesc(
-                                ownerId, status, PageRequest.of((int) (from / size), size)));
+                        bookingStorage.findByOwnerIdAndStatusOrderByStartDesc(
+                                ownerId, status.name(), PageRequest.of((int) (from / size), size)));
+        }
+    }
+
+    /**
+     * получение страницы списка бронирований пользователя-заказчика после позиции cursor <p>
+     * запрос продолжает список условием на (время, идентификатор) по индексу, поэтому время ответа
+     * не зависит от номера страницы
+     * @param bookerId идентификатор <b>АВТОРА бронирования</b>
+     * @param status необязательный (по умолчанию равен ALL)
+     * @param cursor позиция продолжения; null или пустая строка - первая страница
+     * @param size количество элементов для отображения
+     * @return DTO страницы бронирований с позицией продолжения
+     */
+    @Override
+    public BookingPageDto getPageByBooker(Long bookerId, BookingStatus status, String cursor, Integer size) {
+        checkUserExistsElseThrow(bookerId);
+        BookingCursor after = decodeCursor(cursor);
+        LocalDateTime moment = LocalDateTime.now();
+        Pageable limit = PageRequest.of(0, size + 1);
+        switch (status) {
+            case ALL:
+                return pageDto(bookingStorage.findPageByBookerId(
+                        bookerId, after.getTime(), after.getBookingId(), limit), status, size);
+            case FUTURE:
+                return pageDto(bookingStorage.findFuturePageByBookerId(
+                        bookerId, moment, after.getTime(), after.getBookingId(), limit), status, size);
+            case PAST:
+                return pageDto(bookingStorage.findPastPageByBookerId(
+                        bookerId, moment, after.getTime(), after.getBookingId(), limit), status, size);
+            case CURRENT:
+                return pageDto(bookingStorage.findCurrentPageByBookerId(
+                        bookerId, moment, after.getTime(), after.getBookingId(), limit), status, size);
+            //WAITING, REJECTED, CANCELLED
+            default:
+                return pageDto(bookingStorage.findPageByBookerIdAndStatus(
+                        bookerId, status.name(), after.getTime(), after.getBookingId(), limit), status, size);
+        }
+    }
+
+    /**
+     * получение страницы списка бронирований пользователя-владельца после позиции cursor
+     * @param ownerId идентификатор <b>ВЛАДЕЛЬЦА вещи</b>
+     * @param status необязательный (по умолчанию равен ALL)
+     * @param cursor позиция продолжения; null или пустая строка - первая страница
+     * @param size количество элементов для отображения
+     * @return DTO страницы бронирований с позицией продолжения
+     */
+    @Override
+    public BookingPageDto getPageByOwner(Long ownerId, BookingStatus status, String cursor, Integer size) {
+        checkUserExistsElseThrow(ownerId);
+        BookingCursor after = decodeCursor(cursor);
+        LocalDateTime moment = LocalDateTime.now();
+        Pageable limit = PageRequest.of(0, size + 1);
+        switch (status) {
+            case ALL:
+                return pageDto(bookingStorage.findPageByOwnerId(
+                        ownerId, after.getTime(), after.getBookingId(), limit), status, size);
+            case FUTURE:
+                return pageDto(bookingStorage.findFuturePageByOwnerId(
+                        ownerId, moment, after.getTime(), after.getBookingId(), limit), status, size);
+            case PAST:
+                return pageDto(bookingStorage.findPastPageByOwnerId(
+                        ownerId, moment, after.getTime(), after.getBookingId(), limit), status, size);
+            case CURRENT:
+                return pageDto(bookingStorage.findCurrentPageByOwnerId(
+                        ownerId, moment, after.getTime(), after.getBookingId(), limit), status, size);
+            //WAITING, REJECTED, CANCELLED
+            default:
+                return pageDto(bookingStorage.findPageByOwnerIdAndStatus(
+                        ownerId, status.name(), after.getTime(), after.getBookingId(), limit), status, size);
         }
     }
 
@@ -246,12 +318,42 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    /**
+     * @param cursor позиция продолжения из запроса; null или пустая строка - первая страница
+     * @return позиция, после которой начинается страница
+     */
+    private BookingCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? BookingCursor.FIRST : BookingCursor.decode(cursor);
+    }
+
+    /**
+     * DTO страницы: запросы читают на одно бронирование больше размера страницы, лишнее означает,
+     * что страница не последняя, и позиция продолжения - последнее бронирование страницы
+     * @param bookings до size + 1 строк бронирований в порядке списка
+     * @param status фильтр списка: PAST и CURRENT упорядочены по времени окончания, остальные - по времени начала
+     * @param size количество элементов для отображения
+     * @return DTO страницы бронирований
+     */
+    private BookingPageDto pageDto(List<BookingRow> bookings, BookingStatus status, int size) {
+        if (bookings.size() <= size) {
+            return BookingPageDto.builder().bookings(listBookingResponseDTOs(bookings)).build();
+        }
+        List<BookingRow> page = bookings.subList(0, size);
+        BookingRow last = page.get(size - 1);
+        boolean byEnd = status == BookingStatus.PAST || status == BookingStatus.CURRENT;
+        BookingCursor next = new BookingCursor(byEnd ? last.getEnd() : last.getStart(), last.getId());
+        return BookingPageDto.builder()
+                .bookings(listBookingResponseDTOs(page))
+                .nextCursor(next.encode())
+                .build();
+    }
+
      /**
-     * преобразование списка Booking в список BookingResponseDto
-     * @param bookings List<Booking> bookings
+     * преобразование списка BookingRow в список BookingResponseDto
+     * @param bookings List<BookingRow> bookings
      * @return List<BookingResponseDto>
      */
-    private List<BookingResponseDto> listBookingResponseDTOs(List<Booking> bookings) {
-        return bookings.stream().map(bookingMapper::toDto).collect(toList());
+    private List<BookingResponseDto> listBookingResponseDTOs(List<BookingRow> bookings) {
+        return bookings.stream().map(BookingRow::toDto).collect(toList());
     }
 }
\ No newline at end of file
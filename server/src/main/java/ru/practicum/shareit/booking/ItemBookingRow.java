@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * последнее или следующее бронирование вещи (проекция BookingRepository#findLastAndNextByItemIdIn):
+ * поля ItemResponseDto.BookingDto без загрузки сущностей Booking и User в контекст персистентности
+ */
+public interface ItemBookingRow {
+
+    Long getItemId();
+
+    /**
+     * @return true - последнее бронирование вещи, false - следующее
+     */
+    Boolean getLast();
+
+    Long getId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    Long getBookerId();
+
+    default Booking toBooking() {
+        return Booking.builder()
+                .id(getId())
+                .start(getStart())
+                .end(getEnd())
+                .booker(User.builder().id(getBookerId()).build())
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * DTO страницы списка бронирований с продолжением (GET /bookings/page, GET /bookings/owner/page) <p>
+ * nextCursor передается в параметре cursor запроса следующей страницы; null - страница последняя
+ */
+@Builder
+@Getter
+@EqualsAndHashCode
+public class BookingPageDto {
+
+    private List<BookingResponseDto> bookings;
+
+    private String nextCursor;
+}
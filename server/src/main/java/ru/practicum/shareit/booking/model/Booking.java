@@ -37,14 +37,27 @@ public class Booking {
     @Column(name = "end_date")
     private LocalDateTime end;
 
-    @ManyToOne
+    /**
+     * item_id и booker_id - NOT NULL: производные запросы BookingRepository соединяют таблицы
+     * внутренним соединением, и условие на владельца или бронирующего использует индексы (schema.sql) <p>
+     * связи загружаются лениво: методы BookingRepository, которым нужны вещь или автор бронирования,
+     * загружают их тем же запросом (@EntityGraph)
+     */
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     private User booker;
 
+    /**
+     * владелец вещи (копия item.ownerId): запросы бронирований владельца читают индекс bookings
+     * без соединения с items; задается при создании бронирования, владелец вещи не меняется
+     */
+    @Column(name = "owner_id")
+    private Long ownerId;
+
     /**
      * статус может меняться во время работы приложения
      */
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.search.FullTextItemSearch;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearch;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.LikeItemSearch;
+import ru.practicum.shareit.item.search.TrigramItemSearch;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * выбор реализации поиска вещей (ItemSearch) по свойству shareit.search.mode
+ */
+@Slf4j
+@Configuration
+public class SearchConfig {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    @Bean
+    public ItemSearch itemSearch(SearchProperties properties, ItemRepository itemStorage, DataSource dataSource) {
+        log.info("item search mode: {}", properties.getMode());
+        switch (properties.getMode()) {
+            case FULL_TEXT:
+                return isPostgreSql(dataSource, properties.getMode())
+                        ? new FullTextItemSearch(itemStorage) : new LikeItemSearch(itemStorage);
+            case TRIGRAM:
+                return isPostgreSql(dataSource, properties.getMode())
+                        ? new TrigramItemSearch(itemStorage) : new LikeItemSearch(itemStorage);
+            case INDEX:
+                return new InvertedIndexItemSearch(itemStorage);
+            case LIKE:
+            default:
+                return new LikeItemSearch(itemStorage);
+        }
+    }
+
+    /**
+     * @return БД - PostgreSQL (иначе предупреждение о замене способа поиска на LIKE)
+     */
+    private static boolean isPostgreSql(DataSource dataSource, SearchProperties.Mode mode) {
+        String database;
+        try {
+            database = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Unable to determine database product", e);
+        }
+        if (POSTGRESQL.equals(database)) {
+            return true;
+        }
+        log.warn("{} item search is not supported by {}, LIKE search is used", mode, database);
+        return false;
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * настройки поиска вещей (эндпойнт /items/search) <p>
+ * префикс свойств: shareit.search
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.search")
+public class SearchProperties {
+
+    /**
+     * способ поиска
+     */
+    private Mode mode = Mode.LIKE;
+
+    /**
+     * кэш результатов поиска (SearchResultCache)
+     */
+    private final Cache cache = new Cache();
+
+    /**
+     * подсказки названий вещей (ItemNameCompletions)
+     */
+    private final Autocomplete autocomplete = new Autocomplete();
+
+    public enum Mode {
+        /**
+         * поиск подстроки (LIKE) без индекса
+         */
+        LIKE,
+
+        /**
+         * полнотекстовый поиск PostgreSQL (tsvector, индекс GIN); на других СУБД используется LIKE
+         */
+        FULL_TEXT,
+
+        /**
+         * инвертированный индекс в памяти сервера (InvertedIndexItemSearch), без запросов к БД
+         */
+        INDEX,
+
+        /**
+         * поиск подстроки и похожих слов по триграммам PostgreSQL (pg_trgm, индекс GIN); на других СУБД используется LIKE
+         */
+        TRIGRAM
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        /**
+         * максимальное количество страниц результатов в кэше
+         */
+        private long maxSize = 10_000;
+
+        /**
+         * срок хранения страницы: ограничивает устаревание при изменениях вещей в обход ItemService
+         * (другой экземпляр сервера, изменение БД напрямую)
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Autocomplete {
+
+        /**
+         * максимальное количество подсказок в ответе (хранится в каждом узле дерева названий)
+         */
+        private int maxSize = 10;
+    }
+}
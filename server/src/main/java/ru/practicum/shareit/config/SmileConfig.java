@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * формат Smile (application/x-jackson-smile) для ответов шлюзу <p>
+ * ответ в Smile отправляется только при запросе с Accept: application/x-jackson-smile,
+ * без него ответ по-прежнему в JSON <p>
+ * конвертер Smile по умолчанию использует собственные настройки Jackson (даты - массивами чисел),
+ * поэтому заменяется конвертером с настройками spring.jackson.*, как у конвертера JSON
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SmileConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MappingJackson2SmileHttpMessageConverter smileConverter = new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.factory(new SmileFactory()).build());
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2SmileHttpMessageConverter) {
+                converters.set(i, smileConverter);
+                return;
+            }
+        }
+        converters.add(smileConverter);
+    }
+}
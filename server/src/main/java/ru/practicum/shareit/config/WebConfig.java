@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETag для ответов эндпойнтов чтения, ответы которых кэшируются шлюзом <p>
+ * при совпадении If-None-Match с хэшем тела ответа отправляется 304 без тела <p>
+ * ETag слабый (W/): Tomcat не сжимает ответы со строгим ETag (server.compression.*),
+ * к тому же сжатый и несжатый ответы побайтно различаются <p>
+ * фильтр накапливает тело ответа для расчета хэша, поэтому выгрузки NDJSON (/items/export, /items/search/export)
+ * отключают это для своего запроса (ShallowEtagHeaderFilter#disableContentCaching) и передаются без ETag
+ */
+@Configuration
+public class WebConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/items/*", "/users", "/users/*", "/requests", "/requests/*");
+        return registration;
+    }
+}
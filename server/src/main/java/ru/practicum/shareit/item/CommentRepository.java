@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.model.Comment;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -9,7 +11,21 @@ import java.util.List;
  */
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    /**
+     * комментарии к вещам владельца одним запросом (автор загружается тем же запросом)
+     */
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItem_OwnerIdEquals(Long ownerId);
 
+    /**
+     * комментарии к вещи одним запросом (автор загружается тем же запросом)
+     */
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItem_Id(Long itemId);
+
+    /**
+     * комментарии к вещам из списка одним запросом (автор загружается тем же запросом)
+     */
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByItem_IdIn(Collection<Long> itemIds);
 }
\ No newline at end of file
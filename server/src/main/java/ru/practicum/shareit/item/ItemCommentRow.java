@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.search.ItemRow;
+
+import java.time.LocalDateTime;
+
+/**
+ * строка вещи с одним из ее комментариев (проекция ItemRepository#findWithCommentsById): поля ItemResponseDto
+ * без загрузки сущностей Item, Comment и User в контекст персистентности <p>
+ * у вещи без комментариев - одна строка с пустыми полями комментария
+ */
+public interface ItemCommentRow extends ItemRow {
+
+    Long getCommentId();
+
+    String getCommentText();
+
+    String getCommentAuthorName();
+
+    LocalDateTime getCommentCreated();
+
+    default ItemResponseDto.CommentResponseDto toCommentDto() {
+        return ItemResponseDto.CommentResponseDto.builder()
+                .id(getCommentId())
+                .text(getCommentText())
+                .authorName(getCommentAuthorName())
+                .created(getCommentCreated())
+                .build();
+    }
+}
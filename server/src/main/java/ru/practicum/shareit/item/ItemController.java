@@ -1,22 +1,34 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 
 import javax.json.Json;
 import javax.json.JsonObject;
+import javax.servlet.http.HttpServletRequest;
 
 import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * REST-Контроллер данных о пользователе (User) <p>
@@ -33,6 +45,8 @@ public class ItemController {
 
     private final ItemService itemService;
 
+    private final ObjectMapper objectMapper;
+
     /**
      * Создание вещи для шаринга
      * @param ownerId идентификатор пользователя - владельца вещи
@@ -72,6 +86,19 @@ public class ItemController {
             return itemService.getByOwnerById(ownerId, itemId);
     }
 
+    /**
+     * Получение информации о нескольких вещах для шаринга одним запросом (вместо GET /items/{itemId} для каждой)
+     * @param ownerId идентификатор пользователя, сделавшего запрос
+     * @param itemIds идентификаторы вещей через запятую; отсутствующие вещи пропускаются
+     * @return Список с DTO-классами сущностей вещей в порядке itemIds
+     */
+    @GetMapping("/batch")
+    public List<ItemResponseDto> getItems(@RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+                                          @RequestParam(name = "ids") List<Long> itemIds) {
+        log.info("[get] items http-request with ids {} by user with id {}", itemIds, ownerId);
+        return itemService.getByOwnerByIds(ownerId, itemIds);
+    }
+
     /**
      * Получение информации о вещи для шаринга
      * @param ownerId идентификатор владельца
@@ -119,6 +146,64 @@ public class ItemController {
         return itemService.search(query, from, size);
     }
 
+    /**
+     * Поиск вещи для шаринга по названию и/или описанию вещи с продолжением
+     * @param query текстовый запрос для поиска
+     * @param cursor позиция продолжения из ответа на предыдущий запрос (отсутствует для первой страницы)
+     * @param size количество элементов для отображения
+     * @return страница DTO-классов сущностей вещей и позиция следующей страницы
+     */
+    @GetMapping("/search/page")
+    public ItemSearchPageDto searchItemsPage(@RequestParam(name = "text") String query,
+                                             @RequestParam(name = "cursor", required = false) String cursor,
+                                             @RequestParam(name = "size", defaultValue = "20") Integer size) {
+        log.info("Search [get] items page http-request of query {}", query);
+        return itemService.searchPage(query, cursor, size);
+    }
+
+    /**
+     * Подсказки названий вещей для строки поиска (автодополнение) без запросов к БД
+     * @param prefix начало названия вещи
+     * @param size количество подсказок (не более shareit.search.autocomplete.max-size)
+     * @return названия доступных вещей, начинающиеся с prefix: сначала названия большего количества вещей
+     */
+    @GetMapping("/search/autocomplete")
+    public List<String> autocomplete(@RequestParam(name = "text") String prefix,
+                                     @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Autocomplete [get] item names http-request of prefix {}", prefix);
+        return itemService.autocomplete(prefix, size);
+    }
+
+    /**
+     * Выгрузка всех найденных вещей для шаринга одним ответом в формате NDJSON (JSON-объект вещи на строку) <p>
+     * вещи читаются из БД курсором и записываются в ответ по мере чтения (StreamingResponseBody),
+     * поэтому расход памяти не зависит от количества вещей
+     * @param query текстовый запрос для поиска
+     * @param request запрос (отключение буферизации ответа ShallowEtagHeaderFilter)
+     * @return поток DTO-классов сущностей вещей в порядке выдачи поиска
+     */
+    @GetMapping(path = "/search/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSearch(@RequestParam(name = "text") String query,
+                                                              HttpServletRequest request) {
+        log.info("Export [get] items http-request of query {}", query);
+        return ndjson(request, out -> itemService.exportSearch(query, ndjsonWriter(out)));
+    }
+
+    /**
+     * Выгрузка всех вещей владельца одним ответом в формате NDJSON, без дополнительных полей
+     * (бронирования и комментарии - эндпойнт GET /items)
+     * @param ownerId идентификатор владельца
+     * @param request запрос (отключение буферизации ответа ShallowEtagHeaderFilter)
+     * @return поток DTO-классов сущностей вещей по возрастанию идентификатора
+     */
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportByOwner(
+            @RequestHeader(value = SHARER_USER_HTTP_HEADER) Long ownerId,
+            HttpServletRequest request) {
+        log.info("Export [get] all items http-request with userId {}", ownerId);
+        return ndjson(request, out -> itemService.exportByOwner(ownerId, ndjsonWriter(out)));
+    }
+
     /**
      * Добавление комментария к вещи
      * @param authorId идентификатор владельца
@@ -133,4 +218,33 @@ public class ItemController {
         log.info("[post] comment http-request to item with id {} from user@id {}", itemId, authorId);
         return itemService.addComment(authorId, itemId, dto);
     }
+
+    /**
+     * ответ NDJSON передается клиенту по мере записи: ShallowEtagHeaderFilter (WebConfig, /items/*)
+     * не накапливает тело выгрузки в памяти для расчета ETag, ответ отправляется без ETag
+     * (StreamingResponseBodyReturnValueHandler Spring MVC 5.3 отключает накопление так же, вызов здесь
+     * не зависит от этого)
+     */
+    private static ResponseEntity<StreamingResponseBody> ndjson(HttpServletRequest request,
+                                                                StreamingResponseBody body) {
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * @return запись DTO в out строкой JSON (out не закрывается)
+     */
+    private Consumer<ItemDto> ndjsonWriter(OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(ItemDto.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return dto -> {
+            try {
+                writer.writeValue(out, dto);
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
 }
\ No newline at end of file
@@ -2,10 +2,20 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemNameCount;
+import ru.practicum.shareit.item.search.ItemRow;
+import ru.practicum.shareit.item.search.RankedItem;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 /**
  * интерфейс для Jpa-репозитория вещей
@@ -13,15 +23,175 @@ import java.util.List;
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     /**
-     * метод поиска <b>только доступных</b> вещей по имени или описанию
-     * @param queryInName строка запроса по названию
-     * @param queryInDescr эквивалентная строка запроса по описанию
+     * размер порции строк, получаемых из БД за одно обращение при чтении потока (Stream) курсором
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * столбцы вещи для проекций ItemRow и RankedItem (псевдонимы в кавычках сохраняют регистр)
+     */
+    String ITEM_ROW_COLUMNS = "i.id AS \"id\", i.owner_id AS \"ownerId\", i.name AS \"name\", "
+            + "i.description AS \"description\", i.available AS \"available\", i.request_id AS \"requestId\"";
+
+    /**
+     * продолжение после позиции (:rank, :afterId) при порядке релевантность по убыванию, идентификатор по возрастанию
+     */
+    String RANKED_ITEM_SEEK = "WHERE r.\"rank\" < :rank OR (r.\"rank\" = :rank AND r.\"id\" > :afterId) "
+            + "ORDER BY r.\"rank\" DESC, r.\"id\" LIMIT :limit";
+
+    /**
+     * вещь с комментариями и именами их авторов одним запросом (чтение вещи без загрузки сущностей)
+     * @param itemId идентификатор вещи
+     * @return список List строк вещи, по одной на комментарий в порядке добавления
+     *     (одна строка без комментария, если комментариев нет; пустой, если вещь не найдена)
+     */
+    @Query(value = "SELECT " + ITEM_ROW_COLUMNS + ", c.id AS \"commentId\", c.text AS \"commentText\", "
+            + "u.name AS \"commentAuthorName\", c.created AS \"commentCreated\" FROM items i "
+            + "LEFT JOIN comments c ON c.item_id = i.id LEFT JOIN users u ON u.id = c.author_id "
+            + "WHERE i.id = :itemId ORDER BY c.id",
+            nativeQuery = true)
+    List<ItemCommentRow> findWithCommentsById(@Param("itemId") Long itemId);
+
+    /**
+     * поиск <b>только доступных</b> вещей по подстроке в названии или описании без учета регистра
+     * после вещи с идентификатором afterId (keyset; со смещением страницы при afterId = 0)
+     * @param pattern шаблон LIKE подстроки запроса (%text% с экранированными %, _ и \)
+     * @param afterId идентификатор последней вещи предыдущей страницы (0 - с начала)
+     * @param pageable размер страницы (номер страницы 0 при afterId &gt; 0)
+     * @return список List, упорядоченный по идентификатору
+     */
+    @Query("SELECT i FROM Item i WHERE i.available = true AND i.id > :afterId "
+            + "AND (UPPER(i.name) LIKE UPPER(:pattern) ESCAPE '\\' "
+            + "OR UPPER(i.description) LIKE UPPER(:pattern) ESCAPE '\\') "
+            + "ORDER BY i.id")
+    List<Item> searchAfterId(@Param("pattern") String pattern, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * полнотекстовый поиск <b>только доступных</b> вещей (только PostgreSQL: items.search_vector, schema-postgresql.sql)
+     * @param tsQuery запрос в формате to_tsquery
+     * @param pageable параметр постраничного вывода
+     * @return список List, упорядоченный по убыванию релевантности
+     */
+    @Query(value = "SELECT i.* FROM items i, to_tsquery('russian', :tsQuery) q "
+            + "WHERE i.available AND i.search_vector @@ q "
+            + "ORDER BY ts_rank(i.search_vector, q) DESC, i.id",
+            nativeQuery = true)
+    List<Item> searchFullText(@Param("tsQuery") String tsQuery, Pageable pageable);
+
+    /**
+     * полнотекстовый поиск <b>только доступных</b> вещей после позиции (rank, afterId) в порядке выдачи (keyset)
+     * @param tsQuery запрос в формате to_tsquery
+     * @param rank релевантность последней вещи предыдущей страницы (Infinity - с начала)
+     * @param afterId идентификатор последней вещи предыдущей страницы
+     * @param limit размер страницы
+     * @return список List, упорядоченный по убыванию релевантности, затем по идентификатору
+     */
+    @Query(value = "SELECT r.* FROM (SELECT " + ITEM_ROW_COLUMNS + ", ts_rank(i.search_vector, q) AS \"rank\" "
+            + "FROM items i, to_tsquery('russian', :tsQuery) q WHERE i.available AND i.search_vector @@ q) r "
+            + RANKED_ITEM_SEEK,
+            nativeQuery = true)
+    List<RankedItem> searchFullTextAfter(@Param("tsQuery") String tsQuery, @Param("rank") float rank,
+                                         @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * поиск <b>только доступных</b> вещей по триграммам (только PostgreSQL: pg_trgm, schema-postgresql.sql):
+     * подстрока без учета регистра или слово, похожее на запрос (опечатки)
+     * @param text строка запроса
+     * @param pattern шаблон ILIKE подстроки запроса (%text% с экранированными %, _ и \)
      * @param pageable параметр постраничного вывода
+     * @return список List, упорядоченный по убыванию сходства с запросом
+     */
+    @Query(value = "SELECT i.* FROM items i "
+            + "WHERE i.available AND (i.name ILIKE :pattern OR i.description ILIKE :pattern "
+            + "OR :text <% i.name OR :text <% i.description) "
+            + "ORDER BY GREATEST(word_similarity(:text, i.name), word_similarity(:text, i.description)) DESC, i.id",
+            nativeQuery = true)
+    List<Item> searchTrigram(@Param("text") String text, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * поиск <b>только доступных</b> вещей по триграммам после позиции (rank, afterId) в порядке выдачи (keyset)
+     * @param text строка запроса
+     * @param pattern шаблон ILIKE подстроки запроса
+     * @param rank сходство последней вещи предыдущей страницы с запросом (Infinity - с начала)
+     * @param afterId идентификатор последней вещи предыдущей страницы
+     * @param limit размер страницы
+     * @return список List, упорядоченный по убыванию сходства, затем по идентификатору
+     */
+    @Query(value = "SELECT r.* FROM (SELECT " + ITEM_ROW_COLUMNS + ", "
+            + "GREATEST(word_similarity(:text, i.name), word_similarity(:text, i.description)) AS \"rank\" "
+            + "FROM items i "
+            + "WHERE i.available AND (i.name ILIKE :pattern OR i.description ILIKE :pattern "
+            + "OR :text <% i.name OR :text <% i.description)) r "
+            + RANKED_ITEM_SEEK,
+            nativeQuery = true)
+    List<RankedItem> searchTrigramAfter(@Param("text") String text, @Param("pattern") String pattern,
+                                        @Param("rank") float rank, @Param("afterId") long afterId,
+                                        @Param("limit") int limit);
+
+    /**
+     * поток <b>только доступных</b> вещей с подстрокой в названии или описании без учета регистра (выгрузка) <p>
+     * поток читается курсором БД порциями STREAM_FETCH_SIZE и закрывается после чтения; требуется транзакция
+     * @param pattern шаблон LIKE подстроки запроса (%text% с экранированными %, _ и \)
+     * @return поток Stream, упорядоченный по идентификатору
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(value = "SELECT " + ITEM_ROW_COLUMNS + " FROM items i "
+            + "WHERE i.available AND (UPPER(i.name) LIKE UPPER(:pattern) ESCAPE '\\' "
+            + "OR UPPER(i.description) LIKE UPPER(:pattern) ESCAPE '\\') "
+            + "ORDER BY i.id",
+            nativeQuery = true)
+    Stream<ItemRow> streamSearch(@Param("pattern") String pattern);
+
+    /**
+     * поток полнотекстового поиска <b>только доступных</b> вещей (выгрузка; только PostgreSQL)
+     * @param tsQuery запрос в формате to_tsquery
+     * @return поток Stream, упорядоченный по убыванию релевантности, затем по идентификатору
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(value = "SELECT " + ITEM_ROW_COLUMNS + " FROM items i, to_tsquery('russian', :tsQuery) q "
+            + "WHERE i.available AND i.search_vector @@ q "
+            + "ORDER BY ts_rank(i.search_vector, q) DESC, i.id",
+            nativeQuery = true)
+    Stream<ItemRow> streamFullText(@Param("tsQuery") String tsQuery);
+
+    /**
+     * поток поиска <b>только доступных</b> вещей по триграммам (выгрузка; только PostgreSQL)
+     * @param text строка запроса
+     * @param pattern шаблон ILIKE подстроки запроса
+     * @return поток Stream, упорядоченный по убыванию сходства, затем по идентификатору
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(value = "SELECT " + ITEM_ROW_COLUMNS + " FROM items i "
+            + "WHERE i.available AND (i.name ILIKE :pattern OR i.description ILIKE :pattern "
+            + "OR :text <% i.name OR :text <% i.description) "
+            + "ORDER BY GREATEST(word_similarity(:text, i.name), word_similarity(:text, i.description)) DESC, i.id",
+            nativeQuery = true)
+    Stream<ItemRow> streamTrigram(@Param("text") String text, @Param("pattern") String pattern);
+
+    /**
+     * поток всех вещей владельца (выгрузка)
+     * @param ownerId идентификатор пользователя-владельца вещи
+     * @return поток Stream, упорядоченный по идентификатору
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(value = "SELECT " + ITEM_ROW_COLUMNS + " FROM items i WHERE i.owner_id = :ownerId ORDER BY i.id",
+            nativeQuery = true)
+    Stream<ItemRow> streamByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * порция <b>только доступных</b> вещей по возрастанию идентификатора (построение индекса поиска)
+     * @param id идентификатор последней вещи предыдущей порции (0 - с начала)
+     * @param pageable размер порции
      * @return список List
      */
-    List<Item> findDistinctByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(String queryInName,
-                                                                                   String queryInDescr,
-                                                                                   Pageable pageable);
+    List<Item> findByAvailableTrueAndIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    /**
+     * названия <b>только доступных</b> вещей без повторов (построение дерева подсказок ItemNameCompletions)
+     * @return список List названий и количества вещей с каждым названием
+     */
+    @Query("SELECT i.name AS name, COUNT(i) AS count FROM Item i WHERE i.available = true GROUP BY i.name")
+    List<ItemNameCount> countAvailableByName();
 
     /**
      * Поиск всех вещей по идентификатору владельца
@@ -4,8 +4,10 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * интерфейс сервис-слой для обработки данных о вещах для шаринга <p>
@@ -39,6 +41,14 @@ public interface ItemService {
      */
     ItemResponseDto getByOwnerById(Long userId, Long itemId);
 
+    /**
+     * получение DTO для нескольких вещей из хранилища (как getByOwnerById для каждой вещи)
+     * @param userId идентификатор пользователя, сделавшего Http-запрос
+     * @param itemIds идентификаторы сохраненных вещей; отсутствующие в хранилище пропускаются
+     * @return список DTO в порядке itemIds, без повторов
+     */
+    List<ItemResponseDto> getByOwnerByIds(Long userId, List<Long> itemIds);
+
     /**
      * получение списка DTO для всех вещей из хранилища
      * @param from индекс первого элемента (нумерация начинается с 0)
@@ -65,6 +75,37 @@ public interface ItemService {
      */
     List<ItemDto> search(String query, Long from, Integer size);
 
+    /**
+     * поиск вещей по текстовому запросу с продолжением: страница после позиции cursor
+     * @param query строковое представление запроса
+     * @param cursor позиция из предыдущей страницы (ItemSearchPageDto#nextCursor); null - первая страница
+     * @param size количество элементов для отображения
+     * @return страница DTO и позиция следующей страницы
+     */
+    ItemSearchPageDto searchPage(String query, String cursor, Integer size);
+
+    /**
+     * выгрузка всех вещей, найденных по текстовому запросу, без постраничного вывода
+     * @param query строковое представление запроса
+     * @param action обработка каждого DTO в порядке выдачи (запись в ответ)
+     */
+    void exportSearch(String query, Consumer<ItemDto> action);
+
+    /**
+     * выгрузка всех вещей владельца без постраничного вывода и без дополнительных полей
+     * @param ownerId идентификатор пользователя-владельца вещей
+     * @param action обработка каждого DTO по возрастанию идентификатора (запись в ответ)
+     */
+    void exportByOwner(Long ownerId, Consumer<ItemDto> action);
+
+    /**
+     * подсказки названий доступных вещей по началу названия (автодополнение строки поиска)
+     * @param prefix начало названия
+     * @param size количество подсказок
+     * @return названия вещей: сначала названия большего количества вещей
+     */
+    List<String> autocomplete(String prefix, Integer size);
+
     /**
      * Добавление комментария к вещи
      * @param authorId идентификатор владельца
@@ -2,10 +2,13 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingRow;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.BadRequestException;
@@ -15,8 +18,16 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemChangedEvent;
+import ru.practicum.shareit.item.search.ItemNameCompletions;
+import ru.practicum.shareit.item.search.ItemRow;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.ItemSearchPage;
+import ru.practicum.shareit.item.search.SearchCursor;
+import ru.practicum.shareit.item.search.SearchResultCache;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
@@ -33,7 +44,9 @@ import static ru.practicum.shareit.util.Constants.SUCCESS_DELETE_MESSAGE;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * сервис-слой для обработки данных о вещах для шаринга <p>
@@ -61,6 +74,14 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRequestRepository requestStorage;
 
+    private final ItemSearch itemSearch;
+
+    private final SearchResultCache searchResultCache;
+
+    private final ItemNameCompletions itemNameCompletions;
+
+    private final ApplicationEventPublisher eventPublisher;
+
 
     /**
      * добавление вещи
@@ -75,6 +96,7 @@ public class ItemServiceImpl implements ItemService {
         assignItemWithOwner(ownerId, item);
         assignRequestToItem(dto.getRequestId(), item);
         Item created = itemStorage.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.created(created));
         return itemMapper.toDto(created);
     }
 
@@ -91,12 +113,17 @@ public class ItemServiceImpl implements ItemService {
     public ItemDto patch(Long ownerId, Long itemId, ItemDto dto) {
         Item item = readById(itemId);
         checkUserAccess(ownerId, item.getOwnerId());
+        Item before = item.toBuilder().build();
         itemMapper.update(dto, item);
+        eventPublisher.publishEvent(ItemChangedEvent.updated(before, item));
         return itemMapper.toDto(item);
     }
 
     /**
      * получение вещи по идентификатору пользователем-<b>владельцем</b><p>
+     * чтение через проекции без загрузки сущностей: вещь с комментариями (findWithCommentsById), последнее
+     * и следующее бронирования только для пользователя-<b>владельца</b> (findLastAndNextByItemIdIn) -
+     * не более двух запросов к БД
      * @param ownerId идентификатор пользователя, сделавшего Http-запрос
      * @param itemId идентификатор сохраненной вещи
      * @return DTO-представление для класса Item <b>с</b>дополнительными полями <p>
@@ -104,29 +131,64 @@ public class ItemServiceImpl implements ItemService {
      */
     @Override
     public ItemResponseDto getByOwnerById(Long ownerId, Long itemId) {
-        Item item = readById(itemId);
+        List<ItemCommentRow> rows = itemStorage.findWithCommentsById(itemId);
+        if (rows.isEmpty()) {
+            log.info("Item with Id {} not found", itemId);
+            throw new NotFoundException(String.format("Item with Id %d not found", itemId));
+        }
+        Item item = rows.get(0).toItem();
         if (ownerId.equals(item.getOwnerId())) {
-            LocalDateTime moment = LocalDateTime.now();
-            Booking last = bookingStorage.findFirst1ByItemIdAndStartLessThanEqualAndStatusOrderByStartDesc(
-                    itemId,
-                    moment,
-                    BookingStatus.APPROVED).orElse(null);
-            item.setLastBooking(last);
-            Booking next = bookingStorage.findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-                    itemId,
-                    moment,
-                    BookingStatus.APPROVED).orElse(null);
-            item.setNextBooking(next);
+            setLastAndNextBookingsToItems(List.of(item), LocalDateTime.now());
         }
-        List<ItemResponseDto.CommentResponseDto> commentResponseDtoList = commentStorage.findByItem_Id(itemId)
-                .stream()
-                .map(commentMapper::toNestedDto)
+        List<ItemResponseDto.CommentResponseDto> commentResponseDtoList = rows.stream()
+                .filter(row -> row.getCommentId() != null)
+                .map(ItemCommentRow::toCommentDto)
                 .collect(Collectors.toList());
         ItemResponseDto itemDto = itemResponseMapper.toDto(item);
         itemDto.setComments(commentResponseDtoList);
         return itemDto;
     }
 
+    /**
+     * получение нескольких вещей по идентификаторам <p>
+     * число запросов к БД не зависит от количества вещей: вещи (findAllById), последние и следующие бронирования
+     * вещей пользователя-<b>владельца</b> (setLastAndNextBookingsToItems), комментарии (findByItem_IdIn)
+     * @param ownerId идентификатор пользователя, сделавшего Http-запрос
+     * @param itemIds идентификаторы сохраненных вещей
+     * @return DTO-представления для класса Item <b>с</b>дополнительными полями в порядке itemIds <p>
+     *     (запросы на бронирование, комментарии)
+     */
+    @Override
+    public List<ItemResponseDto> getByOwnerByIds(Long ownerId, List<Long> itemIds) {
+        Set<Long> ids = new LinkedHashSet<>(itemIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> items = itemStorage.findAllById(ids).stream()
+                .collect(toMap(Item::getId, identity()));
+        if (items.isEmpty()) {
+            log.info("none of {} requested items found", ids.size());
+            return List.of();
+        }
+        List<Item> ownedItems = items.values().stream()
+                .filter(item -> ownerId.equals(item.getOwnerId()))
+                .collect(toList());
+        if (!ownedItems.isEmpty()) {
+            setLastAndNextBookingsToItems(ownedItems, LocalDateTime.now());
+        }
+        Map<Long, List<ItemResponseDto.CommentResponseDto>> itemIdToCommentDtoList = commentStorage
+                .findByItem_IdIn(items.keySet())
+                .stream()
+                .collect(groupingBy(comment -> comment.getItem().getId(), mapping(commentMapper::toNestedDto, toList())));
+        log.info("{} of {} requested items found", items.size(), ids.size());
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .map(itemResponseMapper::toDto)
+                .peek(dto -> dto.setComments(itemIdToCommentDtoList.getOrDefault(dto.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     /**
      * получение списка вещей по идентификатору пользователем-<b>владельцем</b><p>
      * @param ownerId идентификатор пользователя-владельца вещи
@@ -136,14 +198,10 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public List<ItemResponseDto> getAllByUserId(Long from, Integer size, Long ownerId) {
         List<Item> items = itemStorage.findByOwnerIdOrderById(ownerId, PageRequest.of((int) (from / size), size));
-        List<Booking> bookings = bookingStorage.findByItem_OwnerIdOrderByStartDesc(
-                ownerId, PageRequest.of((int) (from / size), size));
-        LocalDateTime moment = LocalDateTime.now();
         Map<Long, List<ItemResponseDto.CommentResponseDto>> itemIdToCommentDtoList = commentStorage.findByItem_OwnerIdEquals(ownerId)
                 .stream()
                 .collect(groupingBy(comment -> comment.getItem().getId(), mapping(commentMapper::toNestedDto, toList())));
-        setLastBookingsToItems(items, bookings, moment);
-        setNextBookingsToItems(items, bookings, moment);
+        setLastAndNextBookingsToItems(items, LocalDateTime.now());
         return items.stream()
                 .map(itemResponseMapper::toDto)
                 .peek(dto -> dto.setComments(itemIdToCommentDtoList.get(dto.getId())))
@@ -160,14 +218,17 @@ public class ItemServiceImpl implements ItemService {
     @Transactional
     @Override
     public String deleteById(Long ownerId, Long itemId) {
-        checkUserAccess(ownerId, readById(itemId).getId());
+        Item item = readById(itemId);
+        checkUserAccess(ownerId, item.getOwnerId());
         itemStorage.deleteById(itemId);
+        eventPublisher.publishEvent(ItemChangedEvent.deleted(item));
         log.info("deleted {} item ", itemId);
         return SUCCESS_DELETE_MESSAGE;
     }
 
     /**
-     * поиск вещи по текстовому запросу в названии или описании вещи
+     * поиск вещи по текстовому запросу в названии или описании вещи (способ поиска - ItemSearch) <p>
+     * страницы результатов кэшируются (SearchResultCache)
      * @param query строковое представление запроса
      * @param from индекс первого элемента (нумерация начинается с 0)
      * @param size количество элементов для отображения
@@ -179,11 +240,81 @@ public class ItemServiceImpl implements ItemService {
             log.info("search query is blank");
             return List.of();
         }
-        return itemStorage.findDistinctByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(query, query,
-                        PageRequest.of((int) (from / size), size))
+        return searchResultCache.get(query, "from=" + from / size * size + ",size=" + size,
+                () -> itemSearch.search(query, from, size)
                             .stream()
                             .map(itemMapper::toDto)
-                            .collect(toList());
+                            .collect(toList()));
+    }
+
+    /**
+     * поиск вещи по текстовому запросу с продолжением (keyset): вместо OFFSET страница отбирается
+     * по позиции последней вещи предыдущей страницы, поэтому глубокие страницы не дороже первой <p>
+     * страницы результатов кэшируются (SearchResultCache)
+     * @param query строковое представление запроса
+     * @param cursor позиция из предыдущей страницы; null или пустая строка - первая страница
+     * @param size количество элементов для отображения
+     * @return страница вещей: DTO-представление для класса Item <b>без</b>дополнительных полей
+     */
+    @Override
+    public ItemSearchPageDto searchPage(String query, String cursor, Integer size) {
+        if (query.isBlank()) {
+            log.info("search query is blank");
+            return ItemSearchPageDto.builder().items(List.of()).build();
+        }
+        SearchCursor after = cursor == null || cursor.isBlank() ? null : SearchCursor.decode(cursor);
+        String pageKey = "cursor=" + (after != null ? after.encode() : "") + ",size=" + size;
+        return searchResultCache.get(query, pageKey, () -> {
+            ItemSearchPage page = itemSearch.searchAfter(query, after, size);
+            return ItemSearchPageDto.builder()
+                    .items(page.getItems().stream()
+                            .map(itemMapper::toDto)
+                            .collect(toList()))
+                    .nextCursor(page.getNext() != null ? page.getNext().encode() : null)
+                    .build();
+        });
+    }
+
+    /**
+     * выгрузка найденных вещей: поток ItemSearch#stream читается в транзакции этого метода,
+     * DTO передаются action по одному, поэтому расход памяти не зависит от количества вещей
+     * @param query строковое представление запроса
+     * @param action обработка каждого DTO в порядке выдачи
+     */
+    @Override
+    public void exportSearch(String query, Consumer<ItemDto> action) {
+        if (query.isBlank()) {
+            log.info("export query is blank");
+            return;
+        }
+        try (Stream<Item> items = itemSearch.stream(query)) {
+            items.map(itemMapper::toDto).forEach(action);
+        }
+    }
+
+    /**
+     * выгрузка вещей владельца: строки читаются курсором БД (ItemRepository#streamByOwnerId)
+     * без загрузки сущностей в контекст персистентности
+     * @param ownerId идентификатор пользователя-владельца вещей
+     * @param action обработка каждого DTO по возрастанию идентификатора
+     */
+    @Override
+    public void exportByOwner(Long ownerId, Consumer<ItemDto> action) {
+        try (Stream<ItemRow> rows = itemStorage.streamByOwnerId(ownerId)) {
+            rows.map(row -> itemMapper.toDto(row.toItem())).forEach(action);
+        }
+    }
+
+    /**
+     * подсказки названий доступных вещей из дерева в памяти (ItemNameCompletions): без транзакции и запросов к БД
+     * @param prefix начало названия
+     * @param size количество подсказок
+     * @return названия вещей
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @Override
+    public List<String> autocomplete(String prefix, Integer size) {
+        return itemNameCompletions.complete(prefix, size);
     }
 
     /**
@@ -259,31 +390,26 @@ public class ItemServiceImpl implements ItemService {
     }
 
     /**
-     * вспомогательный метод ассоциации <b>последних</b> запросов на бронирование к вещам из списка<p>
-     * при получении списка вещей по идентификатору пользователем-<b>владельцем</b><p><p>
-     * @param items список вещей пользователя-владельца, к которым ассоциируется последний запрос
-     * @param bookings список запросов на бронирование к вещам пользователя-владельца
+     * вспомогательный метод ассоциации <b>последнего и следующего</b> подтвержденных запросов на бронирование
+     * к вещам из списка<p>
+     * при получении вещей пользователем-<b>владельцем</b>: один запрос к БД, не более двух строк на вещь
+     * (BookingRepository#findLastAndNextByItemIdIn)<p>
+     * @param items список вещей пользователя-владельца, к которым ассоциируются запросы
      * @param moment текущий момент поиска
      */
-    private void setLastBookingsToItems(List<Item> items, List<Booking> bookings, LocalDateTime moment) {
-        Map<Long, Booking> itemIdMapsLastBooking = bookings.stream()
-                .filter(b -> !b.getStart().isAfter(moment))
-                .collect(toMap(b -> b.getItem().getId(), identity(), (o, n) -> o));
-        items.forEach(item -> item.setLastBooking(itemIdMapsLastBooking.get(item.getId())));
-    }
-
-    /**
-     * вспомогательный метод ассоциации <b>следующих</b> запросов на бронирование к вещам из списка<p>
-     * при получении списка вещей по идентификатору пользователем-<b>владельцем</b><p><p>
-     * @param items список вещей пользователя-владельца ассоциируется следующий запрос
-     * @param bookings список запросов на бронирование к вещам пользователя-владельца
-     * @param moment текущий момент поиска
-     */
-    private void setNextBookingsToItems(List<Item> items, List<Booking> bookings, LocalDateTime moment) {
-        Map<Long, Booking> itemIdMapsNextBooking = bookings.stream()
-                .filter(b -> b.getStart().isAfter(moment))
-                .collect(toMap(b -> b.getItem().getId(), identity(), (o, n) -> n));
-        items.forEach(item -> item.setNextBooking(itemIdMapsNextBooking.get(item.getId())));
+    private void setLastAndNextBookingsToItems(List<Item> items, LocalDateTime moment) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<Long, Item> itemIdMapsItem = items.stream().collect(toMap(Item::getId, identity()));
+        for (ItemBookingRow row : bookingStorage.findLastAndNextByItemIdIn(itemIdMapsItem.keySet(), moment)) {
+            Item item = itemIdMapsItem.get(row.getItemId());
+            if (row.getLast()) {
+                item.setLastBooking(row.toBooking());
+            } else {
+                item.setNextBooking(row.toBooking());
+            }
+        }
     }
 
     /**
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * DTO страницы поиска вещей с продолжением (GET /items/search/page) <p>
+ * nextCursor передается в параметре cursor запроса следующей страницы; null - страница последняя
+ */
+@Builder
+@Getter
+@EqualsAndHashCode
+public class ItemSearchPageDto {
+
+    private List<ItemDto> items;
+
+    private String nextCursor;
+}
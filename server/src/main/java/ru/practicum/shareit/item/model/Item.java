@@ -15,7 +15,7 @@ import javax.persistence.*;
  * Model-класс информации о вещи для шаринга <p>
  * ТЗ-13
  */
-@Builder
+@Builder(toBuilder = true)
 @Getter
 @Setter
 @AllArgsConstructor
@@ -41,7 +41,7 @@ public class Item {
 
     private Boolean available;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private ItemRequest request;
 
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * полнотекстовый поиск PostgreSQL: столбец items.search_vector (tsvector) с индексом GIN (schema-postgresql.sql) <p>
+ * столбец вычисляется СУБД из названия и описания при каждой вставке и изменении вещи,
+ * поэтому индекс актуален после addItem и patch без дополнительных действий <p>
+ * каждое слово запроса ищется как префикс с учетом словоформ (конфигурация russian: русские и английские слова),
+ * результаты упорядочены по релевантности (ts_rank, совпадение в названии весомее совпадения в описании)
+ */
+@RequiredArgsConstructor
+public class FullTextItemSearch implements ItemSearch {
+
+    private final ItemRepository itemStorage;
+
+    @Override
+    public List<Item> search(String text, Long from, Integer size) {
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        return itemStorage.searchFullText(query, PageRequest.of((int) (from / size), size));
+    }
+
+    @Override
+    public ItemSearchPage searchAfter(String text, SearchCursor after, int size) {
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return ItemSearchPage.empty();
+        }
+        List<RankedItem> rows = itemStorage.searchFullTextAfter(query,
+                after != null ? after.getRank() : Float.POSITIVE_INFINITY,
+                after != null ? after.getItemId() : 0,
+                size + 1);
+        return ItemSearchPage.of(rows, size, RankedItem::toItem, RankedItem::toCursor);
+    }
+
+    @Override
+    public Stream<Item> stream(String text) {
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return Stream.empty();
+        }
+        return itemStorage.streamFullText(query).map(ItemRow::toItem);
+    }
+
+    /**
+     * запрос to_tsquery: регистр и разделители не влияют на результат
+     */
+    @Override
+    public String normalize(String text) {
+        return toTsQuery(text);
+    }
+
+    /**
+     * каждое слово запроса совпадает с началом слова вещи с точностью до окончания
+     */
+    @Override
+    public Predicate<String> matcher(@Nullable Item item) {
+        return SearchMatchers.wordStems(item);
+    }
+
+    /**
+     * @param text строка запроса
+     * @return запрос to_tsquery: слова (буквы и цифры) запроса как префиксы, объединенные по И
+     * ("аккум дрель" - "аккум:* &amp; дрель:*")
+     */
+    static String toTsQuery(String text) {
+        return SearchTokens.words(text).stream()
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,337 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * поиск по инвертированному индексу в памяти сервера, без запросов к БД <p>
+ * индекс: слово названия или описания - список идентификаторов <b>доступных</b> вещей (LongPostings),
+ * а также копии проиндексированных вещей для ответа <p>
+ * каждое слово запроса ищется как префикс слов вещи, вещь должна содержать все слова запроса;
+ * результаты упорядочены по идентификатору <p>
+ * индекс строится из ItemRepository при запуске и обновляется событиями ItemChangedEvent
+ * после фиксации транзакции (вещь, ставшая недоступной, удаляется из индекса)
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class InvertedIndexItemSearch implements ItemSearch, SmartInitializingSingleton {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final ItemRepository itemStorage;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * слово - идентификаторы вещей; сортировка слов для поиска по префиксу
+     */
+    private final NavigableMap<String, LongPostings> postings = new TreeMap<>();
+
+    /**
+     * идентификатор - копия проиндексированной вещи
+     */
+    private final Map<Long, Item> items = new HashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * построение индекса заново по доступным вещам из БД (порциями по идентификатору) <p>
+     * поиск и обновления ожидают окончания построения
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            items.clear();
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemStorage.findByAvailableTrueAndIdGreaterThanOrderById(lastId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE));
+                batch.forEach(this::put);
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            log.info("item search index rebuilt: {} items, {} words", items.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * обновление индекса после фиксации транзакции, изменившей вещь <p>
+     * выполняется до инвалидации SearchResultCache, чтобы в кэш не попал результат по старому индексу
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (!event.affectsSearch()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            remove(event.getItemId());
+            Item item = event.getAfter();
+            if (item != null && Boolean.TRUE.equals(item.getAvailable())) {
+                put(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> search(String text, Long from, Integer size) {
+        List<String> words = SearchTokens.words(text);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        long offset = from / size * size;
+        lock.readLock().lock();
+        try {
+            long[] ids = matchingIds(words);
+            return offset < ids.length ? itemsOf(ids, (int) offset, size) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * продолжение - двоичный поиск позиции afterId в списке найденных идентификаторов
+     */
+    @Override
+    public ItemSearchPage searchAfter(String text, SearchCursor after, int size) {
+        List<String> words = SearchTokens.words(text);
+        if (words.isEmpty()) {
+            return ItemSearchPage.empty();
+        }
+        lock.readLock().lock();
+        try {
+            long[] ids = matchingIds(words);
+            int start = 0;
+            if (after != null) {
+                int index = Arrays.binarySearch(ids, after.getItemId());
+                start = index >= 0 ? index + 1 : -index - 1;
+            }
+            return ItemSearchPage.of(itemsOf(ids, start, size + 1), size,
+                    Function.identity(), item -> SearchCursor.afterId(item.getId()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * идентификаторы найденных вещей копируются под блокировкой чтения,
+     * вещи выбираются из индекса по мере чтения потока (удаленные к этому моменту пропускаются)
+     */
+    @Override
+    public Stream<Item> stream(String text) {
+        List<String> words = SearchTokens.words(text);
+        if (words.isEmpty()) {
+            return Stream.empty();
+        }
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = matchingIds(words);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Arrays.stream(ids)
+                .mapToObj(this::indexed)
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * слова запроса: регистр и разделители не влияют на результат
+     */
+    @Override
+    public String normalize(String text) {
+        return String.join(" ", SearchTokens.words(text));
+    }
+
+    /**
+     * каждое слово запроса - префикс слова вещи
+     */
+    @Override
+    public Predicate<String> matcher(@Nullable Item item) {
+        return SearchMatchers.wordPrefixes(item);
+    }
+
+    /**
+     * @return количество проиндексированных вещей
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return идентификаторы вещей, содержащих все слова запроса (как префиксы слов), по возрастанию
+     */
+    private long[] matchingIds(List<String> words) {
+        long[] ids = null;
+        for (String word : words) {
+            long[] wordIds = prefixIds(word);
+            ids = ids == null ? wordIds : intersect(ids, wordIds);
+            if (ids.length == 0) {
+                return NO_IDS;
+            }
+        }
+        return ids;
+    }
+
+    @Nullable
+    private Item indexed(long id) {
+        lock.readLock().lock();
+        try {
+            return items.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return вещи с идентификаторами ids[start], ... (не более limit)
+     */
+    private List<Item> itemsOf(long[] ids, int start, int limit) {
+        int end = (int) Math.min(ids.length, (long) start + limit);
+        List<Item> result = new ArrayList<>(Math.max(end - start, 0));
+        for (int i = start; i < end; i++) {
+            result.add(items.get(ids[i]));
+        }
+        return result;
+    }
+
+    private void put(Item item) {
+        Item copy = copyOf(item);
+        items.put(copy.getId(), copy);
+        for (String word : words(copy)) {
+            postings.computeIfAbsent(word, w -> new LongPostings()).add(copy.getId());
+        }
+    }
+
+    private void remove(Long itemId) {
+        Item indexed = items.remove(itemId);
+        if (indexed == null) {
+            return;
+        }
+        for (String word : words(indexed)) {
+            LongPostings wordPostings = postings.get(word);
+            wordPostings.remove(itemId);
+            if (wordPostings.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    /**
+     * @return идентификаторы вещей со словами, начинающимися с prefix, по возрастанию без повторов
+     */
+    private long[] prefixIds(String prefix) {
+        Collection<LongPostings> matched = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .values();
+        int total = 0;
+        for (LongPostings wordPostings : matched) {
+            total += wordPostings.size();
+        }
+        if (total == 0) {
+            return NO_IDS;
+        }
+        long[] ids = new long[total];
+        int offset = 0;
+        for (LongPostings wordPostings : matched) {
+            wordPostings.copyTo(ids, offset);
+            offset += wordPostings.size();
+        }
+        if (total == matched.iterator().next().size()) {
+            return ids;
+        }
+        Arrays.sort(ids);
+        int distinct = 1;
+        for (int i = 1; i < ids.length; i++) {
+            if (ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return distinct == ids.length ? ids : Arrays.copyOf(ids, distinct);
+    }
+
+    /**
+     * @return пересечение отсортированных массивов
+     */
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[k++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return k == result.length ? result : Arrays.copyOf(result, k);
+    }
+
+    private static Collection<String> words(Item item) {
+        LinkedHashSet<String> words = new LinkedHashSet<>(SearchTokens.words(item.getName()));
+        words.addAll(SearchTokens.words(item.getDescription()));
+        return words;
+    }
+
+    /**
+     * копия вещи с полями ItemDto: не зависит от сущности JPA и ее связей
+     */
+    private static Item copyOf(Item item) {
+        ItemRequest request = item.getRequest();
+        return Item.builder()
+                .id(item.getId())
+                .ownerId(item.getOwnerId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .request(request != null ? ItemRequest.builder().id(request.getId()).build() : null)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Objects;
+
+/**
+ * событие изменения вещи (ItemServiceImpl: addItem, patch, deleteById) для обновления индекса
+ * и кэша результатов поиска <p>
+ * обрабатывается после фиксации транзакции (InvertedIndexItemSearch, SearchResultCache)
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ItemChangedEvent {
+
+    private final Long itemId;
+
+    /**
+     * вещь до изменения; null - вещь добавлена
+     */
+    @Nullable
+    private final Item before;
+
+    /**
+     * вещь после изменения; null - вещь удалена
+     */
+    @Nullable
+    private final Item after;
+
+    public static ItemChangedEvent created(Item item) {
+        return new ItemChangedEvent(item.getId(), null, item);
+    }
+
+    /**
+     * @param before копия вещи до изменения (Item#toBuilder)
+     */
+    public static ItemChangedEvent updated(Item before, Item after) {
+        return new ItemChangedEvent(after.getId(), before, after);
+    }
+
+    public static ItemChangedEvent deleted(Item item) {
+        return new ItemChangedEvent(item.getId(), item, null);
+    }
+
+    /**
+     * @return изменились поля, влияющие на поиск: название, описание или доступность
+     */
+    public boolean affectsSearch() {
+        if (before == null || after == null) {
+            return true;
+        }
+        return !Objects.equals(before.getName(), after.getName())
+                || !Objects.equals(before.getDescription(), after.getDescription())
+                || !Objects.equals(before.getAvailable(), after.getAvailable());
+    }
+}
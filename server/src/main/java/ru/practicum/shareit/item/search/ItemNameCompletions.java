@@ -0,0 +1,393 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.config.SearchProperties;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * подсказки названий вещей по началу строки (автодополнение) в памяти сервера, без запросов к БД <p>
+ * сжатое префиксное дерево (radix tree) названий <b>доступных</b> вещей: ребро - подстрока названия,
+ * узел без названия имеет не менее двух потомков. Название приводится к словам SearchTokens через пробел,
+ * для ответа хранится название первой добавленной вещи <p>
+ * каждый узел хранит лучшие maxSize названий своего поддерева (по убыванию количества вещей с названием,
+ * затем по алфавиту): подсказка - спуск по символам префикса и копия готового списка узла без обхода поддерева <p>
+ * дерево строится из ItemRepository при запуске и обновляется событиями ItemChangedEvent после фиксации
+ * транзакции; при изменении пересчитываются списки только узлов на пути к названию
+ */
+@Slf4j
+@Component
+public class ItemNameCompletions implements SmartInitializingSingleton {
+
+    private static final char[] NO_KEYS = new char[0];
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final Name[] NO_NAMES = new Name[0];
+
+    private static final Comparator<Name> BEST_FIRST = Comparator.comparingLong((Name name) -> -name.count)
+            .thenComparing(name -> name.key);
+
+    private final ItemRepository itemStorage;
+
+    private final int maxSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Node root = new Node("");
+
+    private int size;
+
+    @Autowired
+    public ItemNameCompletions(ItemRepository itemStorage, SearchProperties properties) {
+        this(itemStorage, properties.getAutocomplete().getMaxSize());
+    }
+
+    ItemNameCompletions(ItemRepository itemStorage, int maxSize) {
+        this.itemStorage = itemStorage;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * построение дерева заново по названиям доступных вещей из БД <p>
+     * подсказки и обновления ожидают окончания построения
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            root = new Node("");
+            size = 0;
+            for (ItemNameCount name : itemStorage.countAvailableByName()) {
+                String key = key(name.getName());
+                if (!key.isEmpty()) {
+                    insert(key, name.getName().strip(), name.getCount());
+                }
+            }
+            updateTopDown(root);
+            log.info("item name completions rebuilt: {} names", size);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * обновление дерева после фиксации транзакции, изменившей вещь
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (!event.affectsSearch()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Item before = event.getBefore();
+            if (before != null && Boolean.TRUE.equals(before.getAvailable())) {
+                remove(key(before.getName()));
+            }
+            Item after = event.getAfter();
+            if (after != null && Boolean.TRUE.equals(after.getAvailable())) {
+                String key = key(after.getName());
+                if (!key.isEmpty()) {
+                    updateTop(insert(key, after.getName().strip(), 1));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param prefix начало названия (регистр и разделители слов не учитываются)
+     * @param limit наибольшее количество подсказок (не более shareit.search.autocomplete.max-size)
+     * @return названия вещей, начинающиеся с prefix: сначала названия большего количества вещей
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = key(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.child(key.charAt(i));
+                if (child == null) {
+                    return List.of();
+                }
+                int length = Math.min(child.label.length(), key.length() - i);
+                if (!key.regionMatches(i, child.label, 0, length)) {
+                    return List.of();
+                }
+                i += length;
+                node = child;
+            }
+            int count = Math.min(limit, node.top.length);
+            List<String> result = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                result.add(node.top[j].text);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return количество различных названий в дереве
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * добавление count вещей с названием key (списки лучших названий не обновляются)
+     * @return путь от корня к узлу названия
+     */
+    private List<Node> insert(String key, String text, long count) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.indexOf(key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i));
+                node.addChild(-index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, key, i);
+            if (common < child.label.length()) {
+                child = node.split(index, common);
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        if (node.name == null) {
+            node.name = new Name(key, text);
+            size++;
+        }
+        node.name.count += count;
+        return path;
+    }
+
+    /**
+     * удаление одной вещи с названием key: узел без вещей удаляется, узел без названия с одним потомком
+     * объединяется с потомком
+     */
+    private void remove(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            node = node.child(key.charAt(i));
+            if (node == null || !key.startsWith(node.label, i)) {
+                return;
+            }
+            path.add(node);
+            i += node.label.length();
+        }
+        if (node.name == null) {
+            return;
+        }
+        if (--node.name.count > 0) {
+            updateTop(path);
+            return;
+        }
+        node.name = null;
+        size--;
+        int last = path.size() - 1;
+        if (last > 0 && node.children.length == 0) {
+            Node parent = path.get(last - 1);
+            parent.removeChild(node.label.charAt(0));
+            path.remove(last);
+            node = parent;
+            last--;
+        }
+        if (last > 0 && node.name == null && node.children.length == 1) {
+            node.mergeChild();
+        }
+        updateTop(path);
+    }
+
+    /**
+     * пересчет списков лучших названий узлов пути, начиная с последнего
+     */
+    private void updateTop(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            updateTop(path.get(i));
+        }
+    }
+
+    private void updateTopDown(Node node) {
+        for (Node child : node.children) {
+            updateTopDown(child);
+        }
+        updateTop(node);
+    }
+
+    private void updateTop(Node node) {
+        List<Name> candidates = new ArrayList<>();
+        if (node.name != null) {
+            candidates.add(node.name);
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(BEST_FIRST);
+        node.top = candidates.isEmpty()
+                ? NO_NAMES : candidates.subList(0, Math.min(maxSize, candidates.size())).toArray(NO_NAMES);
+    }
+
+    /**
+     * @return слова текста (SearchTokens) через пробел
+     */
+    private static String key(@Nullable String text) {
+        return String.join(" ", SearchTokens.words(text));
+    }
+
+    /**
+     * @return длина общего начала label и key.substring(from)
+     */
+    private static int commonPrefixLength(String label, String key, int from) {
+        int length = Math.min(label.length(), key.length() - from);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * название в дереве: ключ (слова через пробел), название для ответа, количество доступных вещей
+     */
+    private static final class Name {
+
+        private final String key;
+
+        private final String text;
+
+        private long count;
+
+        private Name(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
+
+    /**
+     * узел дерева: потомки упорядочены по первому символу подписи ребра (keys), поиск - двоичный
+     */
+    private static final class Node {
+
+        private String label;
+
+        private char[] keys = NO_KEYS;
+
+        private Node[] children = NO_CHILDREN;
+
+        @Nullable
+        private Name name;
+
+        /**
+         * лучшие названия поддерева, не более maxSize
+         */
+        private Name[] top = NO_NAMES;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return индекс потомка или (-(точка вставки) - 1), как Arrays#binarySearch
+         */
+        private int indexOf(char key) {
+            return Arrays.binarySearch(keys, key);
+        }
+
+        @Nullable
+        private Node child(char key) {
+            int index = indexOf(key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void addChild(int index, Node child) {
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newKeys[index] = child.label.charAt(0);
+            newChildren[index] = child;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private void removeChild(char key) {
+            int index = indexOf(key);
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        /**
+         * разделение ребра к потомку index: новый промежуточный узел с первыми length символами подписи
+         * @return промежуточный узел
+         */
+        private Node split(int index, int length) {
+            Node child = children[index];
+            Node middle = new Node(child.label.substring(0, length));
+            child.label = child.label.substring(length);
+            middle.keys = new char[]{child.label.charAt(0)};
+            middle.children = new Node[]{child};
+            middle.top = child.top;
+            children[index] = middle;
+            return middle;
+        }
+
+        /**
+         * объединение с единственным потомком (узел без названия)
+         */
+        private void mergeChild() {
+            Node child = children[0];
+            label = label + child.label;
+            keys = child.keys;
+            children = child.children;
+            name = child.name;
+            top = child.top;
+        }
+    }
+}
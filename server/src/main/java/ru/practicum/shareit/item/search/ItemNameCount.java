@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * название и количество доступных вещей с этим названием (проекция запроса ItemRepository)
+ */
+public interface ItemNameCount {
+
+    String getName();
+
+    Long getCount();
+}
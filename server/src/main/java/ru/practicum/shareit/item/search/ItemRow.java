@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+/**
+ * строка вещи (проекция нативных запросов ItemRepository): поля ItemDto без загрузки сущности Item
+ * и связанного запроса в контекст персистентности
+ */
+public interface ItemRow {
+
+    Long getId();
+
+    Long getOwnerId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+
+    default Item toItem() {
+        return Item.builder()
+                .id(getId())
+                .ownerId(getOwnerId())
+                .name(getName())
+                .description(getDescription())
+                .available(getAvailable())
+                .request(getRequestId() != null ? ItemRequest.builder().id(getRequestId()).build() : null)
+                .build();
+    }
+}
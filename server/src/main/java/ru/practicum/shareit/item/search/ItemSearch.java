@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * поиск <b>доступных</b> вещей по тексту в названии или описании <p>
+ * реализация выбирается свойством shareit.search.mode (SearchConfig)
+ */
+public interface ItemSearch {
+
+    /**
+     * @param text строка запроса (не пустая)
+     * @param from индекс первого элемента (нумерация начинается с 0)
+     * @param size количество элементов для отображения
+     * @return список вещей
+     */
+    List<Item> search(String text, Long from, Integer size);
+
+    /**
+     * поиск с продолжением (keyset): страница вещей, следующих за позицией after в порядке выдачи <p>
+     * вещи отбираются условием на ключ порядка (релевантность, идентификатор) вместо OFFSET,
+     * поэтому стоимость запроса не зависит от номера страницы
+     * @param text строка запроса (не пустая)
+     * @param after позиция из предыдущей страницы; null - первая страница
+     * @param size количество элементов для отображения
+     * @return страница вещей и позиция следующей страницы
+     */
+    ItemSearchPage searchAfter(String text, @Nullable SearchCursor after, int size);
+
+    /**
+     * все найденные вещи в порядке выдачи search для выгрузки без постраничного вывода <p>
+     * вещи читаются из БД курсором по мере потребления потока, поэтому поток читается
+     * в транзакции (только чтение) и закрывается после чтения
+     * @param text строка запроса (не пустая)
+     * @return поток вещей
+     */
+    Stream<Item> stream(String text);
+
+    /**
+     * приведение строки запроса к виду, не меняющему результат поиска (ключ кэша SearchResultCache) <p>
+     * по умолчанию строка не меняется
+     * @param text строка запроса (не пустая)
+     * @return строка запроса, дающая тот же результат, что и text
+     */
+    default String normalize(String text) {
+        return text;
+    }
+
+    /**
+     * проверка с запасом для инвалидации кэша SearchResultCache: может ли вещь соответствовать запросу <p>
+     * по умолчанию - вещь доступна, название или описание содержит строку запроса без учета регистра (LIKE)
+     * @param item вещь до или после изменения (null - вещь отсутствует)
+     * @return проверка строки запроса, приведенной normalize: false - вещь не может быть найдена по запросу
+     */
+    default Predicate<String> matcher(@Nullable Item item) {
+        return SearchMatchers.substring(item);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * страница поиска с продолжением (ItemSearch#searchAfter)
+ */
+@Getter
+@RequiredArgsConstructor
+public class ItemSearchPage {
+
+    private static final ItemSearchPage EMPTY = new ItemSearchPage(List.of(), null);
+
+    private final List<Item> items;
+
+    /**
+     * позиция для запроса следующей страницы; null - страница последняя
+     */
+    @Nullable
+    private final SearchCursor next;
+
+    public static ItemSearchPage empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param rows строки результата, запрошенные в количестве size + 1 (лишняя строка - признак следующей страницы)
+     * @param size размер страницы
+     * @param toItem вещь строки
+     * @param toCursor позиция продолжения после строки
+     */
+    public static <T> ItemSearchPage of(List<T> rows, int size, Function<T, Item> toItem,
+                                        Function<T, SearchCursor> toCursor) {
+        boolean hasNext = rows.size() > size;
+        List<T> page = hasNext ? rows.subList(0, size) : rows;
+        return new ItemSearchPage(page.stream().map(toItem).collect(Collectors.toList()),
+                hasNext ? toCursor.apply(page.get(size - 1)) : null);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * поиск подстроки без учета регистра (LIKE %text%) в названии и описании <p>
+ * индекс не используется: каждый запрос просматривает таблицу items целиком
+ */
+@RequiredArgsConstructor
+public class LikeItemSearch implements ItemSearch {
+
+    private final ItemRepository itemStorage;
+
+    /**
+     * поиск подстроки в названии или описании по порядку идентификаторов со смещением: тот же запрос
+     * ItemRepository#searchAfterId с начала (afterId = 0), что и у searchAfter и stream
+     */
+    @Override
+    public List<Item> search(String text, Long from, Integer size) {
+        return itemStorage.searchAfterId(SearchTokens.likePattern(text), 0,
+                PageRequest.of((int) (from / size), size));
+    }
+
+    /**
+     * поиск подстроки в названии или описании по порядку идентификаторов: продолжение - условие id &gt; afterId
+     * по первичному ключу (запрос ItemRepository#searchAfterId)
+     */
+    @Override
+    public ItemSearchPage searchAfter(String text, SearchCursor after, int size) {
+        long afterId = after != null ? after.getItemId() : 0;
+        List<Item> rows = itemStorage.searchAfterId(SearchTokens.likePattern(text), afterId,
+                PageRequest.of(0, size + 1));
+        return ItemSearchPage.of(rows, size, Function.identity(), item -> SearchCursor.afterId(item.getId()));
+    }
+
+    /**
+     * поиск подстроки в названии или описании по порядку идентификаторов (как searchAfter)
+     */
+    @Override
+    public Stream<Item> stream(String text) {
+        return itemStorage.streamSearch(SearchTokens.likePattern(text)).map(ItemRow::toItem);
+    }
+}
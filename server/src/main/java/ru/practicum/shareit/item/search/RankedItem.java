@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * строка результата поиска с релевантностью (проекция нативных запросов ItemRepository)
+ */
+public interface RankedItem extends ItemRow {
+
+    Float getRank();
+
+    default SearchCursor toCursor() {
+        return new SearchCursor(getRank(), getId());
+    }
+}
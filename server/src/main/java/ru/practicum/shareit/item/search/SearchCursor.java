@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * позиция продолжения поиска (keyset): релевантность и идентификатор последней вещи страницы <p>
+ * следующая страница - вещи после этой позиции в порядке выдачи (релевантность по убыванию, идентификатор по возрастанию),
+ * отбираются условием на ключ вместо OFFSET <p>
+ * клиенту передается непрозрачной строкой (Base64 URL без выравнивания)
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor
+public class SearchCursor {
+
+    private static final int ENCODED_BYTES = Float.BYTES + Long.BYTES;
+
+    /**
+     * релевантность последней вещи (0 для способов поиска без упорядочивания по релевантности)
+     */
+    private final float rank;
+
+    /**
+     * идентификатор последней вещи
+     */
+    private final long itemId;
+
+    /**
+     * @param itemId идентификатор последней вещи страницы поиска, упорядоченного по идентификатору
+     */
+    public static SearchCursor afterId(long itemId) {
+        return new SearchCursor(0f, itemId);
+    }
+
+    public String encode() {
+        byte[] bytes = ByteBuffer.allocate(ENCODED_BYTES).putFloat(rank).putLong(itemId).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @param cursor строка, полученная в ответе на предыдущий запрос поиска
+     * @throws BadRequestException строка не является позицией поиска
+     */
+    public static SearchCursor decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Malformed search cursor");
+        }
+        if (bytes.length != ENCODED_BYTES) {
+            throw new BadRequestException("Malformed search cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        float rank = buffer.getFloat();
+        long itemId = buffer.getLong();
+        if (Float.isNaN(rank) || itemId < 0) {
+            throw new BadRequestException("Malformed search cursor");
+        }
+        return new SearchCursor(rank, itemId);
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * проверки с запасом для ItemSearch#matcher: может ли вещь соответствовать строке запроса,
+ * приведенной ItemSearch#normalize <p>
+ * недоступная или отсутствующая вещь не соответствует ни одному запросу
+ */
+final class SearchMatchers {
+
+    /**
+     * минимальная длина основы слова (FULL_TEXT, конфигурация russian): окончания отбрасываются после первой
+     * гласной (russian_stem) или заменяется последняя буква основы (english_stem: y - i)
+     */
+    private static final int STEM_PREFIX = 2;
+
+    private static final Predicate<String> NONE = text -> false;
+
+    private SearchMatchers() {
+    }
+
+    /**
+     * LIKE: название или описание содержит строку запроса без учета регистра
+     */
+    static Predicate<String> substring(@Nullable Item item) {
+        if (!isAvailable(item)) {
+            return NONE;
+        }
+        String name = lowerCase(item.getName());
+        String description = lowerCase(item.getDescription());
+        return text -> {
+            String query = text.toLowerCase(Locale.ROOT);
+            return name.contains(query) || description.contains(query);
+        };
+    }
+
+    /**
+     * INDEX: каждое слово запроса - префикс слова названия или описания
+     */
+    static Predicate<String> wordPrefixes(@Nullable Item item) {
+        return words(item, Integer.MAX_VALUE);
+    }
+
+    /**
+     * FULL_TEXT: каждое слово запроса имеет общее начало со словом вещи не короче основы слова
+     * (основа запроса - префикс основы слова вещи, обе основы - начала слов не короче STEM_PREFIX)
+     */
+    static Predicate<String> wordStems(@Nullable Item item) {
+        return words(item, STEM_PREFIX);
+    }
+
+    /**
+     * TRIGRAM: строка запроса - подстрока (как LIKE) либо у слов запроса и вещи есть общая триграмма
+     * (pg_trgm: слово дополняется двумя пробелами в начале и одним в конце); word_similarity не ниже порога
+     * невозможна без общих триграмм
+     */
+    static Predicate<String> trigrams(@Nullable Item item) {
+        if (!isAvailable(item)) {
+            return NONE;
+        }
+        Predicate<String> substring = substring(item);
+        Set<String> trigrams = new HashSet<>(trigramsOf(item.getName()));
+        trigrams.addAll(trigramsOf(item.getDescription()));
+        return text -> substring.test(text) || trigramsOf(text).stream().anyMatch(trigrams::contains);
+    }
+
+    private static Predicate<String> words(@Nullable Item item, int minPrefix) {
+        if (!isAvailable(item)) {
+            return NONE;
+        }
+        Set<String> words = new LinkedHashSet<>(SearchTokens.words(item.getName()));
+        words.addAll(SearchTokens.words(item.getDescription()));
+        return text -> {
+            List<String> queryWords = SearchTokens.words(text);
+            return !queryWords.isEmpty() && queryWords.stream().allMatch(query -> words.stream()
+                    .anyMatch(word -> commonPrefix(query, word) >= Math.min(query.length(), minPrefix)));
+        };
+    }
+
+    private static int commonPrefix(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        int i = 0;
+        while (i < length && first.charAt(i) == second.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> result = new HashSet<>();
+        for (String word : SearchTokens.words(text)) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(padded.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isAvailable(@Nullable Item item) {
+        return item != null && Boolean.TRUE.equals(item.getAvailable());
+    }
+
+    private static String lowerCase(@Nullable String text) {
+        return text != null ? text.toLowerCase(Locale.ROOT) : "";
+    }
+}
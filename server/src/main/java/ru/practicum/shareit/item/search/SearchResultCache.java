@@ -0,0 +1,159 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.config.SearchProperties;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * ограниченный по размеру кэш страниц результатов поиска вещей (ItemServiceImpl: search, searchPage) <p>
+ * ключ - строка запроса, приведенная ItemSearch#normalize, и описание страницы; вытеснение - W-TinyLFU (Caffeine):
+ * редкие запросы не вытесняют популярные <p>
+ * после фиксации изменения вещи (ItemChangedEvent) удаляются только страницы запросов, которым могла
+ * соответствовать вещь до или после изменения при текущем способе поиска (ItemSearch#matcher);
+ * изменения полей, не влияющих на поиск, кэш не затрагивают. Инвалидация и заполнение кэша не блокируют друг друга.
+ * срок хранения shareit.search.cache.ttl ограничивает устаревание при изменениях в обход ItemService <p>
+ * метрики: shareit.server.search.cache.requests (result = hit / miss), shareit.server.search.cache.hit.ratio,
+ * shareit.server.search.cache.size, shareit.server.search.cache.evictions, shareit.server.search.cache.invalidations
+ */
+@Slf4j
+@Component
+public class SearchResultCache {
+
+    private static final String METER_PREFIX = "shareit.server.search.cache.";
+
+    private final ItemSearch itemSearch;
+
+    /**
+     * null - кэш выключен (shareit.search.cache.enabled = false)
+     */
+    @Nullable
+    private final Cache<Key, Object> cache;
+
+    /**
+     * номер поколения кэша, увеличивается при каждой инвалидации: результат поиска, начатого до инвалидации,
+     * в кэш не помещается
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    @Nullable
+    private final Counter invalidations;
+
+    @Autowired
+    public SearchResultCache(SearchProperties properties, ItemSearch itemSearch, MeterRegistry registry) {
+        this(properties.getCache(), itemSearch, registry, Ticker.systemTicker());
+    }
+
+    SearchResultCache(SearchProperties.Cache properties, ItemSearch itemSearch, MeterRegistry registry,
+                      Ticker ticker) {
+        this.itemSearch = itemSearch;
+        if (!properties.isEnabled()) {
+            log.info("item search cache is disabled");
+            this.cache = null;
+            this.invalidations = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        FunctionCounter.builder(METER_PREFIX + "requests", cache, c -> c.stats().hitCount())
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder(METER_PREFIX + "requests", cache, c -> c.stats().missCount())
+                .tag("result", "miss").register(registry);
+        Gauge.builder(METER_PREFIX + "hit.ratio", cache, c -> c.stats().hitRate()).register(registry);
+        Gauge.builder(METER_PREFIX + "size", cache, Cache::estimatedSize).register(registry);
+        FunctionCounter.builder(METER_PREFIX + "evictions", cache, c -> c.stats().evictionCount())
+                .register(registry);
+        this.invalidations = Counter.builder(METER_PREFIX + "invalidations").register(registry);
+    }
+
+    /**
+     * @param text строка запроса (не пустая)
+     * @param page описание страницы, от которого зависит результат (смещение и размер, продолжение и размер)
+     * @param loader поиск при отсутствии страницы в кэше
+     * @return страница из кэша или результат loader
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String text, String page, Supplier<T> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        Key key = new Key(itemSearch.normalize(text), page);
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        long loadGeneration = generation.get();
+        T result = loader.get();
+        put(key, result, loadGeneration);
+        return result;
+    }
+
+    /**
+     * удаление страниц запросов, которым вещь могла соответствовать до или после изменения
+     * (проверка способа поиска ItemSearch#matcher) <p>
+     * поколение увеличивается до просмотра ключей: страница, загруженная до изменения и помещенная в кэш
+     * после просмотра, удаляется при проверке поколения в put
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (cache == null || !event.affectsSearch()) {
+            return;
+        }
+        generation.incrementAndGet();
+        Predicate<String> before = itemSearch.matcher(event.getBefore());
+        Predicate<String> after = itemSearch.matcher(event.getAfter());
+        List<Key> stale = cache.asMap().keySet().stream()
+                .filter(key -> before.test(key.getText()) || after.test(key.getText()))
+                .collect(Collectors.toList());
+        cache.invalidateAll(stale);
+        invalidations.increment(stale.size());
+        log.info("item {} changed: {} search result pages invalidated", event.getItemId(), stale.size());
+    }
+
+    /**
+     * удаление всех страниц (изменение вещей в обход ItemService)
+     */
+    public void clear() {
+        if (cache == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void put(Key key, Object result, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        cache.put(key, result);
+        if (generation.get() != loadGeneration) {
+            cache.invalidate(key);
+        }
+    }
+
+    @Value
+    private static class Key {
+        String text;
+        String page;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * разбиение текста на слова для поиска вещей: последовательности букв и цифр в нижнем регистре <p>
+ * шаблон LIKE для поиска подстроки
+ */
+final class SearchTokens {
+
+    private static final String SEPARATORS = "[^\\p{L}\\p{N}]+";
+
+    private SearchTokens() {
+    }
+
+    /**
+     * @param text название, описание вещи или строка запроса (может быть null)
+     * @return слова текста в порядке следования (" АккУм, DRILL! " - [аккум, drill])
+     */
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split(SEPARATORS))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param text строка запроса
+     * @return шаблон LIKE для поиска подстроки: символы шаблона (%, _) и символ экранирования (\) экранируются
+     */
+    static String likePattern(String text) {
+        return "%" + text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * поиск по триграммам PostgreSQL (расширение pg_trgm): индексы GIN gin_trgm_ops по названию и описанию
+ * (schema-postgresql.sql) <p>
+ * вещь найдена, если название или описание содержит строку запроса без учета регистра (как LikeItemSearch)
+ * или содержит слово, похожее на запрос (word_similarity не ниже pg_trgm.word_similarity_threshold, 0.6) -
+ * допускаются опечатки-замены и пропуски букв ("дрелб", "акумуляторная" - "Аккумуляторная дрель") <p>
+ * обе проверки используют индексы, результаты упорядочены по убыванию сходства
+ */
+@RequiredArgsConstructor
+public class TrigramItemSearch implements ItemSearch {
+
+    private final ItemRepository itemStorage;
+
+    @Override
+    public List<Item> search(String text, Long from, Integer size) {
+        return itemStorage.searchTrigram(text, SearchTokens.likePattern(text),
+                PageRequest.of((int) (from / size), size));
+    }
+
+    @Override
+    public ItemSearchPage searchAfter(String text, SearchCursor after, int size) {
+        List<RankedItem> rows = itemStorage.searchTrigramAfter(text, SearchTokens.likePattern(text),
+                after != null ? after.getRank() : Float.POSITIVE_INFINITY,
+                after != null ? after.getItemId() : 0,
+                size + 1);
+        return ItemSearchPage.of(rows, size, RankedItem::toItem, RankedItem::toCursor);
+    }
+
+    @Override
+    public Stream<Item> stream(String text) {
+        return itemStorage.streamTrigram(text, SearchTokens.likePattern(text)).map(ItemRow::toItem);
+    }
+
+    /**
+     * ILIKE и word_similarity не учитывают регистр
+     */
+    @Override
+    public String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * подстрока или общая триграмма слов запроса и вещи
+     */
+    @Override
+    public Predicate<String> matcher(@Nullable Item item) {
+        return SearchMatchers.trigrams(item);
+    }
+}
@@ -30,7 +30,7 @@ public class ItemRequest {
     /**
      * запросивший пользователь - существующий в ShareIt
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_id")
     private User requester;
 
@@ -0,0 +1,14 @@
+-- full-text item search (shareit.search.mode=full-text):
+-- the vector is recomputed by PostgreSQL on every INSERT/UPDATE of name or description
+ALTER TABLE items ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', name), 'A') || setweight(to_tsvector('russian', description), 'B')
+) STORED;
+
+CREATE INDEX items_search_vector_idx ON items USING GIN (search_vector);
+
+-- trigram item search (shareit.search.mode=trigram): substring (ILIKE) and word similarity (<%) use the indexes
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX items_name_trgm_idx ON items USING GIN (name gin_trgm_ops);
+
+CREATE INDEX items_description_trgm_idx ON items USING GIN (description gin_trgm_ops);
@@ -28,12 +28,36 @@ CREATE TABLE bookings (
     end_date TIMESTAMP (3) WITHOUT TIME ZONE,
     item_id BIGINT NOT NULL,
     booker_id BIGINT NOT NULL,
+    -- items.owner_id of item_id, copied on insert: owner-side queries do not join items
+    owner_id BIGINT NOT NULL,
     status varchar(16) NOT NULL,
   CONSTRAINT fk_bookings_to_items FOREIGN KEY(item_id) REFERENCES items(id),
   CONSTRAINT fk_bookings_to_users FOREIGN KEY(booker_id) REFERENCES users(id),
+  CONSTRAINT fk_bookings_to_owners FOREIGN KEY(owner_id) REFERENCES users(id),
   CONSTRAINT booking_start_end CHECK (start_date < end_date)
 );
 
+-- indexes for the BookingRepository access patterns (checked by EXPLAIN in BookingRepositoryTest):
+-- the leading columns are the equality filters, then the range condition and sort order;
+-- the trailing id completes the keyset position (time, id) of the /page lists
+-- items of an owner (GET /items, export)
+CREATE INDEX items_owner_id_idx ON items (owner_id, id);
+
+-- booker: ALL, FUTURE (start_date > now), CURRENT
+CREATE INDEX bookings_booker_start_idx ON bookings (booker_id, start_date DESC, id DESC);
+-- booker: PAST (end_date < now, newest end first), CURRENT page
+CREATE INDEX bookings_booker_end_idx ON bookings (booker_id, end_date DESC, id DESC);
+-- booker: WAITING, REJECTED
+CREATE INDEX bookings_booker_status_start_idx ON bookings (booker_id, status, start_date DESC, id DESC);
+-- item: last and next APPROVED booking, comment check (booker and item, APPROVED, ended)
+CREATE INDEX bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+-- owner: ALL, FUTURE, CURRENT
+CREATE INDEX bookings_owner_start_idx ON bookings (owner_id, start_date DESC, id DESC);
+-- owner: PAST, CURRENT page
+CREATE INDEX bookings_owner_end_idx ON bookings (owner_id, end_date DESC, id DESC);
+-- owner: WAITING, REJECTED
+CREATE INDEX bookings_owner_status_start_idx ON bookings (owner_id, status, start_date DESC, id DESC);
+
 CREATE TABLE comments (
     id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
     item_id BIGINT NOT NULL,
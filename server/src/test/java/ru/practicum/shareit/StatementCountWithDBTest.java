@@ -0,0 +1,227 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.search.SearchResultCache;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestReplyDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * точное число SQL-запросов методов сервисов (StatementCounter): связи @ManyToOne загружаются лениво,
+ * и методы, которым они нужны, загружают их тем же запросом (@EntityGraph) - лишний запрос ленивой
+ * загрузки связи меняет число запросов <p>
+ * у вещей владельца запросы разных пользователей, у бронирований и комментариев - разные авторы
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class StatementCountWithDBTest {
+
+    private final BookingService bookingService;
+
+    private final ItemService itemService;
+
+    private final ItemRequestService requestService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SearchResultCache searchResultCache;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private StatementCounter counter;
+
+    private long ownerId;
+
+    private long bookerId;
+
+    private long requesterId;
+
+    private long drillRequestId;
+
+    private long drillId;
+
+    private long sawId;
+
+    private long ladderId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+        searchResultCache.clear();
+        counter = new StatementCounter(entityManagerFactory);
+        ownerId = insert("users", Map.of("name", "owner", "email", "owner@host.dom"));
+        bookerId = insert("users", Map.of("name", "booker", "email", "booker@host.dom"));
+        requesterId = insert("users", Map.of("name", "requester", "email", "requester@host.dom"));
+        long otherId = insert("users", Map.of("name", "other", "email", "other@host.dom"));
+        drillRequestId = insertRequest(requesterId, "Нужна дрель");
+        long sawRequestId = insertRequest(otherId, "Нужна пила");
+        drillId = insertItem("Дрель", drillRequestId);
+        sawId = insertItem("Пила", sawRequestId);
+        ladderId = insertItem("Лестница", null);
+        insertBooking(drillId, bookerId, now.minusDays(3), BookingStatus.APPROVED);
+        insertBooking(sawId, otherId, now.minusDays(2), BookingStatus.APPROVED);
+        insertBooking(drillId, requesterId, now.plusDays(2), BookingStatus.APPROVED);
+        insertComment(drillId, requesterId, "Отличная дрель");
+        insertComment(sawId, otherId, "Острая пила");
+    }
+
+    @Test
+    void bookingService_whenEveryMethod_thenExactStatements() {
+        //when, then: пользователь, вещь, добавление бронирования
+        BookingResponseDto created = counter.assertStatements(3, () -> bookingService.addBooking(bookerId,
+                BookingDto.builder().start(now.plusDays(5)).end(now.plusDays(6)).itemId(drillId).build()));
+        assertEquals("Дрель", created.getItem().getName());
+        assertEquals("booker", created.getBooker().getName());
+        long bookingId = created.getId();
+
+        //when, then: бронирование с вещью и автором бронирования
+        BookingResponseDto booking = counter.assertStatements(1,
+                () -> bookingService.getByRelatedUserId(ownerId, bookingId));
+        assertEquals("booker", booking.getBooker().getName());
+        assertEquals("Дрель", booking.getItem().getName());
+
+        //when, then: бронирование с вещью и автором бронирования, изменение статуса
+        BookingResponseDto approved = counter.assertStatements(2,
+                () -> bookingService.approve(ownerId, bookingId, true));
+        assertEquals(BookingStatus.APPROVED, approved.getStatus());
+
+        //when, then: проверка пользователя, строки списка
+        assertEquals(4, counter.assertStatements(2,
+                () -> bookingService.getListByOwner(ownerId, BookingStatus.ALL, 0L, 10)).size());
+        assertEquals(2, counter.assertStatements(2,
+                () -> bookingService.getListByBooker(bookerId, BookingStatus.ALL, 0L, 10)).size());
+        assertEquals(4, counter.assertStatements(2,
+                () -> bookingService.getPageByOwner(ownerId, BookingStatus.ALL, null, 10)).getBookings().size());
+        assertEquals(2, counter.assertStatements(2,
+                () -> bookingService.getPageByBooker(bookerId, BookingStatus.ALL, null, 10)).getBookings().size());
+
+        //when, then: бронирование, удаление
+        counter.assertStatements(2, () -> bookingService.deleteById(bookerId, bookingId));
+    }
+
+    @Test
+    void itemService_whenEveryMethod_thenExactStatements() {
+        //when, then: пользователь, запрос на вещь, добавление вещи
+        ItemDto added = counter.assertStatements(3, () -> itemService.addItem(ownerId, ItemDto.builder()
+                .name("Дрель аккумуляторная").description("Дрель-шуруповерт").available(true)
+                .requestId(drillRequestId).build()));
+        assertEquals(drillRequestId, added.getRequestId());
+
+        //when, then: вещь, изменение
+        ItemDto patched = counter.assertStatements(2, () -> itemService.patch(ownerId, added.getId(),
+                ItemDto.builder().description("Дрель-шуруповерт с двумя аккумуляторами").build()));
+        assertEquals(drillRequestId, patched.getRequestId());
+
+        //when, then: вещь с комментариями, последнее и следующее бронирования
+        ItemResponseDto drill = counter.assertStatements(2, () -> itemService.getByOwnerById(ownerId, drillId));
+        assertEquals(drillRequestId, drill.getRequestId());
+
+        //when, then: вещи, бронирования, комментарии с авторами
+        List<ItemResponseDto> items = counter.assertStatements(3,
+                () -> itemService.getByOwnerByIds(ownerId, List.of(drillId, sawId, ladderId)));
+        assertEquals("requester", items.get(0).getComments().get(0).getAuthorName());
+        assertEquals("other", items.get(1).getComments().get(0).getAuthorName());
+        assertEquals(drillRequestId, items.get(0).getRequestId());
+
+        //when, then: вещи, комментарии с авторами, бронирования
+        List<ItemResponseDto> owned = counter.assertStatements(3,
+                () -> itemService.getAllByUserId(0L, 10, ownerId));
+        assertEquals(4, owned.size());
+        assertEquals("other", owned.get(1).getComments().get(0).getAuthorName());
+
+        //when, then: бронирование с автором, добавление комментария
+        CommentResponseDto comment = counter.assertStatements(2,
+                () -> itemService.addComment(bookerId, drillId, new CommentDto("Мощная дрель")));
+        assertEquals("booker", comment.getAuthorName());
+
+        //when, then: поиск
+        assertEquals(2, counter.assertStatements(1, () -> itemService.search("дрель", 0L, 10)).size());
+    }
+
+    @Test
+    void itemRequestService_whenEveryMethod_thenExactStatements() {
+        //when, then: пользователь, добавление запроса
+        ItemRequestReplyDto added = counter.assertStatements(2, () -> requestService.addRequest(requesterId,
+                ItemRequestDto.builder().description("Нужна лестница").build()));
+        assertEquals("Нужна лестница", added.getDescription());
+
+        //when, then: пользователь, запросы, вещи по запросам
+        List<ItemRequestReplyDto> own = counter.assertStatements(3,
+                () -> requestService.getRequestsByUserId(requesterId));
+        assertEquals(2, own.size());
+        assertEquals(drillId, own.get(0).getItems().get(0).getId());
+
+        //when, then: запросы других пользователей, вещи по запросам
+        List<ItemRequestReplyDto> others = counter.assertStatements(2,
+                () -> requestService.getAllRequestsByAnotherUsers(0L, 10, ownerId));
+        assertEquals(3, others.size());
+
+        //when, then: пользователь, запрос, вещи по запросу
+        ItemRequestReplyDto request = counter.assertStatements(3,
+                () -> requestService.getRequestById(drillRequestId, ownerId));
+        assertEquals(drillId, request.getItems().get(0).getId());
+    }
+
+    private long insertRequest(long userId, String description) {
+        return insert("requests", Map.of("description", description, "requester_id", userId,
+                "created", now.minusDays(10)));
+    }
+
+    private long insertItem(String name, Long requestId) {
+        Map<String, Object> values = new HashMap<>(Map.of("owner_id", ownerId, "name", name,
+                "description", "Описание", "available", true));
+        if (requestId != null) {
+            values.put("request_id", requestId);
+        }
+        return insert("items", values);
+    }
+
+    private void insertBooking(long itemId, long userId, LocalDateTime start, BookingStatus status) {
+        insert("bookings", Map.of("item_id", itemId, "booker_id", userId, "owner_id", ownerId,
+                "start_date", start, "end_date", start.plusHours(1), "status", status.name()));
+    }
+
+    private void insertComment(long itemId, long authorId, String text) {
+        insert("comments", Map.of("item_id", itemId, "author_id", authorId, "text", text, "created", now));
+    }
+
+    private long insert(String table, Map<String, ?> values) {
+        return new SimpleJdbcInsert(jdbcTemplate)
+                .withTableName(table)
+                .usingColumns(values.keySet().toArray(String[]::new))
+                .usingGeneratedKeyColumns("id")
+                .executeAndReturnKey(values)
+                .longValue();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * счетчик SQL-запросов Hibernate в тестах: число подготовленных запросов (PreparedStatement), выполненных
+ * при вызове метода сервиса, включая запросы ленивой загрузки связей и изменения при завершении транзакции <p>
+ * требует статистики Hibernate: свойство spring.jpa.properties.hibernate.generate_statistics=true теста
+ */
+public class StatementCounter {
+
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * вызов с проверкой числа выполненных запросов
+     * @param expected ожидаемое число SQL-запросов
+     * @param call вызов метода сервиса
+     * @return результат вызова
+     */
+    public <T> T assertStatements(long expected, Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "SQL statements");
+        return result;
+    }
+}
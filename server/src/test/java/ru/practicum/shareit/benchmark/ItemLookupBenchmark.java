@@ -0,0 +1,193 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.CommentDtoMapper;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemResponseDtoMapper;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * получение вещи владельцем (GET /items/{id}): прежний путь через сущности (вещь, последнее и следующее бронирования
+ * отдельными запросами LAST_BOOKING и NEXT_BOOKING - как удаленные из BookingRepository
+ * findFirst1ByItemIdAndStart..., комментарии с авторами findByItem_Id) и ItemService#getByOwnerById
+ * через проекции (не более двух запросов) <p>
+ * сервер запускается без веб-слоя с профилем profile: test - H2 в памяти, default - PostgreSQL из
+ * application.properties (схема пересоздается); у вещи bookings подтвержденных бронирований
+ * разных пользователей, половина в прошлом, и comments комментариев разных авторов <p>
+ * запуск: mvn -pl server test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main ItemLookupBenchmark"
+ * (PostgreSQL: "-Dexec.args=... ItemLookupBenchmark -p profile=default")
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemLookupBenchmark {
+
+    private static final int USERS = 50;
+
+    /**
+     * последнее подтвержденное бронирование вещи (прежний запрос
+     * findFirst1ByItemIdAndStartLessThanEqualAndStatusOrderByStartDesc)
+     */
+    private static final String LAST_BOOKING = "SELECT b FROM Booking b "
+            + "WHERE b.item.id = :itemId AND b.start <= :moment AND b.status = :status ORDER BY b.start DESC";
+
+    /**
+     * следующее подтвержденное бронирование вещи (прежний запрос
+     * findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc)
+     */
+    private static final String NEXT_BOOKING = "SELECT b FROM Booking b "
+            + "WHERE b.item.id = :itemId AND b.start >= :moment AND b.status = :status ORDER BY b.start";
+
+    @Param({"test"})
+    public String profile;
+
+    @Param({"10", "1000"})
+    public int bookings;
+
+    @Param({"1", "20"})
+    public int comments;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemService itemService;
+
+    private ItemRepository itemStorage;
+
+    private EntityManager entityManager;
+
+    private CommentRepository commentStorage;
+
+    private ItemResponseDtoMapper itemResponseMapper;
+
+    private CommentDtoMapper commentMapper;
+
+    private TransactionTemplate readOnly;
+
+    private long ownerId;
+
+    private long itemId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .run("--logging.level.root=WARN");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"user" + i, "user" + i + "@host.dom"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        ownerId = userIds.get(0);
+        jdbcTemplate.update("INSERT INTO items (owner_id, name, description, available) "
+                + "VALUES (?, 'Дрель', 'Дрель ударная', TRUE)", ownerId);
+        itemId = jdbcTemplate.queryForObject("SELECT id FROM items", Long.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookingRows = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            LocalDateTime start = now.plusHours(2L * (i - bookings / 2) + 1);
+            bookingRows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)), itemId,
+                    userIds.get(1 + i % (USERS - 1)), ownerId, BookingStatus.APPROVED.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", bookingRows);
+        List<Object[]> commentRows = new ArrayList<>(comments);
+        for (int i = 0; i < comments; i++) {
+            commentRows.add(new Object[]{itemId, userIds.get(1 + i % (USERS - 1)), "Комментарий " + i,
+                    Timestamp.valueOf(now.minusDays(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO comments (item_id, author_id, text, created) VALUES (?, ?, ?, ?)",
+                commentRows);
+        itemService = context.getBean(ItemService.class);
+        itemStorage = context.getBean(ItemRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        commentStorage = context.getBean(CommentRepository.class);
+        itemResponseMapper = context.getBean(ItemResponseDtoMapper.class);
+        commentMapper = context.getBean(CommentDtoMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        ItemResponseDto byEntities = entities();
+        ItemResponseDto byProjections = projections();
+        System.out.printf("%n%d bookings, %d comments: last %d/%d, next %d/%d, comments %d/%d%n", bookings, comments,
+                byEntities.getLastBooking().getId(), byProjections.getLastBooking().getId(),
+                byEntities.getNextBooking().getId(), byProjections.getNextBooking().getId(),
+                byEntities.getComments().size(), byProjections.getComments().size());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemResponseDto entities() {
+        return readOnly.execute(status -> {
+            Item item = itemStorage.findById(itemId).orElseThrow();
+            LocalDateTime moment = LocalDateTime.now();
+            item.setLastBooking(findFirstBooking(LAST_BOOKING, moment));
+            item.setNextBooking(findFirstBooking(NEXT_BOOKING, moment));
+            ItemResponseDto itemDto = itemResponseMapper.toDto(item);
+            itemDto.setComments(commentStorage.findByItem_Id(itemId).stream()
+                    .map(commentMapper::toNestedDto)
+                    .collect(Collectors.toList()));
+            return itemDto;
+        });
+    }
+
+    @Benchmark
+    public ItemResponseDto projections() {
+        return itemService.getByOwnerById(ownerId, itemId);
+    }
+
+    private Booking findFirstBooking(String query, LocalDateTime moment) {
+        return entityManager.createQuery(query, Booking.class)
+                .setParameter("itemId", itemId)
+                .setParameter("moment", moment)
+                .setParameter("status", BookingStatus.APPROVED)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+}
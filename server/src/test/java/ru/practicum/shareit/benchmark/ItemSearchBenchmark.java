@@ -0,0 +1,109 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearch;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.LikeItemSearch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * поиск вещей: запрос ItemRepository (LikeItemSearch, shareit.search.mode = like)
+ * и инвертированный индекс в памяти (InvertedIndexItemSearch, shareit.search.mode = index) <p>
+ * сервер запускается без веб-слоя с профилем test (H2 в памяти), таблица items заполняется
+ * вещами из случайных слов словаря; запросы - частое слово и редкое слово, первая страница из 20 вещей <p>
+ * запуск: mvn -pl server test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main ItemSearchBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final String[] WORDS = {"дрель", "аккумуляторная", "ударная", "отвертка", "пила", "ручная",
+            "лестница", "стремянка", "палатка", "туристическая", "велосипед", "горный", "шуруповерт", "перфоратор",
+            "удлинитель", "фонарь", "компрессор", "болгарка", "рюкзак", "спальник", "котелок", "гитара", "проектор",
+            "колонка", "камера", "штатив", "самокат", "лодка", "насос", "сапборд"};
+
+    private static final String RARE_WORD = "эхолот";
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000"})
+    public int items;
+
+    @Param({"дрель", RARE_WORD})
+    public String text;
+
+    private ConfigurableApplicationContext context;
+
+    private LikeItemSearch likeSearch;
+
+    private InvertedIndexItemSearch indexSearch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--shareit.search.mode=index", "--logging.level.root=WARN");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('owner', 'owner@host.dom')");
+        Long ownerId = jdbcTemplate.queryForObject("SELECT id FROM users", Long.class);
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + (i % 500 == 1 ? RARE_WORD : WORDS[random.nextInt(WORDS.length)]) + " " + i;
+            rows.add(new Object[]{ownerId, name, description, i % 10 != 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (owner_id, name, description, available) VALUES (?, ?, ?, ?)",
+                rows);
+        likeSearch = new LikeItemSearch(context.getBean(ItemRepository.class));
+        indexSearch = (InvertedIndexItemSearch) context.getBean(ItemSearch.class);
+        indexSearch.rebuild();
+        System.out.printf("%n%d items, '%s': like %d, index %d found%n", items, text,
+                likeSearch.search(text, 0L, PAGE_SIZE).size(), indexSearch.search(text, 0L, PAGE_SIZE).size());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> repositoryLike() {
+        return likeSearch.search(text, 0L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Item> invertedIndex() {
+        return indexSearch.search(text, 0L, PAGE_SIZE);
+    }
+}
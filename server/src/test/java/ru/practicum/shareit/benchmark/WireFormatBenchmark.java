@@ -0,0 +1,160 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * сравнение форматов ответа сервера шлюзу: JSON и Smile (SmileConfig) на списках ItemResponseDto и BookingResponseDto <p>
+ * write* - кодирование ответа сервером, read* - разбор ответа шлюзом в Object (shareit-server.passthrough = false),
+ * toGatewayJson* - подготовка тела ответа шлюза при passthrough = true
+ * (JSON передается без изменений, Smile перекодируется в JSON); размер ответов выводится при подготовке <p>
+ * запуск: mvn -pl server test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath org.openjdk.jmh.Main WireFormatBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Param({"JSON", "SMILE"})
+    public String format;
+
+    @Param({"20", "1000"})
+    public int size;
+
+    private ObjectMapper mapper;
+
+    private List<ItemResponseDto> items;
+
+    private List<BookingResponseDto> bookings;
+
+    private byte[] itemsBody;
+
+    private byte[] bookingsBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // настройки Jackson по умолчанию в Spring Boot: даты - строками
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper = "SMILE".equals(format) ? builder.factory(new SmileFactory()).build() : builder.build();
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 10, 0);
+        items = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            items.add(item(i, now));
+            bookings.add(booking(i, now));
+        }
+        itemsBody = mapper.writeValueAsBytes(items);
+        bookingsBody = mapper.writeValueAsBytes(bookings);
+        System.out.printf("%n%s, %d: items %d bytes, bookings %d bytes%n", format, size,
+                itemsBody.length, bookingsBody.length);
+    }
+
+    @Benchmark
+    public byte[] writeItems() throws IOException {
+        return mapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] writeBookings() throws IOException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public Object readItems() throws IOException {
+        return mapper.readValue(itemsBody, Object.class);
+    }
+
+    @Benchmark
+    public Object readBookings() throws IOException {
+        return mapper.readValue(bookingsBody, Object.class);
+    }
+
+    @Benchmark
+    public byte[] toGatewayJsonItems() throws IOException {
+        return toGatewayJson(itemsBody);
+    }
+
+    @Benchmark
+    public byte[] toGatewayJsonBookings() throws IOException {
+        return toGatewayJson(bookingsBody);
+    }
+
+    /**
+     * аналог SmileTranscoder шлюза: потоковое перекодирование Smile в JSON
+     */
+    private byte[] toGatewayJson(byte[] body) throws IOException {
+        if (!"SMILE".equals(format)) {
+            return body;
+        }
+        ByteArrayOutputStream json = new ByteArrayOutputStream(body.length * 2);
+        try (JsonParser parser = mapper.getFactory().createParser(body);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return json.toByteArray();
+    }
+
+    private static ItemResponseDto item(long id, LocalDateTime now) {
+        return ItemResponseDto.builder()
+                .id(id)
+                .name("Drill " + id)
+                .description("Cordless power drill with two batteries, item " + id)
+                .available(true)
+                .lastBooking(ItemResponseDto.BookingDto.builder()
+                        .id(id * 2).start(now.minusDays(3)).end(now.minusDays(2)).bookerId(id + 1).build())
+                .nextBooking(ItemResponseDto.BookingDto.builder()
+                        .id(id * 2 + 1).start(now.plusDays(2)).end(now.plusDays(3)).bookerId(id + 2).build())
+                .comments(List.of(
+                        ItemResponseDto.CommentResponseDto.builder()
+                                .id(id).text("Works fine").authorName("User " + (id + 1)).created(now).build()))
+                .requestId(id)
+                .build();
+    }
+
+    private static BookingResponseDto booking(long id, LocalDateTime now) {
+        return BookingResponseDto.builder()
+                .id(id)
+                .start(now.plusDays(id % 30))
+                .end(now.plusDays(id % 30 + 1))
+                .item(BookingResponseDto.ItemDto.builder().id(id).name("Drill " + id).build())
+                .booker(BookingResponseDto.BookerDto.builder().id(id + 1).name("User " + (id + 1)).build())
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+}
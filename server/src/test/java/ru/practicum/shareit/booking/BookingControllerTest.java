@@ -12,8 +12,10 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.ShareItServer;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 
 import java.nio.charset.StandardCharsets;
@@ -275,6 +277,58 @@ class BookingControllerTest {
         Mockito.verify(bookingService).getListByOwner(2L, BookingStatus.CURRENT, 1L, 2);
     }
 
+    @Test
+    void getBookingsPageByBooker_whenRequestParamsNotProvided_thenOKAndFirstPage() throws Exception {
+        //given
+        setupEntityDtos(startBooking, endBooking);
+        Mockito.when(bookingService.getPageByBooker(anyLong(), any(), any(), anyInt()))
+                .thenReturn(BookingPageDto.builder().bookings(List.of(responseDto)).nextCursor("next").build());
+        //when
+        mvc.perform(get(PATH + "/page")
+                        .header(SHARER_USER_HTTP_HEADER, bookerId)
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", hasSize(1)))
+                .andExpect(jsonPath("$.bookings[0].id", is(responseDto.getId()), Long.class))
+                .andExpect(jsonPath("$.bookings[0].start", is(responseDto.getStart().format(dtf))))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+        Mockito.verify(bookingService).getPageByBooker(bookerId, BookingStatus.ALL, null, 20);
+    }
+
+    @Test
+    void getBookingsPageByOwner_whenRequestParamsProvided_thenOKAndParamsValues() throws Exception {
+        //given
+        Mockito.when(bookingService.getPageByOwner(anyLong(), any(), any(), anyInt()))
+                .thenReturn(BookingPageDto.builder().bookings(List.of()).build());
+        //when
+        mvc.perform(get(PATH + "/owner/page")
+                        .header(SHARER_USER_HTTP_HEADER, 2L) //any id for owner
+                        .param("state", "past")
+                        .param("cursor", "cursor")
+                        .param("size", "2")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        Mockito.verify(bookingService).getPageByOwner(2L, BookingStatus.PAST, "cursor", 2);
+    }
+
+    @Test
+    void getBookingsPageByOwner_whenMalformedCursor_thenBadRequest() throws Exception {
+        //given
+        Mockito.when(bookingService.getPageByOwner(anyLong(), any(), any(), anyInt()))
+                .thenThrow(new BadRequestException("Malformed booking cursor"));
+        //when
+        mvc.perform(get(PATH + "/owner/page")
+                        .header(SHARER_USER_HTTP_HEADER, 2L)
+                        .param("cursor", "AAAA")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * вспомогательный метод настройки dto дял теста
      * @param start время начала бронирования
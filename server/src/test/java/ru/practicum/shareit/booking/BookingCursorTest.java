@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingCursorTest {
+
+    @Test
+    void encodeDecode_whenTimeAndId_thenSamePosition() {
+        //given
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2023, 3, 14, 15, 9, 26, 535_897_000), 123456789L);
+        //when
+        String encoded = cursor.encode();
+        //then
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, BookingCursor.decode(encoded));
+    }
+
+    @Test
+    void first_whenEncoded_thenSamePosition() {
+        assertEquals(BookingCursor.FIRST, BookingCursor.decode(BookingCursor.FIRST.encode()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a cursor", "AAAA", "AAAAAAAAAAAAAAAAAAAAAAAAAA", "AAAAAAAAAAD_____AAAAAAAAAAA",
+            "QAAAAAAAAAAAAAAAAAAAAAAAAAU"})
+    void decode_whenMalformed_thenBadRequest(String cursor) {
+        assertThrows(BadRequestException.class, () -> BookingCursor.decode(cursor));
+    }
+}
@@ -70,6 +70,7 @@ class BookingDtoMapperTest {
         assertEquals(end, bookingNoItem.getEnd());
         assertNull(bookingNoBooker.getBooker());
         assertNull(bookingNoItem.getItem());
+        assertNull(bookingNoItem.getOwnerId());
     }
 
     @Test
@@ -85,6 +86,7 @@ class BookingDtoMapperTest {
         assertEquals(start, booking.getStart());
         assertEquals(end, booking.getEnd());
         assertEquals(1L, bookingDto.getItemId());
+        assertEquals(item.getOwnerId(), booking.getOwnerId());
         assertEquals(BookingStatus.WAITING, booking.getStatus());
     }
 
@@ -0,0 +1,347 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.search.SearchResultCache;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * планы запросов BookingRepository: каждый метод репозитория вызывается на заполненных таблицах,
+ * SQL-запросы перехватываются (SqlCapture) и проверяются EXPLAIN с теми же значениями параметров:
+ * план должен использовать ожидаемый индекс (EXPECTED_INDEXES, schema.sql) и не должен читать таблицы bookings
+ * и items целиком (H2: tableScan, PostgreSQL: Seq Scan) <p>
+ * H2 создает индексы для внешних ключей и выбирает их для условий по пользователю или вещи, поэтому на H2
+ * внешние ключи bookings удаляются (как и в PostgreSQL, внешние ключи не индексируются) - иначе тест
+ * не заметил бы удаления составного индекса; у контекста этого теста своя встроенная БД <p>
+ * проверка на PostgreSQL (схема БД из application.properties пересоздается): mvn -pl server test
+ * -Dtest=BookingRepositoryTest -Dspring.profiles.active=default -Dspring.test.database.replace=none
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.BookingRepositoryTest$SqlCapture")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingRepositoryTest {
+
+    private static final int USERS = 1000;
+
+    private static final int ITEMS = 2000;
+
+    private static final int BOOKINGS = 20000;
+
+    private static final int PAGE_SIZE = 10;
+
+    /**
+     * таблицы с индексами для запросов бронирований; users и requests читаются по первичному ключу,
+     * и на нескольких страницах тестовых данных планировщик PostgreSQL оправданно читает их целиком
+     */
+    private static final List<String> CHECKED_TABLES = List.of("bookings", "items");
+
+    /**
+     * первичный ключ bookings (H2: PRIMARY_KEY_..., PostgreSQL: bookings_pkey)
+     */
+    private static final Set<String> PRIMARY_KEY = Set.of("primary_key", "bookings_pkey");
+
+    private static final Set<String> BOOKER_START = Set.of("bookings_booker_start_idx");
+
+    private static final Set<String> BOOKER_END = Set.of("bookings_booker_end_idx");
+
+    private static final Set<String> BOOKER_STATUS = Set.of("bookings_booker_status_start_idx");
+
+    private static final Set<String> OWNER_START = Set.of("bookings_owner_start_idx");
+
+    private static final Set<String> OWNER_END = Set.of("bookings_owner_end_idx");
+
+    private static final Set<String> OWNER_STATUS = Set.of("bookings_owner_status_start_idx");
+
+    private static final Set<String> ITEM_STATUS = Set.of("bookings_item_status_start_idx");
+
+    /**
+     * индексы schema.sql, один из которых должен быть в плане запроса метода репозитория; CURRENT (начало
+     * до момента, окончание после него) может читаться по любому из индексов пользователя по времени
+     */
+    private static final Map<String, Set<String>> EXPECTED_INDEXES = Map.ofEntries(
+            Map.entry("findById", PRIMARY_KEY),
+            Map.entry("findByBookerIdOrderByStartDesc", BOOKER_START),
+            Map.entry("findByBookerIdAndStatusOrderByStartDesc", BOOKER_STATUS),
+            Map.entry("findByBookerIdAndStartIsAfterOrderByStartDesc", BOOKER_START),
+            Map.entry("findByBookerIdAndEndIsBeforeOrderByEndDesc", BOOKER_END),
+            Map.entry("findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc", union(BOOKER_START, BOOKER_END)),
+            Map.entry("findByOwnerIdOrderByStartDesc", OWNER_START),
+            Map.entry("findByOwnerIdAndStatusOrderByStartDesc", OWNER_STATUS),
+            Map.entry("findByOwnerIdAndStartIsAfterOrderByStartDesc", OWNER_START),
+            Map.entry("findByOwnerIdAndEndIsBeforeOrderByEndDesc", OWNER_END),
+            Map.entry("findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc", union(OWNER_START, OWNER_END)),
+            Map.entry("findLastAndNextByItemIdIn", ITEM_STATUS),
+            Map.entry("findFirst1ByBookerIdAndItem_IdAndEndIsBeforeAndStatus", union(ITEM_STATUS, BOOKER_END)),
+            Map.entry("findPageByBookerId", BOOKER_START),
+            Map.entry("findFuturePageByBookerId", BOOKER_START),
+            Map.entry("findPastPageByBookerId", BOOKER_END),
+            Map.entry("findCurrentPageByBookerId", union(BOOKER_START, BOOKER_END)),
+            Map.entry("findPageByBookerIdAndStatus", BOOKER_STATUS),
+            Map.entry("findPageByOwnerId", OWNER_START),
+            Map.entry("findFuturePageByOwnerId", OWNER_START),
+            Map.entry("findPastPageByOwnerId", OWNER_END),
+            Map.entry("findCurrentPageByOwnerId", union(OWNER_START, OWNER_END)),
+            Map.entry("findPageByOwnerIdAndStatus", OWNER_STATUS));
+
+    /**
+     * именованный параметр запроса @Query (":name")
+     */
+    private static final Pattern NAMED_PARAMETER = Pattern.compile("(?<![:\\w]):(\\w+)");
+
+    private final BookingRepository bookingStorage;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SearchResultCache searchResultCache;
+
+    private long userId;
+
+    private long itemId;
+
+    private long bookingId;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+        searchResultCache.clear();
+        dropH2ForeignKeyIndexes();
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new Object[]{"user" + i, "user" + i + "@host.dom"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        List<Object[]> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new Object[]{userIds.get(i % USERS), "item" + i, "description" + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (owner_id, name, description) VALUES (?, ?, ?)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+        now = LocalDateTime.now();
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Object[]> bookings = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.plusHours(i - BOOKINGS / 2);
+            int item = i % ITEMS;
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(2)),
+                    itemIds.get(item), userIds.get((i * 7) % USERS), userIds.get(item % USERS),
+                    statuses[i % statuses.length].name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.execute("ANALYZE");
+        userId = userIds.get(1);
+        itemId = itemIds.get(1);
+        // позиция страницы (keyset) - бронирование в середине списка по времени начала
+        bookingId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM bookings WHERE start_date >= ?", Long.class,
+                Timestamp.valueOf(now));
+    }
+
+    @Test
+    void explain_whenEveryRepositoryQuery_thenExpectedIndexAndNoFullTableScan() throws Exception {
+        Map<String, String> fullScans = new LinkedHashMap<>();
+        Map<String, String> missingIndexes = new LinkedHashMap<>();
+        for (Method method : BookingRepository.class.getDeclaredMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            Set<String> expectedIndexes = EXPECTED_INDEXES.get(method.getName());
+            assertNotNull(expectedIndexes, method.getName() + ": no expected index in EXPECTED_INDEXES");
+            Object[] arguments = arguments(method);
+            SqlCapture.STATEMENTS.clear();
+            method.invoke(bookingStorage, arguments);
+            List<String> statements = List.copyOf(SqlCapture.STATEMENTS);
+            assertTrue(!statements.isEmpty(), method.getName() + ": no statements captured");
+            List<Object> parameters = parameters(method, arguments);
+            StringBuilder plans = new StringBuilder();
+            for (String sql : statements) {
+                String plan = explain(sql, parameters);
+                plans.append(plan);
+                for (String table : CHECKED_TABLES) {
+                    if (plan.contains(table.toUpperCase() + ".tableScan") || plan.contains("Seq Scan on " + table)) {
+                        fullScans.put(method.getName(), plan);
+                    }
+                }
+            }
+            String plan = plans.toString().toLowerCase(Locale.ROOT);
+            if (expectedIndexes.stream().noneMatch(plan::contains)) {
+                missingIndexes.put(method.getName(), expectedIndexes + " not used:\n" + plans);
+            }
+        }
+        assertTrue(fullScans.isEmpty(), () -> "full table scan planned: " + fullScans);
+        assertTrue(missingIndexes.isEmpty(), () -> "expected index not planned: " + missingIndexes);
+    }
+
+    /**
+     * H2 создает индекс для каждого внешнего ключа и предпочитает его составным индексам при равенстве
+     * по пользователю или вещи; без внешних ключей bookings планы зависят только от индексов schema.sql
+     */
+    private void dropH2ForeignKeyIndexes() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(database)) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT IF EXISTS fk_bookings_to_items");
+        jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT IF EXISTS fk_bookings_to_users");
+        jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT IF EXISTS fk_bookings_to_owners");
+    }
+
+    /**
+     * аргументы метода репозитория по именам параметров: вещь (itemId, itemIds), позиция страницы (id),
+     * пользователь - остальные идентификаторы; время - момент середины списка бронирований
+     */
+    private Object[] arguments(Method method) {
+        Parameter[] parameters = method.getParameters();
+        Object[] arguments = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> type = parameters[i].getType();
+            String name = parameterName(parameters[i]);
+            if (type == Long.class) {
+                arguments[i] = name.startsWith("item") ? itemId : "id".equals(name) ? bookingId : userId;
+            } else if (type == LocalDateTime.class) {
+                arguments[i] = now;
+            } else if (type == BookingStatus.class) {
+                arguments[i] = BookingStatus.APPROVED;
+            } else if (type == String.class) {
+                arguments[i] = BookingStatus.APPROVED.name();
+            } else if (type == Pageable.class) {
+                arguments[i] = PageRequest.of(0, PAGE_SIZE);
+            } else if (type == Collection.class) {
+                arguments[i] = List.of(itemId);
+            } else {
+                throw new IllegalArgumentException(method.getName() + ": unsupported parameter " + type);
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * значения параметров SQL-запроса в порядке знаков "?": для @Query - по именованным параметрам в тексте
+     * запроса (коллекция раскрывается в список значений), для производных запросов - в порядке параметров
+     * метода; Pageable задает LIMIT, который добавляется в конец запроса (explain)
+     */
+    private List<Object> parameters(Method method, Object[] arguments) {
+        Parameter[] parameters = method.getParameters();
+        Map<String, Object> named = new LinkedHashMap<>();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i].getType() != Pageable.class) {
+                named.put(parameterName(parameters[i]), arguments[i]);
+            }
+        }
+        Query query = method.getAnnotation(Query.class);
+        List<Object> values = new ArrayList<>();
+        if (query == null) {
+            named.values().forEach(value -> addValue(values, value));
+            return values;
+        }
+        Matcher matcher = NAMED_PARAMETER.matcher(query.value());
+        while (matcher.find()) {
+            assertTrue(named.containsKey(matcher.group(1)), method.getName() + ": no argument :" + matcher.group(1));
+            addValue(values, named.get(matcher.group(1)));
+        }
+        return values;
+    }
+
+    private static void addValue(List<Object> values, Object value) {
+        if (value instanceof Collection) {
+            ((Collection<?>) value).forEach(element -> addValue(values, element));
+        } else if (value instanceof LocalDateTime) {
+            values.add(Timestamp.valueOf((LocalDateTime) value));
+        } else if (value instanceof Enum) {
+            values.add(((Enum<?>) value).name());
+        } else {
+            values.add(value);
+        }
+    }
+
+    private static String parameterName(Parameter parameter) {
+        Param param = parameter.getAnnotation(Param.class);
+        return param != null ? param.value() : parameter.getName();
+    }
+
+    private static Set<String> union(Set<String> first, Set<String> second) {
+        Set<String> result = new HashSet<>(first);
+        result.addAll(second);
+        return result;
+    }
+
+    /**
+     * план запроса с теми же значениями параметров, что и при вызове метода репозитория; параметры после них -
+     * размер страницы (NULL не подходит: PostgreSQL сворачивает условие "= NULL" в false и не строит план
+     * чтения таблицы)
+     */
+    private String explain(String sql, List<Object> values) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+            int count = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= count; i++) {
+                if (i <= values.size()) {
+                    statement.setObject(i, values.get(i - 1));
+                } else {
+                    statement.setInt(i, PAGE_SIZE);
+                }
+            }
+            return statement;
+        }, resultSet -> {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+
+    /**
+     * перехват SQL-запросов Hibernate (hibernate.session_factory.statement_inspector)
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
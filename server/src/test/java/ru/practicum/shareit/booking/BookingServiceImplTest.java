@@ -12,6 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
@@ -293,7 +294,7 @@ class BookingServiceImplTest {
     void getListByBooker_thenStatusAll_thenInvokes_FindByBookerIdOrderByStartDesc() {
         //given
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
-        Mockito.when(bookingStorage.findByBookerIdOrderByStartDesc(anyLong(), any())).thenReturn(List.of(booking1ByUser2));
+        Mockito.when(bookingStorage.findByBookerIdOrderByStartDesc(anyLong(), any())).thenReturn(List.of(bookingRow(booking1ByUser2)));
 
         //when
         List<BookingResponseDto> list = bookingService.getListByBooker(2L, BookingStatus.ALL, 0L, 20);
@@ -311,7 +312,7 @@ class BookingServiceImplTest {
         //given
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
         Mockito.when(bookingStorage.findByBookerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking1ByUser2));
+                .thenReturn(List.of(bookingRow(booking1ByUser2)));
         //when
         List<BookingResponseDto> list = bookingService.getListByBooker(2L, BookingStatus.FUTURE, 0L, 20);
         assertEquals(1, list.size());
@@ -328,7 +329,7 @@ class BookingServiceImplTest {
         //given
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
         Mockito.when(bookingStorage.findByBookerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking1ByUser2));
+                .thenReturn(List.of(bookingRow(booking1ByUser2)));
         //when
         List<BookingResponseDto> list = bookingService.getListByBooker(2L, BookingStatus.PAST, 0L, 20);
         assertEquals(1, list.size());
@@ -346,7 +347,7 @@ class BookingServiceImplTest {
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
         Mockito.when(bookingStorage.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
                         anyLong(), any(), any(), any()))
-                .thenReturn(List.of(booking1ByUser2));
+                .thenReturn(List.of(bookingRow(booking1ByUser2)));
         //when
         List<BookingResponseDto> list = bookingService.getListByBooker(2L, BookingStatus.CURRENT, 0L, 20);
         assertEquals(1, list.size());
@@ -365,7 +366,7 @@ class BookingServiceImplTest {
         BookingStatus status = BookingStatus.fromString(str);
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
         Mockito.when(bookingStorage.findByBookerIdAndStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking1ByUser2));
+                .thenReturn(List.of(bookingRow(booking1ByUser2)));
         //when
         List<BookingResponseDto> list = bookingService.getListByBooker(2L, status, 0L, 20);
         assertEquals(1, list.size());
@@ -401,7 +402,7 @@ class BookingServiceImplTest {
         //given
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
         Mockito.when(bookingStorage.findByBookerIdAndStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking1ByUser2));
+                .thenReturn(List.of(bookingRow(booking1ByUser2)));
         //when
         List<BookingResponseDto> list = bookingService.getListByBooker(2L, BookingStatus.WAITING, 0L, 20);
         //then
@@ -417,88 +418,88 @@ class BookingServiceImplTest {
     void getListByOwner_thenStatusAll_thenInvokes_FindByItem_OwnerIdOrderByStartDesc() {
         //given
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
-        Mockito.when(bookingStorage.findByItem_OwnerIdOrderByStartDesc(anyLong(), any()))
-                .thenReturn(List.of(booking1ByUser2));
+        Mockito.when(bookingStorage.findByOwnerIdOrderByStartDesc(anyLong(), any()))
+                .thenReturn(List.of(bookingRow(booking1ByUser2)));
         //when
         List<BookingResponseDto> list = bookingService.getListByOwner(2L, BookingStatus.ALL, 0L, 20);
         assertEquals(1, list.size());
-        Mockito.verify(bookingStorage, only()).findByItem_OwnerIdOrderByStartDesc(anyLong(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
+        Mockito.verify(bookingStorage, only()).findByOwnerIdOrderByStartDesc(anyLong(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
                 anyLong(), any(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any());
     }
 
     @Test
     void getListByOwner_thenStatusFuture_thenInvokes_FindByItem_OwnerIdAndStartIsAfterOrderByStartDesc() {
         //given
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
-        Mockito.when(bookingStorage.findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking1ByUser2));
+        Mockito.when(bookingStorage.findByOwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any()))
+                .thenReturn(List.of(bookingRow(booking1ByUser2)));
         //when
         List<BookingResponseDto> list = bookingService.getListByOwner(2L, BookingStatus.FUTURE, 0L, 20);
         assertEquals(1, list.size());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdOrderByStartDesc(anyLong(), any());
-        Mockito.verify(bookingStorage, only()).findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
+        Mockito.verify(bookingStorage, never()).findByOwnerIdOrderByStartDesc(anyLong(), any());
+        Mockito.verify(bookingStorage, only()).findByOwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
                 anyLong(), any(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any());
     }
 
     @Test
     void getListByOwner_thenStatusPast_thenInvokes_FindByItem_OwnerIdAndStartIsAfterOrderByStartDesc() {
         //given
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
-        Mockito.when(bookingStorage.findByItem_OwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking1ByUser2));
+        Mockito.when(bookingStorage.findByOwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any()))
+                .thenReturn(List.of(bookingRow(booking1ByUser2)));
         //when
         List<BookingResponseDto> list = bookingService.getListByOwner(2L, BookingStatus.PAST, 0L, 20);
         assertEquals(1, list.size());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdOrderByStartDesc(anyLong(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
-        Mockito.verify(bookingStorage, only()).findByItem_OwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
+        Mockito.verify(bookingStorage, never()).findByOwnerIdOrderByStartDesc(anyLong(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, only()).findByOwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
                 anyLong(), any(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any());
     }
 
     @Test
     void getListByOwner_thenStatusCurrent_thenInvokes_FindByItem_OwnerIdAndStartIsAfterOrderByStartDesc() {
         //given
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
-        Mockito.when(bookingStorage.findByItem_OwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
+        Mockito.when(bookingStorage.findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
                         anyLong(), any(), any(), any()))
-                .thenReturn(List.of(booking1ByUser2));
+                .thenReturn(List.of(bookingRow(booking1ByUser2)));
         //when
         List<BookingResponseDto> list = bookingService.getListByOwner(2L, BookingStatus.CURRENT, 0L, 20);
         assertEquals(1, list.size());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdOrderByStartDesc(anyLong(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any());
-        Mockito.verify(bookingStorage, only()).findByItem_OwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
+        Mockito.verify(bookingStorage, never()).findByOwnerIdOrderByStartDesc(anyLong(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, only()).findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
                 anyLong(), any(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any());
     }
 
     @ParameterizedTest
     @ValueSource(strings = {"waiting", "rejected"})
-    void getListByOwner_thenStatuses_thenInvokes_findByItem_OwnerIdAndStatusOrderByStartDesc(String str) {
+    void getListByOwner_thenStatuses_thenInvokes_findByOwnerIdAndStatusOrderByStartDesc(String str) {
         //given
         BookingStatus status = BookingStatus.fromString(str);
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
-        Mockito.when(bookingStorage.findByItem_OwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking1ByUser2));
+        Mockito.when(bookingStorage.findByOwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any()))
+                .thenReturn(List.of(bookingRow(booking1ByUser2)));
         //when
         List<BookingResponseDto> list = bookingService.getListByOwner(2L, status, 0L, 20);
         assertEquals(1, list.size());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdOrderByStartDesc(anyLong(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any());
-        Mockito.verify(bookingStorage, never()).findByItem_OwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
+        Mockito.verify(bookingStorage, never()).findByOwnerIdOrderByStartDesc(anyLong(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStartIsAfterOrderByStartDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndEndIsBeforeOrderByEndDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, never()).findByOwnerIdAndStartIsBeforeAndEndIsAfterOrderByEndDesc(
                 anyLong(), any(), any(), any());
-        Mockito.verify(bookingStorage, only()).findByItem_OwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any());
+        Mockito.verify(bookingStorage, only()).findByOwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any());
     }
 
     @Test
@@ -514,8 +515,8 @@ class BookingServiceImplTest {
                 .booker(user2)
                 .build();
         Mockito.when(userStorage.existsById(anyLong())).thenReturn(true);
-        Mockito.when(bookingStorage.findByItem_OwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+        Mockito.when(bookingStorage.findByOwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any()))
+                .thenReturn(List.of(bookingRow(booking)));
         //when
         List<BookingResponseDto> list = bookingService.getListByOwner(2L, BookingStatus.WAITING, 0L, 20);
         //then
@@ -587,4 +588,16 @@ class BookingServiceImplTest {
                 .booker(user2)
                 .build();
     }
+
+    private static BookingRow bookingRow(Booking booking) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BookingRow.class, Map.of(
+                "id", booking.getId(),
+                "start", booking.getStart(),
+                "end", booking.getEnd(),
+                "status", booking.getStatus(),
+                "itemId", booking.getItem().getId(),
+                "itemName", booking.getItem().getName(),
+                "bookerId", booking.getBooker().getId(),
+                "bookerName", booking.getBooker().getName()));
+    }
 }
\ No newline at end of file
@@ -11,10 +11,12 @@ import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,16 +28,9 @@ class BookingServiceImplWithDBAddBookingTest {
 
     private final BookingServiceImpl bookingService;
     private final JdbcTemplate jdbcTemplate;
-    private static final Long DEFAULT_ITEM_ID = 1L;
     private static final LocalDateTime DEFAULT_START_DATE = LocalDateTime.of(LocalDate.now(), LocalTime.of(0,0));
     private static final LocalDateTime DEFAULT_END_DATE = DEFAULT_START_DATE.plusDays(1);
 
-    private final BookingDto initial = BookingDto.builder()
-            .itemId(DEFAULT_ITEM_ID)
-            .start(DEFAULT_START_DATE)
-            .end(DEFAULT_END_DATE)
-            .build();
-
     @BeforeEach
     void reinitialiseBookings() {
         jdbcTemplate.update("DELETE FROM bookings");
@@ -66,6 +61,12 @@ class BookingServiceImplWithDBAddBookingTest {
             count++;
         }
         if (count != 2 && bookerId == 0 && ownerId == 0) fail();
+        // идентификатор вещи из booking.sql: тесты с тем же контекстом могли добавлять вещи раньше
+        BookingDto initial = BookingDto.builder()
+                .itemId(jdbcTemplate.queryForObject("SELECT id FROM items WHERE name = 'item'", Long.class))
+                .start(DEFAULT_START_DATE)
+                .end(DEFAULT_END_DATE)
+                .build();
         BookingResponseDto booking = bookingService.addBooking(bookerId, initial);
         long bookingId = booking.getId();
         BookingResponseDto actualByOwner = bookingService.getByRelatedUserId(ownerId, bookingId);
@@ -80,5 +81,9 @@ class BookingServiceImplWithDBAddBookingTest {
         assertEquals("item", actualByOwner.getItem().getName());
         assertEquals("booker", actualByOwner.getBooker().getName());
         assertEquals(actualByOwner, actualByBooker);
+        assertEquals(ownerId, jdbcTemplate.queryForObject("SELECT owner_id FROM bookings WHERE id = ?",
+                Long.class, bookingId));
+        assertEquals(List.of(actualByOwner), bookingService.getListByOwner(ownerId, BookingStatus.ALL, 0L, 10));
+        assertTrue(bookingService.getListByOwner(bookerId, BookingStatus.ALL, 0L, 10).isEmpty());
     }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.search.SearchResultCache;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceImplWithDBListTest {
+
+    private static final int BOOKINGS = 40;
+
+    private static final int ITEMS = 4;
+
+    private static final int BOOKERS = 4;
+
+    private final BookingServiceImpl bookingService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SearchResultCache searchResultCache;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private long ownerId;
+
+    private long bookerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+        searchResultCache.clear();
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('owner', 'owner@host.dom')");
+        for (int i = 0; i < BOOKERS; i++) {
+            jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", "booker" + i, "booker" + i + "@host.dom");
+        }
+        ownerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE name = 'owner'", Long.class);
+        List<Long> bookerIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE name LIKE 'booker%' ORDER BY id",
+                Long.class);
+        bookerId = bookerIds.get(0);
+        jdbcTemplate.update("INSERT INTO requests (description, requester_id, created) VALUES ('request', ?, ?)",
+                bookerIds.get(1), Timestamp.valueOf(LocalDateTime.now()));
+        long requestId = jdbcTemplate.queryForObject("SELECT id FROM requests", Long.class);
+        for (int i = 0; i < ITEMS; i++) {
+            jdbcTemplate.update("INSERT INTO items (owner_id, name, description, available, request_id) "
+                    + "VALUES (?, ?, 'description', TRUE, ?)", ownerId, "item" + i, i == 0 ? requestId : null);
+        }
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items ORDER BY id", Long.class);
+        // по четыре бронирования с одинаковым временем начала и окончания: порядок внутри группы - по идентификатору
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        BookingStatus[] statuses = {BookingStatus.APPROVED, BookingStatus.WAITING, BookingStatus.REJECTED};
+        List<Object[]> bookings = new ArrayList<>(2 * BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.plusDays(i / 4 - BOOKINGS / 8);
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(12)),
+                    itemIds.get(i % ITEMS), bookerId, ownerId, statuses[i % statuses.length].name()});
+            // бронирования других пользователей видны только владельцу
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(12)),
+                    itemIds.get(i % ITEMS), bookerIds.get(1 + i % (BOOKERS - 1)), ownerId, BookingStatus.APPROVED.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", bookings);
+    }
+
+    @Test
+    void getPageByBooker_whenAllPages_thenEveryBookingOnceInStartOrder() {
+        //given
+        List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM bookings WHERE booker_id = ? "
+                + "ORDER BY start_date DESC, id DESC", Long.class, bookerId);
+        //when
+        List<Long> actual = readAllPages(cursor -> bookingService.getPageByBooker(bookerId, BookingStatus.ALL,
+                cursor, 3));
+        //then
+        assertEquals(BOOKINGS, actual.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getPageByOwner_whenPast_thenEveryPastBookingOnceInEndOrder() {
+        //given
+        List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM bookings WHERE owner_id = ? "
+                + "AND end_date < ? ORDER BY end_date DESC, id DESC", Long.class, ownerId, LocalDateTime.now());
+        //when
+        List<Long> actual = readAllPages(cursor -> bookingService.getPageByOwner(ownerId, BookingStatus.PAST,
+                cursor, 3));
+        //then
+        assertTrue(!expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getPageByOwner_whenStatus_thenOnlyBookingsWithStatus() {
+        //given
+        List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM bookings WHERE owner_id = ? "
+                + "AND status = 'WAITING' ORDER BY start_date DESC, id DESC", Long.class, ownerId);
+        //when
+        List<Long> actual = readAllPages(cursor -> bookingService.getPageByOwner(ownerId, BookingStatus.WAITING,
+                cursor, 4));
+        //then
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getPageByBooker_whenSizeCoversAll_thenNoNextCursor() {
+        //when
+        BookingPageDto page = bookingService.getPageByBooker(bookerId, BookingStatus.ALL, null, BOOKINGS);
+        //then
+        assertEquals(BOOKINGS, page.getBookings().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getListByOwner_whenBookingsOfSeveralItemsAndBookers_thenOneQueryForList() {
+        //given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        //when
+        List<BookingResponseDto> bookings = bookingService.getListByOwner(ownerId, BookingStatus.ALL, 0L, 20);
+        //then
+        // проверка пользователя и список бронирований с вещами и авторами одним запросом
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(20, bookings.size());
+        assertEquals(ITEMS, bookings.stream().map(booking -> booking.getItem().getName()).distinct().count());
+        assertEquals(BOOKERS, bookings.stream().map(booking -> booking.getBooker().getName()).distinct().count());
+        assertTrue(bookings.stream().allMatch(booking -> booking.getStatus() != null));
+    }
+
+    @Test
+    void getPageByOwner_whenBookingsOfSeveralItemsAndBookers_thenOneQueryForPage() {
+        //given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        //when
+        BookingPageDto page = bookingService.getPageByOwner(ownerId, BookingStatus.ALL, null, 20);
+        //then
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(20, page.getBookings().size());
+        assertEquals(BOOKERS, page.getBookings().stream()
+                .map(booking -> booking.getBooker().getId())
+                .distinct()
+                .count());
+    }
+
+    @Test
+    void getPageByBooker_whenMalformedCursor_thenBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getPageByBooker(bookerId, BookingStatus.ALL, "AAAA", 3));
+    }
+
+    /**
+     * чтение списка по страницам, пока ответ содержит позицию продолжения
+     * @param pageByCursor запрос страницы по позиции (null - первая страница)
+     * @return идентификаторы бронирований всех страниц в порядке выдачи
+     */
+    private List<Long> readAllPages(Function<String, BookingPageDto> pageByCursor) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            BookingPageDto page = pageByCursor.apply(cursor);
+            ids.addAll(page.getBookings().stream().map(BookingResponseDto::getId).collect(toList()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
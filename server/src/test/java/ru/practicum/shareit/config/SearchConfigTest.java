@@ -0,0 +1,24 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.LikeItemSearch;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest(properties = "shareit.search.mode=full-text")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SearchConfigTest {
+
+    private final ItemSearch itemSearch;
+
+    @Test
+    void itemSearch_whenFullTextAndH2_thenLikeFallback() {
+        assertInstanceOf(LikeItemSearch.class, itemSearch);
+    }
+}
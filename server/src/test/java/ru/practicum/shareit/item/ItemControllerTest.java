@@ -1,42 +1,59 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.config.WebConfig;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.util.Constants.DATE_TIME_PATTERN;
 import static ru.practicum.shareit.util.Constants.SHARER_USER_HTTP_HEADER;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import(WebConfig.class)
 class ItemControllerTest {
 
     private static final String PATH = "/items";
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
     @MockBean
     private ItemService itemService;
     @Autowired
@@ -205,6 +222,22 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getItems_whenIdsProvided_thenOkAndIdsInRequestOrder() throws Exception {
+        //given
+        Mockito.when(itemService.getByOwnerByIds(anyLong(), anyList())).thenReturn(List.of(responseDto));
+        //when
+        mvc.perform(get(PATH + "/batch")
+                        .header(SHARER_USER_HTTP_HEADER, 1L)
+                        .param("ids", "3,1,2")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+        Mockito.verify(itemService).getByOwnerByIds(1L, List.of(3L, 1L, 2L));
+    }
+
     @Test
     void getAllByUserId_whenRequestParamsNotProvided_thenOKAndDefaultValues() throws Exception {
         //given
@@ -227,6 +260,30 @@ class ItemControllerTest {
         Mockito.verify(itemService).getAllByUserId(0L, 20, userId);
     }
 
+    @Test
+    void getAllByUserId_whenAcceptSmile_thenSmileBodyWithJsonDateFormat() throws Exception {
+        //given
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        ItemResponseDto withBooking = ItemResponseDto.builder()
+                .id(1L)
+                .name(itemName)
+                .lastBooking(ItemResponseDto.BookingDto.builder().id(1L).start(start).end(start.plusDays(1)).build())
+                .build();
+        Mockito.when(itemService.getAllByUserId(anyLong(), any(), anyLong())).thenReturn(List.of(withBooking));
+        //when
+        byte[] body = mvc.perform(get(PATH)
+                        .header(SHARER_USER_HTTP_HEADER, userId)
+                        .accept(SMILE))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode items = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals(itemName, items.get(0).get("name").asText());
+        assertEquals(objectMapper.writeValueAsString(start),
+                "\"" + items.get(0).get("lastBooking").get("start").asText() + "\"");
+    }
+
     @Test
     void getAllByUserId_whenRequestParamsProvided_thenOKAndParamsValues() throws Exception {
         //given
@@ -268,6 +325,114 @@ class ItemControllerTest {
         Mockito.verify(itemService).search("query", 1L, 2);
     }
 
+    @Test
+    void searchItemsPage_whenCursorProvided_thenPageAndNextCursor() throws Exception {
+        //given
+        Mockito.when(itemService.searchPage(anyString(), any(), anyInt()))
+                .thenReturn(ItemSearchPageDto.builder().items(List.of(itemDto)).nextCursor("next").build());
+        //when
+        mvc.perform(get(PATH + "/search/page")
+                        .param("text", "query")
+                        .param("cursor", "cursor")
+                        .param("size", "2")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].name", is(itemDto.getName()), String.class))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+        Mockito.verify(itemService).searchPage("query", "cursor", 2);
+    }
+
+    @Test
+    void autocomplete_whenSizeNotProvided_thenNamesAndDefaultSize() throws Exception {
+        //given
+        Mockito.when(itemService.autocomplete(anyString(), anyInt())).thenReturn(List.of("Дрель", "Дрель ударная"));
+        //when
+        mvc.perform(get(PATH + "/search/autocomplete")
+                        .param("text", "дре")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1]", is("Дрель ударная")));
+        Mockito.verify(itemService).autocomplete("дре", 10);
+    }
+
+    @Test
+    void exportSearch_whenItemsFound_thenJsonObjectPerLine() throws Exception {
+        //given
+        ItemDto otherDto = ItemDto.builder().id(2L).name("other").description("other").available(true).build();
+        doAnswer(invocation -> {
+            Consumer<ItemDto> action = invocation.getArgument(1);
+            action.accept(itemDto);
+            action.accept(otherDto);
+            return null;
+        }).when(itemService).exportSearch(anyString(), any());
+        //when
+        MvcResult result = mvc.perform(get(PATH + "/search/export")
+                        .param("text", "query")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //then
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(objectMapper.writeValueAsString(itemDto) + "\n" + objectMapper.writeValueAsString(otherDto) + "\n",
+                body);
+        Mockito.verify(itemService).exportSearch(eq("query"), any());
+    }
+
+    @Test
+    void exportSearch_whenEtagFilter_thenFirstLinesSentBeforeCompletionWithoutETag() throws Exception {
+        //given
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch completeExport = new CountDownLatch(1);
+        ItemDto otherDto = ItemDto.builder().id(2L).name("other").description("other").available(true).build();
+        doAnswer(invocation -> {
+            Consumer<ItemDto> action = invocation.getArgument(1);
+            action.accept(itemDto);
+            firstWritten.countDown();
+            assertTrue(completeExport.await(5, TimeUnit.SECONDS));
+            action.accept(otherDto);
+            return null;
+        }).when(itemService).exportSearch(anyString(), any());
+        //when
+        MvcResult result = mvc.perform(get(PATH + "/search/export")
+                        .param("text", "query")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //then
+        assertTrue(firstWritten.await(5, TimeUnit.SECONDS));
+        assertEquals(objectMapper.writeValueAsString(itemDto) + "\n",
+                result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+        completeExport.countDown();
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertEquals(objectMapper.writeValueAsString(itemDto) + "\n" + objectMapper.writeValueAsString(otherDto) + "\n",
+                body);
+    }
+
+    @Test
+    void exportByOwner_whenNoItems_thenEmptyBody() throws Exception {
+        //when
+        MvcResult result = mvc.perform(get(PATH + "/export")
+                        .header(SHARER_USER_HTTP_HEADER, userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        //then
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(""));
+        Mockito.verify(itemService).exportByOwner(eq(userId), any());
+    }
+
     @Test
     void addComment_whenNotFound_thenStatusNotFound() throws Exception {
         //given
@@ -12,7 +12,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingRow;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.exception.BadRequestException;
@@ -30,14 +32,18 @@ import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.util.Constants.SUCCESS_DELETE_MESSAGE;
 
 @SpringBootTest
 @ExtendWith(MockitoExtension.class)
@@ -180,20 +186,37 @@ class ItemServiceImplTest {
     }
 
     @Test
-    void getByOwnerById_thenInputOkAndNoAdditionalData_thenOkNullBookingsCommentsEmpty() {
+    void deleteById_whenOwner_thenOk() {
+        //given
+        Long item2Id = 2L;
+        Item item2 = Item.builder().id(item2Id).ownerId(user1Id).name("item2").description("description2")
+                .available(true).build();
+        Mockito.when(itemStorage.findById(item2Id)).thenReturn(Optional.of(item2));
+        //when
+        String message = itemService.deleteById(user1Id, item2Id);
+        //then
+        assertEquals(SUCCESS_DELETE_MESSAGE, message);
+        Mockito.verify(itemStorage).deleteById(item2Id);
+    }
+
+    @Test
+    void deleteById_whenNotOwner_thenForbiddenException() {
         //given
         Mockito.when(itemStorage.findById(item1Id)).thenReturn(Optional.of(item1));
-        Mockito.when(bookingStorage.findFirst1ByItemIdAndStartLessThanEqualAndStatusOrderByStartDesc(
-                anyLong(),
-                any(),
-                any())
-        ).thenReturn(Optional.empty());
-        Mockito.when(bookingStorage.findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-                anyLong(),
-                any(),
-                any())
-        ).thenReturn(Optional.empty());
-        Mockito.when(commentStorage.findByItem_Id(anyLong())).thenReturn(List.of());
+        //when
+        ForbiddenException fe = assertThrows(ForbiddenException.class,
+                () -> itemService.deleteById(user2Id, item1Id)
+        );
+        //then
+        assertEquals("requesting user not match item owner", fe.getMessage());
+        Mockito.verify(itemStorage, never()).deleteById(any());
+    }
+
+    @Test
+    void getByOwnerById_thenInputOkAndNoAdditionalData_thenOkNullBookingsCommentsEmpty() {
+        //given
+        Mockito.when(itemStorage.findWithCommentsById(item1Id)).thenReturn(List.of(itemCommentRow(item1, null)));
+        Mockito.when(bookingStorage.findLastAndNextByItemIdIn(anyCollection(), any())).thenReturn(List.of());
         //when
         ItemResponseDto responseDtoResult = itemService.getByOwnerById(user1Id, item1Id);
         //then
@@ -206,32 +229,17 @@ class ItemServiceImplTest {
         assertTrue(responseDtoResult.getComments().isEmpty());
         assertNull(responseDtoResult.getLastBooking());
         assertNull(responseDtoResult.getNextBooking());
-        Mockito.verify(bookingStorage).findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-                anyLong(),
-                any(),
-                any());
-        Mockito.verify(bookingStorage).findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-                anyLong(),
-                any(),
-                any());
-        Mockito.verify(commentStorage).findByItem_Id(anyLong());
+        Mockito.verify(bookingStorage).findLastAndNextByItemIdIn(eq(Set.of(item1Id)), any());
+        Mockito.verify(itemStorage, never()).findById(anyLong());
+        Mockito.verify(commentStorage, never()).findByItem_Id(anyLong());
     }
 
     @Test
     void getByOwnerById_thenInputOk_thenOkWithAdditionalData() {
         //given
-        Mockito.when(itemStorage.findById(item1Id)).thenReturn(Optional.of(item1));
-        Mockito.when(bookingStorage.findFirst1ByItemIdAndStartLessThanEqualAndStatusOrderByStartDesc(
-                anyLong(),
-                any(),
-                any())
-        ).thenReturn(Optional.of(booking1Last));
-        Mockito.when(bookingStorage.findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-                anyLong(),
-                any(),
-                any())
-        ).thenReturn(Optional.of(booking1Next));
-        Mockito.when(commentStorage.findByItem_Id(anyLong())).thenReturn(List.of(comment1));
+        Mockito.when(itemStorage.findWithCommentsById(item1Id)).thenReturn(List.of(itemCommentRow(item1, comment1)));
+        Mockito.when(bookingStorage.findLastAndNextByItemIdIn(anyCollection(), any()))
+                .thenReturn(List.of(itemBookingRow(booking1Last, true), itemBookingRow(booking1Next, false)));
         //when
         ItemResponseDto responseDtoResult = itemService.getByOwnerById(user1Id, item1Id);
         //then
@@ -245,23 +253,16 @@ class ItemServiceImplTest {
         assertEquals(comment1.getId(), responseDtoResult.getComments().get(0).getId());
         assertEquals(comment1.getAuthor().getName(), responseDtoResult.getComments().get(0).getAuthorName());
         assertEquals(booking1Last.getId(), responseDtoResult.getLastBooking().getId());
+        assertEquals(booking1Last.getBooker().getId(), responseDtoResult.getLastBooking().getBookerId());
         assertEquals(booking1Next.getId(), responseDtoResult.getNextBooking().getId());
-        Mockito.verify(bookingStorage).findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-                anyLong(),
-                any(),
-                any());
-        Mockito.verify(bookingStorage).findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-                anyLong(),
-                any(),
-                any());
-        Mockito.verify(commentStorage).findByItem_Id(anyLong());
+        Mockito.verify(bookingStorage, only()).findLastAndNextByItemIdIn(eq(Set.of(item1Id)), any());
+        Mockito.verifyNoInteractions(commentStorage);
     }
 
     @Test
     void getByOwnerById_thenNotOwnerUser_thenOkWithCommentsOnlyData() {
         //given
-        Mockito.when(itemStorage.findById(item1Id)).thenReturn(Optional.of(item1));
-        Mockito.when(commentStorage.findByItem_Id(anyLong())).thenReturn(List.of(comment1));
+        Mockito.when(itemStorage.findWithCommentsById(item1Id)).thenReturn(List.of(itemCommentRow(item1, comment1)));
         //when
         ItemResponseDto responseDtoResult = itemService.getByOwnerById(user2Id, item1Id);
         //then
@@ -276,46 +277,30 @@ class ItemServiceImplTest {
         assertEquals(comment1.getAuthor().getName(), responseDtoResult.getComments().get(0).getAuthorName());
         assertNull(responseDtoResult.getLastBooking());
         assertNull(responseDtoResult.getNextBooking());
-        Mockito.verify(bookingStorage, never()).findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-                anyLong(),
-                any(),
-                any());
-        Mockito.verify(bookingStorage, never()).findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-                anyLong(),
-                any(),
-                any());
-        Mockito.verify(commentStorage).findByItem_Id(anyLong());
+        Mockito.verifyNoInteractions(bookingStorage);
     }
 
 
     @Test
     void getByOwnerById_thenBadItemId_thenNotFoundException() {
         //given
-        Mockito.when(itemStorage.findById(any())).thenReturn(Optional.empty());
+        Mockito.when(itemStorage.findWithCommentsById(any())).thenReturn(List.of());
         //when
         NotFoundException nfe = assertThrows(NotFoundException.class,
                 () -> itemService.getByOwnerById(user1Id, item1Id)
         );
         //then
         assertEquals(format("Item with Id %d not found", item1Id), nfe.getMessage());
-        Mockito.verify(itemStorage, only()).findById(anyLong());
-        Mockito.verify(bookingStorage, never()).findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-                anyLong(),
-                any(),
-                any());
-        Mockito.verify(bookingStorage, never()).findFirst1ByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
-                anyLong(),
-                any(),
-                any());
-        Mockito.verify(commentStorage, never()).findByItem_Id(anyLong());
+        Mockito.verify(itemStorage, only()).findWithCommentsById(anyLong());
+        Mockito.verifyNoInteractions(bookingStorage);
     }
 
     @Test
     void getAllByUserId_thenInputOk_thenOkAllDataAttached() {
         //given
         Mockito.when(itemStorage.findByOwnerIdOrderById(anyLong(), any())).thenReturn(List.of(item1));
-        Mockito.when(bookingStorage.findByItem_OwnerIdOrderByStartDesc(
-                anyLong(), any())).thenReturn(List.of(booking1Last, booking1Next));
+        Mockito.when(bookingStorage.findLastAndNextByItemIdIn(anyCollection(), any()))
+                .thenReturn(List.of(itemBookingRow(booking1Last, true), itemBookingRow(booking1Next, false)));
         Mockito.when(commentStorage.findByItem_OwnerIdEquals(anyLong())).thenReturn(List.of(comment1));
         //when
         List<ItemResponseDto> result = itemService.getAllByUserId(0L, 20, user1Id);
@@ -329,6 +314,19 @@ class ItemServiceImplTest {
         assertEquals("comment1", result.get(0).getComments().get(0).getText());
         assertEquals(booking1Last.getId(), result.get(0).getLastBooking().getId());
         assertEquals(booking1Next.getId(), result.get(0).getNextBooking().getId());
+        assertEquals(user2Id, result.get(0).getNextBooking().getBookerId());
+        Mockito.verify(bookingStorage).findLastAndNextByItemIdIn(eq(Set.of(item1Id)), any());
+    }
+
+    @Test
+    void getAllByUserId_whenNoItems_thenNoBookingsQuery() {
+        //given
+        Mockito.when(itemStorage.findByOwnerIdOrderById(anyLong(), any())).thenReturn(List.of());
+        //when
+        List<ItemResponseDto> result = itemService.getAllByUserId(0L, 20, user1Id);
+        //then
+        assertTrue(result.isEmpty());
+        Mockito.verify(bookingStorage, never()).findLastAndNextByItemIdIn(anyCollection(), any());
     }
 
     @ParameterizedTest
@@ -341,8 +339,7 @@ class ItemServiceImplTest {
     @Test
     void search_whenQuery_thenResult() {
         //given
-        Mockito.when(itemStorage.findDistinctByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(
-                anyString(), anyString(), any())).thenReturn(List.of(item1));
+        Mockito.when(itemStorage.searchAfterId(eq("%query%"), eq(0L), any())).thenReturn(List.of(item1));
         //when
         List<ItemDto> result = itemService.search("query", 0L, 20);
         //then
@@ -398,6 +395,32 @@ class ItemServiceImplTest {
     /**
      * вспомогательный метод настройки сущностей для теста
      */
+    private static ItemCommentRow itemCommentRow(Item item, Comment comment) {
+        Map<String, Object> values = new HashMap<>(Map.of(
+                "id", item.getId(),
+                "ownerId", item.getOwnerId(),
+                "name", item.getName(),
+                "description", item.getDescription(),
+                "available", item.getAvailable()));
+        if (comment != null) {
+            values.put("commentId", comment.getId());
+            values.put("commentText", comment.getText());
+            values.put("commentAuthorName", comment.getAuthor().getName());
+            values.put("commentCreated", comment.getCreated());
+        }
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemCommentRow.class, values);
+    }
+
+    private static ItemBookingRow itemBookingRow(Booking booking, boolean last) {
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemBookingRow.class, Map.of(
+                "itemId", booking.getItem().getId(),
+                "last", last,
+                "id", booking.getId(),
+                "start", booking.getStart(),
+                "end", booking.getEnd(),
+                "bookerId", booking.getBooker().getId()));
+    }
+
     private void setupUsersAndItemsAndDto() {
         currentTime = LocalDateTime.now();
         user1 = User.builder().id(user1Id).name("user1").email("user1@host.dom").build();
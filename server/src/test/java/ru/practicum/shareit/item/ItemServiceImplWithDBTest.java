@@ -0,0 +1,205 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.search.SearchResultCache;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemServiceImplWithDBTest {
+
+    private final ItemService itemService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SearchResultCache searchResultCache;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    private long ownerId;
+
+    private long bookerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+        searchResultCache.clear();
+        ownerId = insert("users", Map.of("name", "owner", "email", "owner@host.dom"));
+        bookerId = insert("users", Map.of("name", "booker", "email", "booker@host.dom"));
+    }
+
+    @Test
+    void getByOwnerByIds_whenItemsOfSeveralOwners_thenSameDtoAsSingleLookupWithConstantQueries() throws Exception {
+        //given
+        long requestId = insert("requests", Map.of("description", "Нужна дрель", "requester_id", bookerId,
+                "created", now.minusDays(10)));
+        long drillId = insertItem(ownerId, "Дрель", requestId);
+        long sawId = insertItem(ownerId, "Пила", null);
+        long ladderId = insertItem(bookerId, "Лестница", null);
+        insertBooking(drillId, now.minusDays(5), BookingStatus.APPROVED);
+        long lastId = insertBooking(drillId, now.minusDays(3), BookingStatus.APPROVED);
+        insertBooking(drillId, now.plusHours(12), BookingStatus.WAITING);
+        long nextId = insertBooking(drillId, now.plusDays(1), BookingStatus.APPROVED);
+        insertBooking(drillId, now.plusDays(3), BookingStatus.APPROVED);
+        insertBooking(ladderId, now.minusDays(1), BookingStatus.APPROVED);
+        insertComment(drillId, bookerId, "Отличная дрель");
+        insertComment(ladderId, ownerId, "Удобная лестница");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        //when
+        List<ItemResponseDto> items = itemService.getByOwnerByIds(ownerId,
+                List.of(ladderId, drillId, Long.MAX_VALUE, drillId, sawId));
+        //then
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(List.of(ladderId, drillId, sawId),
+                items.stream().map(ItemResponseDto::getId).collect(Collectors.toList()));
+        for (ItemResponseDto item : items) {
+            assertEquals(objectMapper.writeValueAsString(itemService.getByOwnerById(ownerId, item.getId())),
+                    objectMapper.writeValueAsString(item));
+        }
+        ItemResponseDto drill = items.get(1);
+        assertEquals(lastId, drill.getLastBooking().getId());
+        assertEquals(nextId, drill.getNextBooking().getId());
+        assertEquals(bookerId, drill.getLastBooking().getBookerId());
+        assertEquals(requestId, drill.getRequestId());
+        assertEquals("Отличная дрель", drill.getComments().get(0).getText());
+        ItemResponseDto ladder = items.get(0);
+        assertNull(ladder.getLastBooking());
+        assertEquals(1, ladder.getComments().size());
+        assertTrue(items.get(2).getComments().isEmpty());
+    }
+
+    @Test
+    void getAllByUserId_whenItemsHaveManyBookings_thenLastAndNextApprovedPerItem() {
+        //given
+        long drillId = insertItem(ownerId, "Дрель", null);
+        long sawId = insertItem(ownerId, "Пила", null);
+        long ladderId = insertItem(ownerId, "Лестница", null);
+        for (int day = 1; day <= 30; day++) {
+            insertBooking(drillId, now.minusDays(day), BookingStatus.APPROVED);
+            insertBooking(drillId, now.plusDays(10 + day), BookingStatus.APPROVED);
+        }
+        long drillLastId = insertBooking(drillId, now.minusHours(1), BookingStatus.APPROVED);
+        insertBooking(drillId, now.plusHours(1), BookingStatus.REJECTED);
+        long drillNextId = insertBooking(drillId, now.plusDays(2), BookingStatus.APPROVED);
+        long sawNextId = insertBooking(sawId, now.plusDays(5), BookingStatus.APPROVED);
+        insertBooking(ladderId, now.minusDays(1), BookingStatus.WAITING);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        //when
+        List<ItemResponseDto> items = itemService.getAllByUserId(0L, 2, ownerId);
+        //then
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(List.of(drillId, sawId), items.stream().map(ItemResponseDto::getId).collect(Collectors.toList()));
+        assertEquals(drillLastId, items.get(0).getLastBooking().getId());
+        assertEquals(drillNextId, items.get(0).getNextBooking().getId());
+        assertNull(items.get(1).getLastBooking());
+        assertEquals(sawNextId, items.get(1).getNextBooking().getId());
+        assertNull(itemService.getAllByUserId(2L, 2, ownerId).get(0).getLastBooking());
+    }
+
+    @Test
+    void getByOwnerById_whenOwnerOrOtherUser_thenAtMostTwoQueries() {
+        //given
+        long requestId = insert("requests", Map.of("description", "Нужна дрель", "requester_id", bookerId,
+                "created", now.minusDays(10)));
+        long drillId = insertItem(ownerId, "Дрель", requestId);
+        long sawId = insertItem(ownerId, "Пила", null);
+        long lastId = insertBooking(drillId, now.minusDays(3), BookingStatus.APPROVED);
+        long nextId = insertBooking(drillId, now.plusDays(1), BookingStatus.APPROVED);
+        insertComment(drillId, bookerId, "Отличная дрель");
+        insertComment(drillId, ownerId, "Спасибо");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        //when
+        ItemResponseDto drill = itemService.getByOwnerById(ownerId, drillId);
+        //then
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(requestId, drill.getRequestId());
+        assertEquals(lastId, drill.getLastBooking().getId());
+        assertEquals(bookerId, drill.getLastBooking().getBookerId());
+        assertEquals(nextId, drill.getNextBooking().getId());
+        assertEquals(List.of("booker", "owner"), drill.getComments().stream()
+                .map(ItemResponseDto.CommentResponseDto::getAuthorName).collect(Collectors.toList()));
+        assertEquals(List.of("Отличная дрель", "Спасибо"), drill.getComments().stream()
+                .map(ItemResponseDto.CommentResponseDto::getText).collect(Collectors.toList()));
+
+        //when
+        statistics.clear();
+        ItemResponseDto drillForBooker = itemService.getByOwnerById(bookerId, drillId);
+        //then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertNull(drillForBooker.getLastBooking());
+        assertNull(drillForBooker.getNextBooking());
+        assertEquals(2, drillForBooker.getComments().size());
+
+        //when
+        ItemResponseDto saw = itemService.getByOwnerById(ownerId, sawId);
+        //then
+        assertNull(saw.getRequestId());
+        assertTrue(saw.getComments().isEmpty());
+    }
+
+    @Test
+    void getByOwnerByIds_whenNoItemFound_thenEmptyList() {
+        assertTrue(itemService.getByOwnerByIds(ownerId, List.of(Long.MAX_VALUE)).isEmpty());
+    }
+
+    private long insertItem(long itemOwnerId, String name, Long requestId) {
+        Map<String, Object> values = new HashMap<>(Map.of("owner_id", itemOwnerId, "name", name,
+                "description", "Описание", "available", true));
+        if (requestId != null) {
+            values.put("request_id", requestId);
+        }
+        return insert("items", values);
+    }
+
+    private long insertBooking(long itemId, LocalDateTime start, BookingStatus status) {
+        Long itemOwnerId = jdbcTemplate.queryForObject("SELECT owner_id FROM items WHERE id = ?", Long.class, itemId);
+        return insert("bookings", Map.of("item_id", itemId, "booker_id", bookerId, "owner_id", itemOwnerId,
+                "start_date", start, "end_date", start.plusHours(1), "status", status.name()));
+    }
+
+    private void insertComment(long itemId, long authorId, String text) {
+        insert("comments", Map.of("item_id", itemId, "author_id", authorId, "text", text, "created", now));
+    }
+
+    private long insert(String table, Map<String, ?> values) {
+        return new SimpleJdbcInsert(jdbcTemplate)
+                .withTableName(table)
+                .usingGeneratedKeyColumns("id")
+                .executeAndReturnKey(values)
+                .longValue();
+    }
+}
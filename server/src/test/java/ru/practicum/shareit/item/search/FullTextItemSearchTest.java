@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FullTextItemSearchTest {
+
+    private final ItemRepository itemStorage = mock(ItemRepository.class);
+
+    private final FullTextItemSearch itemSearch = new FullTextItemSearch(itemStorage);
+
+    @Test
+    void toTsQuery_whenSeveralWords_thenPrefixesJoinedByAnd() {
+        assertEquals("аккум:* & drill:* & 2000:*", FullTextItemSearch.toTsQuery(" АккУм, DRILL!  2000 "));
+    }
+
+    @Test
+    void toTsQuery_whenQuerySyntaxCharacters_thenRemoved() {
+        assertEquals("drill:* & saw:*", FullTextItemSearch.toTsQuery("drill:* | !saw & ('"));
+    }
+
+    @Test
+    void search_whenQuery_thenTsQueryAndPageRequested() {
+        //given
+        Item item = Item.builder().id(1L).name("Drill").available(true).build();
+        when(itemStorage.searchFullText(anyString(), any())).thenReturn(List.of(item));
+        //when
+        List<Item> result = itemSearch.search("power drill", 20L, 10);
+        //then
+        assertEquals(List.of(item), result);
+        verify(itemStorage).searchFullText("power:* & drill:*", PageRequest.of(2, 10));
+    }
+
+    @Test
+    void search_whenNoWords_thenEmptyWithoutQuery() {
+        //when
+        List<Item> result = itemSearch.search("?!", 0L, 10);
+        //then
+        assertTrue(result.isEmpty());
+        verify(itemStorage, never()).searchFullText(anyString(), any());
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InvertedIndexItemSearchTest {
+
+    private final ItemRepository itemStorage = mock(ItemRepository.class);
+
+    private final InvertedIndexItemSearch itemSearch = new InvertedIndexItemSearch(itemStorage);
+
+    private final Item drill = item(1L, "Аккумуляторная дрель", "Дрель + аккумулятор", true);
+
+    private final Item screwdriver = item(2L, "Отвертка", "Аккумуляторная отвертка", true);
+
+    private final Item powerDrill = item(5L, "Power drill", "Drills holes in concrete", true);
+
+    @BeforeEach
+    void setUp() {
+        when(itemStorage.findByAvailableTrueAndIdGreaterThanOrderById(anyLong(), any())).thenReturn(List.of());
+        when(itemStorage.findByAvailableTrueAndIdGreaterThanOrderById(eq(0L), any()))
+                .thenReturn(List.of(drill, screwdriver, powerDrill));
+        itemSearch.rebuild();
+    }
+
+    @Test
+    void search_whenWordPrefixInNameOrDescription_thenMatchedItemsById() {
+        assertEquals(List.of(1L, 2L), ids(itemSearch.search("аККум", 0L, 10)));
+        assertEquals(List.of(5L), ids(itemSearch.search("drill", 0L, 10)));
+        assertEquals(List.of(1L), ids(itemSearch.search("дрел", 0L, 10)));
+    }
+
+    @Test
+    void search_whenSeveralWords_thenAllWordsRequired() {
+        assertEquals(List.of(2L), ids(itemSearch.search("аккумуляторная, отв", 0L, 10)));
+        assertTrue(itemSearch.search("drill saw", 0L, 10).isEmpty());
+        assertTrue(itemSearch.search("?!", 0L, 10).isEmpty());
+    }
+
+    @Test
+    void search_whenPage_thenPageOfResults() {
+        assertEquals(List.of(2L), ids(itemSearch.search("а", 1L, 1)));
+        assertTrue(itemSearch.search("а", 2L, 2).isEmpty());
+    }
+
+    @Test
+    void searchAfter_whenPagesFollowed_thenEachItemOnce() {
+        //when
+        ItemSearchPage first = itemSearch.searchAfter("а", null, 1);
+        ItemSearchPage second = itemSearch.searchAfter("а", first.getNext(), 1);
+        ItemSearchPage afterFirstItem = itemSearch.searchAfter("а", SearchCursor.afterId(1L), 5);
+        //then
+        assertEquals(List.of(1L), ids(first.getItems()));
+        assertEquals(List.of(2L), ids(second.getItems()));
+        assertNull(second.getNext());
+        assertEquals(List.of(2L), ids(afterFirstItem.getItems()));
+        assertNull(afterFirstItem.getNext());
+    }
+
+    @Test
+    void search_whenFound_thenCopyWithRequestId() {
+        //when
+        Item found = itemSearch.search("drill", 0L, 10).get(0);
+        //then
+        assertNotSame(powerDrill, found);
+        assertEquals("Power drill", found.getName());
+        assertEquals(50L, found.getRequest().getId());
+    }
+
+    @Test
+    void onItemChanged_whenSavedPatchedDeleted_thenIndexUpdated() {
+        //given
+        Item hammerDrill = item(3L, "Дрель ударная", "Для бетона", true);
+        //when
+        itemSearch.onItemChanged(ItemChangedEvent.created(hammerDrill));
+        //then
+        assertEquals(List.of(1L, 3L), ids(itemSearch.search("дрель", 0L, 10)));
+
+        //when
+        itemSearch.onItemChanged(ItemChangedEvent.updated(drill, item(1L, "Шуруповерт", "Аккумуляторный", true)));
+        //then
+        assertEquals(List.of(3L), ids(itemSearch.search("дрель", 0L, 10)));
+        assertEquals(List.of(1L), ids(itemSearch.search("шуруп", 0L, 10)));
+
+        //when
+        itemSearch.onItemChanged(ItemChangedEvent.updated(hammerDrill, item(3L, "Дрель ударная", "Для бетона", false)));
+        itemSearch.onItemChanged(ItemChangedEvent.deleted(screwdriver));
+        //then
+        assertTrue(itemSearch.search("дрель", 0L, 10).isEmpty());
+        assertTrue(itemSearch.search("отвертка", 0L, 10).isEmpty());
+        assertEquals(2, itemSearch.size());
+    }
+
+    private static Item item(Long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .ownerId(1L)
+                .name(name)
+                .description(description)
+                .available(available)
+                .request(id == 5L ? ItemRequest.builder().id(50L).description("drill").build() : null)
+                .build();
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "shareit.search.mode=index")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class InvertedIndexItemSearchWithDBTest {
+
+    private final ItemService itemService;
+
+    private final UserService userService;
+
+    private final ItemSearch itemSearch;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SearchResultCache searchResultCache;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+        searchResultCache.clear();
+        ((InvertedIndexItemSearch) itemSearch).rebuild();
+        ownerId = userService.addUser(UserDto.builder().name("owner").email("owner@host.dom").build()).getId();
+    }
+
+    @Test
+    void itemSearch_whenIndexMode_thenInvertedIndex() {
+        assertInstanceOf(InvertedIndexItemSearch.class, itemSearch);
+    }
+
+    @Test
+    void search_whenItemAddedAndPatched_thenIndexFollowsCommittedChanges() {
+        //when
+        ItemDto drill = itemService.addItem(ownerId,
+                ItemDto.builder().name("Дрель").description("Аккумуляторная дрель").available(true).build());
+        //then
+        assertEquals(List.of(drill), itemService.search("аккум", 0L, 10));
+
+        //when
+        itemService.patch(ownerId, drill.getId(), ItemDto.builder().name("Шуруповерт").build());
+        //then
+        assertEquals("Шуруповерт", itemService.search("аккум", 0L, 10).get(0).getName());
+
+        //when
+        itemService.patch(ownerId, drill.getId(), ItemDto.builder().available(false).build());
+        //then
+        assertTrue(itemService.search("аккум", 0L, 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_whenItemsInDatabase_thenOnlyAvailableIndexed() {
+        //given
+        itemService.addItem(ownerId, ItemDto.builder().name("Дрель").description("Ударная").available(true).build());
+        itemService.addItem(ownerId, ItemDto.builder().name("Пила").description("Ручная").available(false).build());
+        //when
+        ((InvertedIndexItemSearch) itemSearch).rebuild();
+        //then
+        assertEquals(1, ((InvertedIndexItemSearch) itemSearch).size());
+        assertEquals(1, itemService.search("дрель", 0L, 10).size());
+    }
+}
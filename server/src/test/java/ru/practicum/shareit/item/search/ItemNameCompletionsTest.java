@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemNameCompletionsTest {
+
+    private final ItemRepository itemStorage = mock(ItemRepository.class);
+
+    private final ItemNameCompletions completions = new ItemNameCompletions(itemStorage, 3);
+
+    @BeforeEach
+    void setUp() {
+        when(itemStorage.countAvailableByName()).thenReturn(List.of(
+                name("Дрель", 2),
+                name("дрель", 1),
+                name("Дрель ударная", 2),
+                name("Дрель-шуруповерт", 1),
+                name("Домкрат", 1),
+                name("?!", 1)));
+        completions.rebuild();
+    }
+
+    @Test
+    void complete_whenPrefix_thenNamesByItemCountThenAlphabetically() {
+        assertEquals(List.of("Дрель", "Дрель ударная", "Домкрат"), completions.complete("Д", 10));
+        assertEquals(List.of("Дрель", "Дрель ударная", "Дрель-шуруповерт"), completions.complete("дрЕль", 10));
+        assertEquals(List.of("Дрель ударная"), completions.complete("дрель  УД", 10));
+        assertEquals(List.of("Дрель-шуруповерт"), completions.complete("дрель ш", 10));
+        assertEquals(List.of("Дрель"), completions.complete("дре", 1));
+        assertEquals(4, completions.size());
+    }
+
+    @Test
+    void complete_whenNoMatchOrBlank_thenEmpty() {
+        assertTrue(completions.complete("дрелб", 10).isEmpty());
+        assertTrue(completions.complete("дрель ударная мощная", 10).isEmpty());
+        assertTrue(completions.complete("пила", 10).isEmpty());
+        assertTrue(completions.complete(" ,", 10).isEmpty());
+    }
+
+    @Test
+    void onItemChanged_whenItemsAddedAndRemoved_thenCompletionsFollowCounts() {
+        //when
+        completions.onItemChanged(ItemChangedEvent.created(item(10L, "Домкрат", true)));
+        completions.onItemChanged(ItemChangedEvent.created(item(11L, "Домкрат", true)));
+        completions.onItemChanged(ItemChangedEvent.created(item(12L, "Домкрат", true)));
+        completions.onItemChanged(ItemChangedEvent.created(item(13L, "Дрова", true)));
+        //then
+        assertEquals(List.of("Домкрат", "Дрель", "Дрель ударная"), completions.complete("д", 10));
+        assertEquals(List.of("Дрова"), completions.complete("дро", 10));
+
+        //when
+        completions.onItemChanged(ItemChangedEvent.deleted(item(13L, "Дрова", true)));
+        completions.onItemChanged(ItemChangedEvent.updated(item(10L, "Домкрат", true),
+                item(10L, "Домкрат", false)));
+        //then
+        assertTrue(completions.complete("дро", 10).isEmpty());
+        assertEquals(List.of("Домкрат", "Дрель", "Дрель ударная"), completions.complete("д", 10));
+        assertEquals(List.of("Дрель", "Дрель ударная", "Дрель-шуруповерт"), completions.complete("др", 10));
+        assertEquals(4, completions.size());
+    }
+
+    @Test
+    void onItemChanged_whenLastItemOfNameRemoved_thenTreeCompacted() {
+        //when
+        completions.onItemChanged(ItemChangedEvent.deleted(item(1L, "Дрель-шуруповерт", true)));
+        for (long id = 2; id <= 4; id++) {
+            completions.onItemChanged(ItemChangedEvent.deleted(item(id, "Дрель", true)));
+        }
+        //then
+        assertEquals(List.of("Дрель ударная"), completions.complete("дрель", 10));
+        assertEquals(List.of("Дрель ударная"), completions.complete("дрель у", 10));
+        assertEquals(List.of("Дрель ударная", "Домкрат"), completions.complete("д", 10));
+
+        //when
+        completions.onItemChanged(ItemChangedEvent.updated(item(5L, "Дрель ударная", true),
+                item(5L, "Дрель", true)));
+        completions.onItemChanged(ItemChangedEvent.created(item(6L, "Дрель-шуруповерт", true)));
+        //then
+        assertEquals(List.of("Дрель", "Дрель ударная", "Дрель-шуруповерт"), completions.complete("дрель", 10));
+        assertEquals(List.of("Дрель-шуруповерт"), completions.complete("дрель ш", 10));
+    }
+
+    @Test
+    void onItemChanged_whenUnavailableItem_thenNotSuggested() {
+        //when
+        completions.onItemChanged(ItemChangedEvent.created(item(10L, "Пила", false)));
+        //then
+        assertTrue(completions.complete("пи", 10).isEmpty());
+    }
+
+    private static ItemNameCount name(String name, long count) {
+        return new ItemNameCount() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+
+    private static Item item(Long id, String name, boolean available) {
+        return Item.builder()
+                .id(id)
+                .ownerId(1L)
+                .name(name)
+                .description("Описание")
+                .available(available)
+                .build();
+    }
+}
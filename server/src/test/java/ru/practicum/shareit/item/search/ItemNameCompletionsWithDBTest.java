@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemNameCompletionsWithDBTest {
+
+    private final ItemService itemService;
+
+    private final UserService userService;
+
+    private final ItemNameCompletions completions;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SearchResultCache searchResultCache;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+        searchResultCache.clear();
+        completions.rebuild();
+        ownerId = userService.addUser(UserDto.builder().name("owner").email("owner@host.dom").build()).getId();
+    }
+
+    @Test
+    void rebuild_whenItemsInDatabase_thenAvailableNamesCounted() {
+        //given
+        addItem("Дрель ударная", true);
+        addItem("Дрель", true);
+        addItem("Дрель", true);
+        addItem("Дрель-шуруповерт", false);
+        //when
+        completions.rebuild();
+        //then
+        assertEquals(2, completions.size());
+        assertEquals(List.of("Дрель", "Дрель ударная"), itemService.autocomplete("др", 10));
+    }
+
+    @Test
+    void autocomplete_whenItemAddedAndPatched_thenCompletionsFollowCommittedChanges() {
+        //when
+        ItemDto drill = addItem("Дрель", true);
+        //then
+        assertEquals(List.of("Дрель"), itemService.autocomplete("дре", 10));
+
+        //when
+        itemService.patch(ownerId, drill.getId(), ItemDto.builder().name("Шуруповерт").build());
+        //then
+        assertTrue(itemService.autocomplete("дре", 10).isEmpty());
+        assertEquals(List.of("Шуруповерт"), itemService.autocomplete("шуруп", 10));
+
+        //when
+        itemService.patch(ownerId, drill.getId(), ItemDto.builder().available(false).build());
+        //then
+        assertTrue(itemService.autocomplete("шуруп", 10).isEmpty());
+    }
+
+    private ItemDto addItem(String name, boolean available) {
+        return itemService.addItem(ownerId,
+                ItemDto.builder().name(name).description("Описание").available(available).build());
+    }
+}
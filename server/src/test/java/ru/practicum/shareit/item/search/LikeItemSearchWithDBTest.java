@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class LikeItemSearchWithDBTest {
+
+    private final ItemService itemService;
+
+    private final UserService userService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SearchResultCache searchResultCache;
+
+    private final List<Long> drillIds = new ArrayList<>();
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+        searchResultCache.clear();
+        ownerId = userService.addUser(UserDto.builder().name("owner").email("owner@host.dom").build()).getId();
+        for (int i = 0; i < 5; i++) {
+            drillIds.add(itemService.addItem(ownerId, ItemDto.builder()
+                    .name("Дрель " + i).description("Ударная, 100% мощность").available(true).build()).getId());
+        }
+        itemService.addItem(ownerId, ItemDto.builder().name("Дрель").description("Сломана").available(false).build());
+        itemService.addItem(ownerId, ItemDto.builder().name("Пила").description("Ручная").available(true).build());
+    }
+
+    @Test
+    void exportSearch_whenItemsFound_thenAvailableItemsByIdAsSearchPage() {
+        //given
+        List<ItemDto> exported = new ArrayList<>();
+        //when
+        itemService.exportSearch("дРЕль", exported::add);
+        //then
+        assertEquals(drillIds, exported.stream().map(ItemDto::getId).collect(Collectors.toList()));
+        assertEquals(itemService.searchPage("дРЕль", null, 10).getItems(), exported);
+    }
+
+    @Test
+    void search_whenOffsetPages_thenSameItemsAsSearchPage() {
+        //given
+        List<Long> found = new ArrayList<>();
+        //when
+        for (long from = 0; from < 6; from += 2) {
+            itemService.search("дРЕль", from, 2).forEach(dto -> found.add(dto.getId()));
+        }
+        //then
+        assertEquals(drillIds, found);
+        assertEquals(itemService.searchPage("дРЕль", null, 10).getItems(), itemService.search("дРЕль", 0L, 10));
+        assertEquals(drillIds, itemService.search("100%", 0L, 10).stream()
+                .map(ItemDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void exportByOwner_whenItems_thenAllItemsById() {
+        //given
+        List<Long> exported = new ArrayList<>();
+        //when
+        itemService.exportByOwner(ownerId, dto -> exported.add(dto.getId()));
+        //then
+        assertEquals(7, exported.size());
+        assertEquals(drillIds, exported.subList(0, 5));
+    }
+
+    @Test
+    void searchPage_whenPagesFollowed_thenAvailableItemsByIdOnce() {
+        //given
+        List<Long> found = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        //when
+        do {
+            ItemSearchPageDto page = itemService.searchPage("дРЕль", cursor, 2);
+            found.addAll(page.getItems().stream().map(ItemDto::getId).collect(Collectors.toList()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        //then
+        assertEquals(drillIds, found);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void searchPage_whenPatternCharacters_thenMatchedLiterally() {
+        //when
+        ItemSearchPageDto percent = itemService.searchPage("100%", null, 10);
+        ItemSearchPageDto underscore = itemService.searchPage("Др_ль", null, 10);
+        //then
+        assertEquals(drillIds, percent.getItems().stream().map(ItemDto::getId).collect(Collectors.toList()));
+        assertNull(percent.getNextCursor());
+        assertEquals(List.of(), underscore.getItems());
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.practicum.shareit.exception.BadRequestException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchCursorTest {
+
+    @Test
+    void encodeDecode_whenRankAndId_thenSamePosition() {
+        //given
+        SearchCursor cursor = new SearchCursor(0.0607927f, 123456789L);
+        //when
+        String encoded = cursor.encode();
+        //then
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, SearchCursor.decode(encoded));
+    }
+
+    @Test
+    void afterId_whenEncoded_thenZeroRank() {
+        assertEquals(new SearchCursor(0f, 7L), SearchCursor.decode(SearchCursor.afterId(7L).encode()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a cursor", "AAAA", "f_____________________"})
+    void decode_whenMalformed_thenBadRequest(String cursor) {
+        assertThrows(BadRequestException.class, () -> SearchCursor.decode(cursor));
+    }
+}
@@ -0,0 +1,228 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.config.SearchProperties;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class SearchResultCacheTest {
+
+    private static final String PAGE = "from=0,size=10";
+
+    private final ItemRepository itemStorage = mock(ItemRepository.class);
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Item drill = item(1L, "Дрель", "Ударная", true);
+
+    private SearchResultCache cache(boolean enabled) {
+        return cache(enabled, new TrigramItemSearch(itemStorage));
+    }
+
+    private SearchResultCache cache(boolean enabled, ItemSearch itemSearch) {
+        SearchProperties.Cache properties = new SearchProperties.Cache();
+        properties.setEnabled(enabled);
+        properties.setTtl(Duration.ofMinutes(10));
+        return new SearchResultCache(properties, itemSearch, registry, nanos::get);
+    }
+
+    private List<String> search(SearchResultCache cache, String text) {
+        return cache.get(text, PAGE, () -> List.of(text + loads.incrementAndGet()));
+    }
+
+    @Test
+    void get_whenSameNormalizedQueryAndPage_thenLoadedOnce() {
+        //given
+        SearchResultCache cache = cache(true);
+        //when
+        List<String> first = search(cache, "Дрель");
+        List<String> second = search(cache, "дРЕЛЬ");
+        List<String> otherPage = cache.get("дрель", "from=10,size=10", () -> List.of("page" + loads.incrementAndGet()));
+        //then
+        assertEquals(first, second);
+        assertEquals(List.of("page2"), otherPage);
+        assertEquals(2, loads.get());
+        assertEquals(1.0, registry.get("shareit.server.search.cache.requests").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(2.0, registry.get("shareit.server.search.cache.requests").tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(1.0 / 3, registry.get("shareit.server.search.cache.hit.ratio").gauge().value(), 1e-9);
+        assertEquals(2.0, registry.get("shareit.server.search.cache.size").gauge().value());
+    }
+
+    @Test
+    void onItemChanged_whenLikeMode_thenOnlySubstringQueriesInvalidated() {
+        //given
+        SearchResultCache cache = cache(true, new LikeItemSearch(itemStorage));
+        search(cache, "рел");
+        search(cache, "ДРЕ");
+        search(cache, "дрелб");
+        search(cache, "дом");
+        //when
+        cache.onItemChanged(ItemChangedEvent.created(drill));
+        //then
+        assertEquals(2.0, registry.get("shareit.server.search.cache.invalidations").counter().count());
+        search(cache, "дрелб");
+        search(cache, "дом");
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void onItemChanged_whenIndexMode_thenOnlyQueriesWithAllWordPrefixesInvalidated() {
+        //given
+        SearchResultCache cache = cache(true, new InvertedIndexItemSearch(itemStorage));
+        search(cache, "дре");
+        search(cache, "Дрель, удар");
+        search(cache, "рел");
+        search(cache, "дрель пила");
+        search(cache, "дом");
+        //when
+        cache.onItemChanged(ItemChangedEvent.created(drill));
+        //then
+        assertEquals(2.0, registry.get("shareit.server.search.cache.invalidations").counter().count());
+    }
+
+    @Test
+    void onItemChanged_whenFullTextMode_thenOnlyQueriesWithAllWordStemsInvalidated() {
+        //given
+        SearchResultCache cache = cache(true, new FullTextItemSearch(itemStorage));
+        search(cache, "дрели");
+        search(cache, "ударный дрелью");
+        search(cache, "рель");
+        search(cache, "дрели пила");
+        search(cache, "дом");
+        //when
+        cache.onItemChanged(ItemChangedEvent.created(drill));
+        //then
+        assertEquals(2.0, registry.get("shareit.server.search.cache.invalidations").counter().count());
+    }
+
+    @Test
+    void onItemChanged_whenTrigramMode_thenSubstringAndSharedTrigramQueriesInvalidated() {
+        //given
+        SearchResultCache cache = cache(true, new TrigramItemSearch(itemStorage));
+        search(cache, "рел");
+        search(cache, "дрелб");
+        search(cache, "пила");
+        //when
+        cache.onItemChanged(ItemChangedEvent.created(drill));
+        search(cache, "рел");
+        search(cache, "дрелб");
+        search(cache, "пила");
+        //then
+        assertEquals(5, loads.get());
+        assertEquals(2.0, registry.get("shareit.server.search.cache.invalidations").counter().count());
+    }
+
+    @Test
+    void clear_whenPagesCached_thenLoadedAgain() {
+        //given
+        SearchResultCache cache = cache(true);
+        search(cache, "дрель");
+        //when
+        cache.clear();
+        search(cache, "дрель");
+        //then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onItemChanged_whenItemNoLongerMatches_thenQueriesOfPreviousStateInvalidated() {
+        //given
+        SearchResultCache cache = cache(true);
+        search(cache, "дрель");
+        //when
+        cache.onItemChanged(ItemChangedEvent.updated(drill, item(1L, "Пила", "Ручная", true)));
+        search(cache, "дрель");
+        //then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onItemChanged_whenUnavailableItem_thenNotInvalidated() {
+        //given
+        SearchResultCache cache = cache(true);
+        search(cache, "дрель");
+        //when
+        cache.onItemChanged(ItemChangedEvent.created(item(2L, "Дрель", "Сломана", false)));
+        search(cache, "дрель");
+        //then
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void onItemChanged_whenSearchFieldsNotChanged_thenNotInvalidated() {
+        //given
+        SearchResultCache cache = cache(true);
+        search(cache, "дрель");
+        Item transferred = drill.toBuilder().ownerId(2L).build();
+        //when
+        cache.onItemChanged(ItemChangedEvent.updated(drill, transferred));
+        search(cache, "дрель");
+        //then
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_whenItemChangedDuringLoad_thenResultNotCached() {
+        //given
+        SearchResultCache cache = cache(true);
+        //when
+        cache.get("дрель", PAGE, () -> {
+            cache.onItemChanged(ItemChangedEvent.created(drill));
+            return List.of("stale" + loads.incrementAndGet());
+        });
+        search(cache, "дрель");
+        //then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_whenTtlExpired_thenLoadedAgain() {
+        //given
+        SearchResultCache cache = cache(true);
+        search(cache, "дрель");
+        //when
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        search(cache, "дрель");
+        //then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_whenDisabled_thenAlwaysLoaded() {
+        //given
+        SearchResultCache cache = cache(false);
+        //when
+        search(cache, "дрель");
+        search(cache, "дрель");
+        cache.onItemChanged(ItemChangedEvent.created(drill));
+        //then
+        assertEquals(2, loads.get());
+        assertEquals(0, registry.getMeters().size());
+    }
+
+    private static Item item(Long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .ownerId(1L)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SearchResultCacheWithDBTest {
+
+    private final ItemService itemService;
+
+    private final UserService userService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SearchResultCache searchResultCache;
+
+    private Long ownerId;
+
+    private ItemDto saw;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+        searchResultCache.clear();
+        ownerId = userService.addUser(UserDto.builder().name("owner").email("owner@host.dom").build()).getId();
+        saw = itemService.addItem(ownerId,
+                ItemDto.builder().name("Пила").description("Ручная").available(true).build());
+    }
+
+    @Test
+    void search_whenItemAddedPatchedAndDeleted_thenStalePageEvictedAfterCommit() {
+        //given
+        assertTrue(itemService.search("дрель", 0L, 10).isEmpty());
+        assertEquals(List.of(saw), itemService.search("пила", 0L, 10));
+
+        //when
+        ItemDto drill = itemService.addItem(ownerId,
+                ItemDto.builder().name("Дрель").description("Ударная").available(true).build());
+        //then
+        assertEquals(List.of(drill), itemService.search("дрель", 0L, 10));
+
+        //when
+        itemService.patch(ownerId, drill.getId(), ItemDto.builder().name("Перфоратор").build());
+        //then
+        assertTrue(itemService.search("дрель", 0L, 10).isEmpty());
+        assertEquals("Перфоратор", itemService.search("ударная", 0L, 10).get(0).getName());
+
+        //when
+        itemService.deleteById(ownerId, drill.getId());
+        //then
+        assertTrue(itemService.search("ударная", 0L, 10).isEmpty());
+        assertEquals(List.of(saw), itemService.search("пила", 0L, 10));
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TrigramItemSearchTest {
+
+    private final ItemRepository itemStorage = mock(ItemRepository.class);
+
+    private final TrigramItemSearch itemSearch = new TrigramItemSearch(itemStorage);
+
+    @Test
+    void likePattern_whenPlainText_thenSubstringPattern() {
+        assertEquals("%дрель%", SearchTokens.likePattern("дрель"));
+    }
+
+    @Test
+    void likePattern_whenWildcardsAndEscape_thenEscaped() {
+        assertEquals("%100\\% cotton\\_\\\\%", SearchTokens.likePattern("100% cotton_\\"));
+    }
+
+    @Test
+    void search_whenQuery_thenTextPatternAndPageRequested() {
+        //given
+        Item item = Item.builder().id(1L).name("Дрель").available(true).build();
+        when(itemStorage.searchTrigram(anyString(), anyString(), any())).thenReturn(List.of(item));
+        //when
+        List<Item> result = itemSearch.search("дерль", 20L, 10);
+        //then
+        assertEquals(List.of(item), result);
+        verify(itemStorage).searchTrigram("дерль", "%дерль%", PageRequest.of(2, 10));
+    }
+}
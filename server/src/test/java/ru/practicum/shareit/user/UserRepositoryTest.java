@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.search.SearchResultCache;
 import ru.practicum.shareit.user.model.User;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,11 +23,14 @@ class UserRepositoryTest {
 
     private final JdbcTemplate jdbcTemplate;
 
+    private final SearchResultCache searchResultCache;
+
     @BeforeEach
     void reinitialiseUsers() {
         jdbcTemplate.update("DELETE FROM bookings"); //боль:( спринт 15 должен решить
         jdbcTemplate.update("DELETE FROM items"); //боль:( спринт 15 должен решить
         jdbcTemplate.update("DELETE FROM users"); //боль:( спринт 15 должен решить
+        searchResultCache.clear();
     }
 
     @Test
@@ -10,6 +10,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jdbc.core.JdbcTemplate;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.search.SearchResultCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import static ru.practicum.shareit.util.Constants.SUCCESS_DELETE_MESSAGE;
 
@@ -27,6 +28,8 @@ class UserServiceImplWithDBTest {
 
     private final JdbcTemplate jdbcTemplate;
 
+    private final SearchResultCache searchResultCache;
+
     private static final String DEFAULT_NAME = "name";
     private static final String DEFAULT_EMAIL = "mail@host.dom";
     private static final UserDto INITIAL = UserDto.builder().name(DEFAULT_NAME).email(DEFAULT_EMAIL).build();
@@ -37,6 +40,7 @@ class UserServiceImplWithDBTest {
         jdbcTemplate.update("DELETE FROM bookings");
         jdbcTemplate.update("DELETE FROM items");
         jdbcTemplate.update("DELETE FROM users");
+        searchResultCache.clear();
     }
 
     @Test
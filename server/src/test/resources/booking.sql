@@ -1,3 +1,7 @@
+DELETE FROM bookings;
+DELETE FROM comments;
+DELETE FROM items;
+DELETE FROM requests;
 DELETE FROM users;
 
 INSERT INTO users (email, name)